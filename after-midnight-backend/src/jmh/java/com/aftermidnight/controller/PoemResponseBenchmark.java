@@ -0,0 +1,81 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.dto.ApiResponse;
+import com.aftermidnight.dto.PageResponse;
+import com.aftermidnight.dto.PoemResponse;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.repository.projection.PoemRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The response side of {@code GET /api/v1/poems}: mapping a page of rows to DTOs, as {@code PoemController} does
+ * through {@link ContentResponses}, and writing the {@code ApiResponse<PageResponse<PoemResponse>>} envelope with a
+ * mapper configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoemResponseBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    @Param({"280", "2000"})
+    public int contentLength;
+
+    private ObjectMapper objectMapper;
+    private Page<PoemRow> page;
+    private ApiResponse<PageResponse<PoemResponse>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        String content = "After midnight the city hums. ".repeat(contentLength / 30 + 1).substring(0, contentLength);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 23, 30);
+        List<PoemRow> rows = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            rows.add(new PoemRow((long) i, "Poem " + i, content, createdAt.plusMinutes(i), PublicationStatus.PUBLISHED,
+                    createdAt.plusMinutes(i), 1000L + i, 10L + i, 500L + i, 7L));
+        }
+        page = new PageImpl<>(rows, PageRequest.of(0, pageSize), 10_000);
+        response = map();
+    }
+
+    @Benchmark
+    public ApiResponse<PageResponse<PoemResponse>> map() {
+        return ApiResponse.success(PageResponse.fromPage(page.map(ContentResponses::of)), "Poems retrieved successfully");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(map());
+    }
+}
@@ -0,0 +1,69 @@
+package com.aftermidnight.security;
+
+import com.aftermidnight.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as done on login and on every authenticated request.
+ * {@code validateToken} repeats a token and is served from the verified-token cache, like a client reusing its
+ * token; {@code validateTokenUncached} verifies the signature every time, like the first request with a new token.
+ * It cycles through many tokens on a util whose cache holds nothing, since Caffeine evicts asynchronously and a
+ * single repeated token could still be found in it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final int UNCACHED_TOKENS = 4096;
+    private static final String SECRET = "benchmarkSecretKeyWithAtLeast256BitsForHS256Algorithm";
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private User user;
+    private String token;
+    private String[] uncachedTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new JwtKeyRing(SECRET, "k1", ""), 3600000, 10000);
+        uncachedJwtUtil = new JwtUtil(new JwtKeyRing(SECRET, "k1", ""), 3600000, 0);
+        user = User.builder().id(42L).email("bench@example.com").username("bench").build();
+        token = jwtUtil.generateToken(user);
+        uncachedTokens = new String[UNCACHED_TOKENS];
+        for (int i = 0; i < UNCACHED_TOKENS; i++) {
+            uncachedTokens[i] = uncachedJwtUtil.generateToken(User.builder().id((long) i).email("bench@example.com").build());
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, "bench@example.com");
+    }
+
+    @Benchmark
+    public Boolean validateTokenUncached() {
+        next = (next + 1) & (UNCACHED_TOKENS - 1);
+        return uncachedJwtUtil.validateToken(uncachedTokens[next], "bench@example.com");
+    }
+}
@@ -0,0 +1,99 @@
+package com.aftermidnight.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the rate limiter at 1 to 64 threads. In the {@code sharedClient} benchmarks every thread consumes
+ * from the same bucket, the worst case for contention; in {@code distinctClients} each thread has its own bucket and
+ * only the bucket cache is shared. Buckets are as large as they can be and the filter's clock runs a thousand times
+ * fast, so they refill faster than any thread count can drain them and no request is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private RateLimitFilter filter;
+
+    @Setup
+    public void setUp() {
+        int limit = (int) TokenBucket.MAX_TOKENS;
+        filter = new RateLimitFilter(limit, limit, limit, limit, limit, 100_000, new SimpleMeterRegistry(),
+                () -> System.currentTimeMillis() * 1000);
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        MockHttpServletRequest shared;
+        MockHttpServletRequest own;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(ThreadParams threadParams) {
+            shared = new MockHttpServletRequest("GET", "/api/v1/poems");
+            shared.setRemoteAddr("10.0.0.1");
+            own = new MockHttpServletRequest("GET", "/api/v1/poems");
+            own.setRemoteAddr("10.1.0." + threadParams.getThreadIndex());
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void sharedClient1(Client client) throws Exception {
+        filter.doFilterInternal(client.shared, client.response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void sharedClient8(Client client) throws Exception {
+        filter.doFilterInternal(client.shared, client.response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void sharedClient64(Client client) throws Exception {
+        filter.doFilterInternal(client.shared, client.response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void distinctClients1(Client client) throws Exception {
+        filter.doFilterInternal(client.own, client.response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void distinctClients8(Client client) throws Exception {
+        filter.doFilterInternal(client.own, client.response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void distinctClients64(Client client) throws Exception {
+        filter.doFilterInternal(client.own, client.response, NO_OP_CHAIN);
+    }
+}
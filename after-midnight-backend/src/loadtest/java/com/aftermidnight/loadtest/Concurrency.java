@@ -0,0 +1,55 @@
+package com.aftermidnight.loadtest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts work in progress and keeps the peak and the time-weighted average of it between {@link #start()} and {@link #stop()}.
+ */
+final class Concurrency {
+
+    private final AtomicInteger current = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final LongAdder busyNanos = new LongAdder();
+    private volatile long since = System.nanoTime();
+    private volatile long until;
+
+    /**
+     * @return The start time to pass to {@link #exit(long)}.
+     */
+    long enter() {
+        peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+        return System.nanoTime();
+    }
+
+    void exit(long started) {
+        busyNanos.add(System.nanoTime() - Math.max(started, since));
+        current.decrementAndGet();
+    }
+
+    /**
+     * Starts a new measurement; work already in progress counts from now on.
+     */
+    void start() {
+        since = System.nanoTime();
+        until = 0;
+        peak.set(current.get());
+        busyNanos.reset();
+    }
+
+    void stop() {
+        until = System.nanoTime();
+    }
+
+    int peak() {
+        return peak.get();
+    }
+
+    /**
+     * Average number in progress over the measurement, counting only work that has finished.
+     */
+    double average() {
+        long elapsed = (until != 0 ? until : System.nanoTime()) - since;
+        return elapsed > 0 ? busyNanos.sum() / (double) elapsed : 0;
+    }
+}
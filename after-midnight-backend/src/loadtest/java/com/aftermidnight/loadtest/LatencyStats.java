@@ -0,0 +1,50 @@
+package com.aftermidnight.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one operation, recorded in microseconds from many client threads at once.
+ * An outcome is the response status, or the exception type when no response arrived.
+ */
+final class LatencyStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void record(long nanos, String outcome, boolean error) {
+        histogram.recordValue(Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    Result result(String operation, double seconds) {
+        long requests = histogram.getTotalCount();
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return new Result(operation, requests, errors.sum(), counts, requests / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    record Result(String operation, long requests, long errors, Map<String, Long> outcomes, double throughputPerSecond,
+                  double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,314 @@
+package com.aftermidnight.loadtest;
+
+import com.aftermidnight.AfterMidnightApplication;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.UserRepository;
+import com.aftermidnight.security.JwtUtil;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.ThoughtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.Filter;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application on a random port against the in-memory H2 database of the test configuration, seeds users
+ * and content, then runs closed-loop clients against it: each client sends a request picked from the configured mix,
+ * waits for the response and sends the next. Latencies are only recorded after the warmup and are reported per
+ * operation as JSON.
+ * <p>
+ * Clients run on virtual threads when the JVM has them (21 and later) and on one platform thread each otherwise.
+ * The server handles requests on its platform thread pool, or on virtual threads with
+ * {@code -Dloadtest.server-threads=virtual}. With {@code -Dloadtest.db-latency-ms} every database statement of the run
+ * is slowed down, which shows how much concurrency each mode sustains when requests mostly wait on the database.
+ * Run with {@code ./mvnw -P loadtest -DskipTests verify}; see the {@code loadtest} profile for the settings.
+ */
+public final class LoadTest {
+
+    static final boolean VIRTUAL_THREADS = Runtime.version().feature() >= 21;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        if (config.virtualServerThreads() && !VIRTUAL_THREADS) {
+            throw new IllegalArgumentException("loadtest.server-threads=virtual needs Java 21 or later, running on " + Runtime.version());
+        }
+        SlowDatabase database = new SlowDatabase();
+        Concurrency requests = new Concurrency();
+        // Devtools would relaunch the application in another class loader, away from the beans seeded here
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AfterMidnightApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // High enough that the load test measures the endpoints, not the rate limiter
+                        "rate-limit.auth.requests-per-minute=1000000",
+                        "rate-limit.read.requests-per-minute=1000000",
+                        "rate-limit.write.requests-per-minute=1000000",
+                        "rate-limit.view.requests-per-minute=1000000",
+                        "rate-limit.address.requests-per-minute=1000000",
+                        "spring.threads.virtual.enabled=" + config.virtualServerThreads())
+                .initializers(application -> {
+                    application.getBeanFactory().addBeanPostProcessor(database);
+                    application.getBeanFactory().registerSingleton("loadTestRequestConcurrency", (Filter) (request, response, chain) -> {
+                        long started = requests.enter();
+                        try {
+                            chain.doFilter(request, response);
+                        } finally {
+                            requests.exit(started);
+                        }
+                    });
+                })
+                .run(args);
+        int exitCode = 0;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Seed seed = seed(context, config);
+            database.setLatency(config.dbLatency().toMillis());
+            Map<String, LatencyStats.Result> results = run(config, seed, "http://localhost:" + port,
+                    requests, database.statements());
+            report(config, results, server(context, config, requests, database.statements()));
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private record Seed(List<String> tokens, List<Long> publishedPoemIds) {
+    }
+
+    /**
+     * Creates the users and their content through the services, as the bulk endpoints would, and issues each user
+     * a token directly so seeding does not pay for a BCrypt check per user.
+     */
+    private static Seed seed(ConfigurableApplicationContext context, LoadTestConfig config) {
+        long start = System.nanoTime();
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        PoemService poemService = context.getBean(PoemService.class);
+        SongService songService = context.getBean(SongService.class);
+        ThoughtService thoughtService = context.getBean(ThoughtService.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        String password = context.getBean(PasswordEncoder.class).encode("load-test-password");
+
+        List<User> users = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            users.add(User.builder()
+                    .username("loadtest" + i)
+                    .email("loadtest" + i + "@example.com")
+                    .password(password)
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+
+        List<String> tokens = new ArrayList<>(users.size());
+        List<Long> publishedPoemIds = new ArrayList<>();
+        for (User user : users) {
+            tokens.add(jwtUtil.generateToken(user));
+            List<Poem> poems = new ArrayList<>();
+            List<Song> songs = new ArrayList<>();
+            List<Thought> thoughts = new ArrayList<>();
+            for (int i = 0; i < config.contentPerUser(); i++) {
+                PublicationStatus status = i % 5 == 4 ? PublicationStatus.DRAFT : PublicationStatus.PUBLISHED;
+                switch (i % 3) {
+                    case 0 -> poems.add(Poem.builder().title("Poem " + i).content(text(i)).status(status).user(user).build());
+                    case 1 -> songs.add(Song.builder().title("Song " + i).lyrics(text(i)).status(status).user(user).build());
+                    default -> thoughts.add(Thought.builder().content(text(i)).mood("restless").status(status).user(user).build());
+                }
+            }
+            for (Poem poem : poems.isEmpty() ? poems : poemService.createAll(poems)) {
+                if (poem.getStatus() == PublicationStatus.PUBLISHED) {
+                    publishedPoemIds.add(poem.getId());
+                }
+            }
+            if (!songs.isEmpty()) {
+                songService.createAll(songs);
+            }
+            if (!thoughts.isEmpty()) {
+                thoughtService.createAll(thoughts);
+            }
+        }
+        if (tokens.isEmpty() || publishedPoemIds.isEmpty()) {
+            throw new IllegalArgumentException("Seed at least one user with at least one poem (loadtest.users, loadtest.content-per-user)");
+        }
+        System.out.printf("Seeded %d users with %d items each in %d ms%n", users.size(), config.contentPerUser(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return new Seed(tokens, publishedPoemIds);
+    }
+
+    private static String text(int i) {
+        return ("Line " + i + " of something written after midnight.\n").repeat(4 + i % 8);
+    }
+
+    /**
+     * @param inProgress Server-side work counters, measured over the same period as the latencies.
+     */
+    private static Map<String, LatencyStats.Result> run(LoadTestConfig config, Seed seed, String baseUrl,
+                                                        Concurrency... inProgress) throws InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Scenario scenario = new Scenario(baseUrl, seed.tokens(), seed.publishedPoemIds(), config.mix(), objectMapper);
+        Map<String, LatencyStats> stats = new LinkedHashMap<>();
+        for (String operation : scenario.operations()) {
+            stats.put(operation, new LatencyStats());
+        }
+
+        ExecutorService clients = clientExecutor(config.clients());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        long until = measureFrom + config.duration().toNanos();
+        System.out.printf("Running %d clients for %ds after a %ds warmup%n", config.clients(),
+                config.duration().toSeconds(), config.warmup().toSeconds());
+        for (int i = 0; i < config.clients(); i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < until) {
+                    String operation = scenario.pick();
+                    HttpRequest request = scenario.request(operation);
+                    long start = System.nanoTime();
+                    String outcome;
+                    boolean error;
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        outcome = Integer.toString(response.statusCode());
+                        error = response.statusCode() >= 400;
+                    } catch (IOException | RuntimeException e) {
+                        outcome = e.getClass().getSimpleName();
+                        error = true;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (start >= measureFrom) {
+                        stats.get(operation).record(System.nanoTime() - start, outcome, error);
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+        for (Concurrency counter : inProgress) {
+            counter.start();
+        }
+        long grace = TimeUnit.NANOSECONDS.toSeconds(until - System.nanoTime()) + 60;
+        if (!clients.awaitTermination(grace, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        for (Concurrency counter : inProgress) {
+            counter.stop();
+        }
+
+        double seconds = config.duration().toNanos() / 1e9;
+        Map<String, LatencyStats.Result> results = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) -> results.put(operation, operationStats.result(operation, seconds)));
+        return results;
+    }
+
+    /**
+     * A virtual thread per task where the JVM supports it, looked up reflectively so the harness still runs on 17.
+     */
+    static ExecutorService clientExecutor(int clients) {
+        if (VIRTUAL_THREADS) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Virtual threads not available on " + Runtime.version(), e);
+            }
+        }
+        return Executors.newFixedThreadPool(clients);
+    }
+
+    /**
+     * How the server was set up and how much work it had in progress during the measured run.
+     */
+    private static Map<String, Object> server(ConfigurableApplicationContext context, LoadTestConfig config,
+                                              Concurrency requests, Concurrency statements) throws SQLException {
+        Environment environment = context.getEnvironment();
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        Map<String, Object> server = new LinkedHashMap<>();
+        server.put("requestThreads", virtual ? "virtual" : "platform");
+        if (!virtual) {
+            server.put("maxRequestThreads", environment.getProperty("server.tomcat.threads.max", Integer.class, 200));
+        }
+        server.put("connectionPoolSize", context.getBean(DataSource.class).unwrap(HikariDataSource.class).getMaximumPoolSize());
+        server.put("dbLatencyMs", config.dbLatency().toMillis());
+        server.put("peakRequestsInProgress", requests.peak());
+        server.put("averageRequestsInProgress", requests.average());
+        server.put("peakStatementsInProgress", statements.peak());
+        server.put("averageStatementsInProgress", statements.average());
+        return server;
+    }
+
+    private static void report(LoadTestConfig config, Map<String, LatencyStats.Result> results, Map<String, Object> server)
+            throws IOException {
+        long requests = results.values().stream().mapToLong(LatencyStats.Result::requests).sum();
+        long errors = results.values().stream().mapToLong(LatencyStats.Result::errors).sum();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("clientThreads", VIRTUAL_THREADS ? "virtual" : "platform");
+        report.put("config", Map.of(
+                "users", config.users(),
+                "contentPerUser", config.contentPerUser(),
+                "clients", config.clients(),
+                "warmupSeconds", config.warmup().toSeconds(),
+                "durationSeconds", config.duration().toSeconds(),
+                "mix", config.mix()));
+        report.put("server", server);
+        report.put("totalRequests", requests);
+        report.put("totalErrors", errors);
+        report.put("throughputPerSecond", requests / (config.duration().toNanos() / 1e9));
+        report.put("operations", List.copyOf(results.values()));
+
+        if (config.report().getParent() != null) {
+            Files.createDirectories(config.report().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.report().toFile(), report);
+
+        System.out.printf("%-12s %10s %8s %10s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LatencyStats.Result result : results.values()) {
+            System.out.printf("%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", result.operation(), result.requests(),
+                    result.errors(), result.throughputPerSecond(), result.p50Ms(), result.p99Ms(), result.p999Ms(), result.maxMs());
+        }
+        System.out.printf("Server on %s threads with %d pooled connections and %d ms per statement: "
+                        + "%.1f requests and %.1f statements in progress on average, %d and %d at peak%n",
+                server.get("requestThreads"), server.get("connectionPoolSize"), server.get("dbLatencyMs"),
+                server.get("averageRequestsInProgress"), server.get("averageStatementsInProgress"),
+                server.get("peakRequestsInProgress"), server.get("peakStatementsInProgress"));
+        System.out.println("Report written to " + config.report().toAbsolutePath());
+    }
+}
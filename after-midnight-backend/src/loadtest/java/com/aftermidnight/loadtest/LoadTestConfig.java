@@ -0,0 +1,64 @@
+package com.aftermidnight.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ * @param mix Relative weight of each operation, from {@code loadtest.mix} as {@code name:weight,...}.
+ * @param dbLatency Extra time every database statement takes during the run, to simulate a slow database.
+ * @param virtualServerThreads Whether the server handles requests on virtual threads, from {@code loadtest.server-threads}.
+ */
+record LoadTestConfig(int users,
+                      int contentPerUser,
+                      int clients,
+                      Duration warmup,
+                      Duration duration,
+                      Map<String, Integer> mix,
+                      Duration dbLatency,
+                      boolean virtualServerThreads,
+                      Path report) {
+
+    static final String DEFAULT_MIX = "feed:30,public-list:15,my-list:15,get-poem:10,view:20,create:10";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 200),
+                Integer.getInteger("loadtest.content-per-user", 20),
+                Integer.getInteger("loadtest.clients", 200),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30)),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Duration.ofMillis(Long.getLong("loadtest.db-latency-ms", 0)),
+                parseServerThreads(System.getProperty("loadtest.server-threads", "platform")),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json")));
+    }
+
+    static boolean parseServerThreads(String threads) {
+        return switch (threads.trim().toLowerCase()) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("loadtest.server-threads must be platform or virtual, got: " + threads);
+        };
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name:weight in loadtest.mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,103 @@
+package com.aftermidnight.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The operations a simulated client picks from, weighted by the configured mix.
+ */
+final class Scenario {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final List<String> tokens;
+    private final List<Long> publishedPoemIds;
+    private final ObjectMapper objectMapper;
+    private final String[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicLong created = new AtomicLong();
+
+    Scenario(String baseUrl, List<String> tokens, List<Long> publishedPoemIds, Map<String, Integer> mix,
+             ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.tokens = tokens;
+        this.publishedPoemIds = publishedPoemIds;
+        this.objectMapper = objectMapper;
+        this.operations = mix.keySet().toArray(String[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    String[] operations() {
+        return operations;
+    }
+
+    String pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Weights do not cover " + roll);
+    }
+
+    HttpRequest request(String operation) {
+        return switch (operation) {
+            case "feed" -> get("/api/v2/feed?size=20").build();
+            case "public-list" -> get("/api/v1/poems").build();
+            case "my-list" -> authenticated(get("/api/v1/poems")).build();
+            case "get-poem" -> get("/api/v1/poems/" + randomPoemId()).build();
+            case "view" -> authenticated(to("/api/v1/poems/" + randomPoemId() + "/view")
+                    .POST(HttpRequest.BodyPublishers.noBody()))
+                    .build();
+            case "create" -> authenticated(to("/api/v1/poems"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(newPoem()))
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + operation);
+        };
+    }
+
+    private HttpRequest.Builder to(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return to(path).GET();
+    }
+
+    private HttpRequest.Builder authenticated(HttpRequest.Builder builder) {
+        String token = tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+        return builder.header("Authorization", "Bearer " + token);
+    }
+
+    private long randomPoemId() {
+        return publishedPoemIds.get(ThreadLocalRandom.current().nextInt(publishedPoemIds.size()));
+    }
+
+    private String newPoem() {
+        long n = created.incrementAndGet();
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "title", "Load test poem " + n,
+                    "content", "Written under load, number " + n,
+                    "status", n % 5 == 0 ? "DRAFT" : "PUBLISHED"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
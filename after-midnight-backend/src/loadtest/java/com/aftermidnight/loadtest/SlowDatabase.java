@@ -0,0 +1,89 @@
+package com.aftermidnight.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the application's data source so every statement execution takes at least a fixed extra time, standing in for
+ * a remote or overloaded database. The delay is spent while the statement's pooled connection is held, as it would be
+ * waiting on a real database. It starts at zero so seeding runs at full speed, and is switched on for the measured run.
+ * <p>
+ * Also tracks how many statements are executing at once, the database concurrency the server actually sustains.
+ */
+final class SlowDatabase implements BeanPostProcessor {
+
+    private volatile long latencyNanos;
+    private final Concurrency statements = new Concurrency();
+
+    void setLatency(long millis) {
+        latencyNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    Concurrency statements() {
+        return statements;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, this::wrapConnection, false);
+        }
+        return bean;
+    }
+
+    private Object wrapConnection(Method method, Object[] args, Object result) {
+        return result instanceof Connection connection ? proxy(Connection.class, connection, this::wrapStatement, false) : result;
+    }
+
+    private Object wrapStatement(Method method, Object[] args, Object result) {
+        if (result instanceof CallableStatement statement) {
+            return proxy(CallableStatement.class, statement, (m, a, r) -> r, true);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, (m, a, r) -> r, true);
+        }
+        if (result instanceof Statement statement) {
+            return proxy(Statement.class, statement, (m, a, r) -> r, true);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, T target, ResultWrapper wrapper, boolean delayExecution) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") && args != null && args[0] instanceof Class<?> iface && iface.isInstance(target)) {
+                return target;
+            }
+            boolean execution = delayExecution && method.getName().startsWith("execute");
+            long started = execution ? statements.enter() : 0;
+            try {
+                if (execution && latencyNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(latencyNanos);
+                }
+                return wrapper.wrap(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (execution) {
+                    statements.exit(started);
+                }
+            }
+        };
+        return (T) Proxy.newProxyInstance(SlowDatabase.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(Method method, Object[] args, Object result);
+    }
+}
@@ -0,0 +1,39 @@
+package com.aftermidnight.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * With {@code spring.threads.virtual.enabled} Spring Boot serves requests, runs {@code @Async} tasks and the
+ * {@code @Scheduled} flushers on virtual threads instead of the Tomcat and task pools. Virtual threads need Java 21,
+ * so on older runtimes the setting is ignored; this reports which mode is actually in effect.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    private final Environment environment;
+
+    public ThreadingConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Serving requests on virtual threads; concurrent database work is bounded by the connection pool");
+        } else if (environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false)) {
+            log.warn("{} is set but Java {} has no virtual threads, serving requests on platform threads",
+                    VIRTUAL_THREADS_PROPERTY, Runtime.version().feature());
+        } else {
+            log.info("Serving requests on platform threads (up to {})",
+                    environment.getProperty("server.tomcat.threads.max", "200"));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.dto.BulkCreateRequest;
+import com.aftermidnight.dto.PoemRequest;
+import com.aftermidnight.dto.PoemResponse;
+import com.aftermidnight.dto.SongRequest;
+import com.aftermidnight.dto.SongResponse;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.security.CustomUserDetails;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Creates many items in one request and one transaction, so their inserts go to the database in JDBC batches.
+ * Items are validated like single creates and either all of them are created or none.
+ */
+@RestController
+@RequestMapping("/api/v2")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Bulk create (v2)", description = "Create many poems or songs at once")
+public class BulkContentController {
+
+    private final PoemService poemService;
+    private final SongService songService;
+
+    @PostMapping("/poems/batch")
+    @Operation(summary = "Create up to 500 poems at once")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Poems created successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<List<PoemResponse>>> createPoems(
+            @Valid @RequestBody BulkCreateRequest<PoemRequest> request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        log.info("Creating {} poems for user: {}", request.getItems().size(), userDetails.getUsername());
+        User user = userDetails.getUser();
+        List<Poem> poems = request.getItems().stream()
+                .map(item -> Poem.builder()
+                        .title(item.getTitle())
+                        .content(item.getContent())
+                        .status(item.getStatus() != null ? item.getStatus() : PublicationStatus.DRAFT)
+                        .user(user)
+                        .build())
+                .toList();
+        List<PoemResponse> created = poemService.createAll(poems).stream().map(ContentResponses::of).toList();
+        return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(created, "Poems created successfully"));
+    }
+
+    @PostMapping("/songs/batch")
+    @Operation(summary = "Create up to 500 songs at once")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Songs created successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<List<SongResponse>>> createSongs(
+            @Valid @RequestBody BulkCreateRequest<SongRequest> request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        log.info("Creating {} songs for user: {}", request.getItems().size(), userDetails.getUsername());
+        User user = userDetails.getUser();
+        List<Song> songs = request.getItems().stream()
+                .map(item -> Song.builder()
+                        .title(item.getTitle())
+                        .lyrics(item.getLyrics())
+                        .audioUrl(item.getAudioUrl())
+                        .status(item.getStatus() != null ? item.getStatus() : PublicationStatus.DRAFT)
+                        .user(user)
+                        .build())
+                .toList();
+        List<SongResponse> created = songService.createAll(songs).stream().map(ContentResponses::of).toList();
+        return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(created, "Songs created successfully"));
+    }
+}
@@ -0,0 +1,201 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.repository.projection.PoemRow;
+import com.aftermidnight.repository.projection.SongRow;
+import com.aftermidnight.repository.projection.ThoughtRow;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Entity tags for content responses, computed from the fields that end up in the response DTOs
+ * so a conditional GET can be answered without mapping or serializing anything.
+ * <p>
+ * Tags are weak because the {@code ApiResponse} envelope carries a per-response timestamp,
+ * so two responses with the same data are never byte-identical.
+ */
+final class ContentETags {
+
+    /** Published content may be cached by shared caches for as long as the by-id cache may serve it. */
+    static final CacheControl PUBLIC = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
+
+    /** Drafts and per-user lists must be revalidated and never stored by shared caches. */
+    static final CacheControl PRIVATE = CacheControl.noCache().cachePrivate();
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private ContentETags() {
+    }
+
+    static CacheControl cacheControl(PublicationStatus status) {
+        return status == PublicationStatus.PUBLISHED ? PUBLIC : PRIVATE;
+    }
+
+    static String of(Poem poem) {
+        return tag(fingerprint(poem));
+    }
+
+    static String of(Song song) {
+        return tag(fingerprint(song));
+    }
+
+    static String of(Thought thought) {
+        return tag(fingerprint(thought));
+    }
+
+    /**
+     * Tag for a paged list response; covers the paging metadata and every item on the page.
+     */
+    static <T> String ofPage(Page<T> page, ToLongFunction<T> fingerprint) {
+        long marker = mix(mix(page.getNumber(), page.getSize()), page.getTotalElements());
+        return ofItems(page.getContent(), marker, fingerprint);
+    }
+
+    /**
+     * Tag for a list of items plus whatever else shapes the response, such as the requested page size.
+     */
+    static <T> String ofItems(List<T> items, long marker, ToLongFunction<T> fingerprint) {
+        long hash = mix(SEED, marker);
+        for (T item : items) {
+            hash = mix(hash, fingerprint.applyAsLong(item));
+        }
+        return tag(hash);
+    }
+
+    /**
+     * Tag for a keyset page fetched with one row past its size; covers the items returned and whether more follow, but
+     * not the extra row, which is not part of the response.
+     */
+    static <T> String ofSlice(List<T> rows, int pageSize, ToLongFunction<T> fingerprint) {
+        boolean hasNext = rows.size() > pageSize;
+        return ofItems(hasNext ? rows.subList(0, pageSize) : rows, mix(pageSize, hasNext ? 1 : 0), fingerprint);
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+
+    /**
+     * Full response for a URL that returns the caller's own items when authenticated and published items otherwise.
+     * Caches must key it on the {@code Authorization} header, or one caller's list could be served to another.
+     */
+    static ResponseEntity.BodyBuilder okPerCaller(String etag, CacheControl cacheControl) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.AUTHORIZATION);
+    }
+
+    /**
+     * 304 counterpart of {@link #okPerCaller}, so a cache never validates a stored list against another caller's tag.
+     */
+    static <T> ResponseEntity<T> notModifiedPerCaller(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl)
+                .varyBy(HttpHeaders.AUTHORIZATION).build();
+    }
+
+    static long fingerprint(Poem poem) {
+        long hash = common(poem.getId(), poem.getCreatedAt(), poem.getStatus(), poem.getPublishedAt(),
+                poem.getViewCount(), poem.getLikeCount(), poem.getUniqueViewers(),
+                poem.getUser() != null ? poem.getUser().getId() : null);
+        hash = mix(hash, Objects.hashCode(poem.getTitle()));
+        return mix(hash, Objects.hashCode(poem.getContent()));
+    }
+
+    static long fingerprint(Song song) {
+        long hash = common(song.getId(), song.getCreatedAt(), song.getStatus(), song.getPublishedAt(),
+                song.getViewCount(), song.getLikeCount(), song.getUniqueViewers(),
+                song.getUser() != null ? song.getUser().getId() : null);
+        hash = mix(hash, Objects.hashCode(song.getTitle()));
+        hash = mix(hash, Objects.hashCode(song.getLyrics()));
+        return mix(hash, Objects.hashCode(song.getAudioUrl()));
+    }
+
+    static long fingerprint(Thought thought) {
+        long hash = common(thought.getId(), thought.getCreatedAt(), thought.getStatus(), thought.getPublishedAt(),
+                thought.getViewCount(), thought.getLikeCount(), thought.getUniqueViewers(),
+                thought.getUser() != null ? thought.getUser().getId() : null);
+        return mix(hash, Objects.hashCode(thought.getContent()));
+    }
+
+    static long fingerprint(PoemRow poem) {
+        long hash = common(poem.id(), poem.createdAt(), poem.status(), poem.publishedAt(),
+                poem.viewCount(), poem.likeCount(), poem.uniqueViewers(), poem.userId());
+        hash = mix(hash, Objects.hashCode(poem.title()));
+        return mix(hash, Objects.hashCode(poem.content()));
+    }
+
+    static long fingerprint(SongRow song) {
+        long hash = common(song.id(), song.createdAt(), song.status(), song.publishedAt(),
+                song.viewCount(), song.likeCount(), song.uniqueViewers(), song.userId());
+        hash = mix(hash, Objects.hashCode(song.title()));
+        hash = mix(hash, Objects.hashCode(song.lyrics()));
+        return mix(hash, Objects.hashCode(song.audioUrl()));
+    }
+
+    static long fingerprint(ThoughtRow thought) {
+        long hash = common(thought.id(), thought.createdAt(), thought.status(), thought.publishedAt(),
+                thought.viewCount(), thought.likeCount(), thought.uniqueViewers(), thought.userId());
+        return mix(hash, Objects.hashCode(thought.content()));
+    }
+
+    /**
+     * Fingerprint of a poem, song or thought in a mixed-type list; the type is folded in so equal ids never collide.
+     */
+    static long fingerprintAny(Object entity) {
+        if (entity instanceof Poem poem) {
+            return mix(ContentType.POEM.ordinal(), fingerprint(poem));
+        }
+        if (entity instanceof Song song) {
+            return mix(ContentType.SONG.ordinal(), fingerprint(song));
+        }
+        if (entity instanceof Thought thought) {
+            return mix(ContentType.THOUGHT.ordinal(), fingerprint(thought));
+        }
+        if (entity instanceof PoemRow poem) {
+            return mix(ContentType.POEM.ordinal(), fingerprint(poem));
+        }
+        if (entity instanceof SongRow song) {
+            return mix(ContentType.SONG.ordinal(), fingerprint(song));
+        }
+        if (entity instanceof ThoughtRow thought) {
+            return mix(ContentType.THOUGHT.ordinal(), fingerprint(thought));
+        }
+        throw new IllegalArgumentException("Not a content entity: " + entity.getClass().getName());
+    }
+
+    private static long common(Long id, Object createdAt, PublicationStatus status, Object publishedAt,
+                               long viewCount, long likeCount, long uniqueViewers, Long userId) {
+        long hash = mix(SEED, Objects.hashCode(id));
+        hash = mix(hash, Objects.hashCode(createdAt));
+        hash = mix(hash, status != null ? status.ordinal() : -1);
+        hash = mix(hash, Objects.hashCode(publishedAt));
+        hash = mix(hash, viewCount);
+        hash = mix(hash, likeCount);
+        hash = mix(hash, uniqueViewers);
+        return mix(hash, Objects.hashCode(userId));
+    }
+
+    /**
+     * One round of the splitmix64 finalizer over the running hash and the next value.
+     */
+    private static long mix(long hash, long value) {
+        long z = hash + value * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String tag(long hash) {
+        return "W/\"" + Long.toHexString(hash) + '"';
+    }
+}
@@ -0,0 +1,135 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.dto.PoemResponse;
+import com.aftermidnight.dto.SongResponse;
+import com.aftermidnight.dto.ThoughtResponse;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.repository.projection.PoemRow;
+import com.aftermidnight.repository.projection.SongRow;
+import com.aftermidnight.repository.projection.ThoughtRow;
+
+/**
+ * Entity and list row to response DTO mapping shared by the v1 and v2 content controllers.
+ */
+final class ContentResponses {
+
+    private ContentResponses() {
+    }
+
+    static PoemResponse of(Poem poem) {
+        return PoemResponse.builder()
+                .id(poem.getId())
+                .title(poem.getTitle())
+                .content(poem.getContent())
+                .createdAt(poem.getCreatedAt())
+                .status(poem.getStatus())
+                .publishedAt(poem.getPublishedAt())
+                .viewCount(poem.getViewCount())
+                .likeCount(poem.getLikeCount())
+                .uniqueViewers(poem.getUniqueViewers())
+                .userId(poem.getUser() != null ? poem.getUser().getId() : null)
+                .build();
+    }
+
+    static SongResponse of(Song song) {
+        return SongResponse.builder()
+                .id(song.getId())
+                .title(song.getTitle())
+                .lyrics(song.getLyrics())
+                .audioUrl(song.getAudioUrl())
+                .createdAt(song.getCreatedAt())
+                .status(song.getStatus())
+                .publishedAt(song.getPublishedAt())
+                .viewCount(song.getViewCount())
+                .likeCount(song.getLikeCount())
+                .uniqueViewers(song.getUniqueViewers())
+                .userId(song.getUser() != null ? song.getUser().getId() : null)
+                .build();
+    }
+
+    static PoemResponse of(PoemRow poem) {
+        return PoemResponse.builder()
+                .id(poem.id())
+                .title(poem.title())
+                .content(poem.content())
+                .createdAt(poem.createdAt())
+                .status(poem.status())
+                .publishedAt(poem.publishedAt())
+                .viewCount(poem.viewCount())
+                .likeCount(poem.likeCount())
+                .uniqueViewers(poem.uniqueViewers())
+                .userId(poem.userId())
+                .build();
+    }
+
+    static SongResponse of(SongRow song) {
+        return SongResponse.builder()
+                .id(song.id())
+                .title(song.title())
+                .lyrics(song.lyrics())
+                .audioUrl(song.audioUrl())
+                .createdAt(song.createdAt())
+                .status(song.status())
+                .publishedAt(song.publishedAt())
+                .viewCount(song.viewCount())
+                .likeCount(song.likeCount())
+                .uniqueViewers(song.uniqueViewers())
+                .userId(song.userId())
+                .build();
+    }
+
+    static ThoughtResponse of(ThoughtRow thought) {
+        return ThoughtResponse.builder()
+                .id(thought.id())
+                .content(thought.content())
+                .createdAt(thought.createdAt())
+                .status(thought.status())
+                .publishedAt(thought.publishedAt())
+                .viewCount(thought.viewCount())
+                .likeCount(thought.likeCount())
+                .uniqueViewers(thought.uniqueViewers())
+                .userId(thought.userId())
+                .build();
+    }
+
+    /**
+     * Maps a poem, song or thought, as an entity or a list row, to its response DTO.
+     */
+    static Object ofAny(Object entity) {
+        if (entity instanceof Poem poem) {
+            return of(poem);
+        }
+        if (entity instanceof Song song) {
+            return of(song);
+        }
+        if (entity instanceof Thought thought) {
+            return of(thought);
+        }
+        if (entity instanceof PoemRow poem) {
+            return of(poem);
+        }
+        if (entity instanceof SongRow song) {
+            return of(song);
+        }
+        if (entity instanceof ThoughtRow thought) {
+            return of(thought);
+        }
+        throw new IllegalArgumentException("Not a content entity: " + entity.getClass().getName());
+    }
+
+    static ThoughtResponse of(Thought thought) {
+        return ThoughtResponse.builder()
+                .id(thought.getId())
+                .content(thought.getContent())
+                .createdAt(thought.getCreatedAt())
+                .status(thought.getStatus())
+                .publishedAt(thought.getPublishedAt())
+                .viewCount(thought.getViewCount())
+                .likeCount(thought.getLikeCount())
+                .uniqueViewers(thought.getUniqueViewers())
+                .userId(thought.getUser() != null ? thought.getUser().getId() : null)
+                .build();
+    }
+}
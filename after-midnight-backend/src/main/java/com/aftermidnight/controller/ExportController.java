@@ -0,0 +1,76 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.entity.User;
+import com.aftermidnight.security.CustomUserDetails;
+import com.aftermidnight.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Downloads all of the current user's content as NDJSON in one response, instead of paging through the list
+ * endpoints. The body is written while it is read from the database, gzip-compressed on the way out when the client
+ * accepts it, and can be posted back to {@code /api/v2/import} as is.
+ */
+@RestController
+@RequestMapping("/api/v2/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Export (v2)", description = "Export the current user's poems, songs and thoughts as NDJSON")
+public class ExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final ExportService exportService;
+
+    @GetMapping(produces = ImportController.NDJSON)
+    @Operation(summary = "Export all of the current user's content, one {\"type\": \"POEM\" | \"SONG\" | \"THOUGHT\", ...} object per line")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "The user's content as NDJSON"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        User user = userDetails.getUser();
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                exportService.exportNdjson(user, compressed);
+                compressed.finish();
+            } else {
+                exportService.exportNdjson(user, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ImportController.NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("after-midnight-export.ndjson")
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,184 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.dto.ContentItemResponse;
+import com.aftermidnight.dto.CursorPage;
+import com.aftermidnight.dto.PoemResponse;
+import com.aftermidnight.dto.SongResponse;
+import com.aftermidnight.dto.ThoughtResponse;
+import com.aftermidnight.repository.projection.PoemRow;
+import com.aftermidnight.repository.projection.SongRow;
+import com.aftermidnight.repository.projection.ThoughtRow;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.ThoughtService;
+import com.aftermidnight.service.TimelineItem;
+import com.aftermidnight.service.TimelineService;
+import com.aftermidnight.util.FeedCursor;
+import com.aftermidnight.util.TimelineCursor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Public feeds with keyset (seek) pagination.
+ * Pages are addressed by an opaque cursor instead of an offset, so every page costs the same
+ * index range scan and no COUNT(*) is issued.
+ * Responses carry an ETag over the returned items, so polling clients get a 304 while the page is unchanged.
+ */
+@RestController
+@RequestMapping("/api/v2")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Feeds (v2)", description = "Cursor-paginated public feeds")
+public class FeedController {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final PoemService poemService;
+    private final SongService songService;
+    private final ThoughtService thoughtService;
+    private final TimelineService timelineService;
+
+    @GetMapping("/poems")
+    @Operation(summary = "Get published poems, newest first", description = "Pass the returned nextCursor to fetch the following page")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Poems retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<CursorPage<PoemResponse>>> getPoems(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (max 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cut content down to a preview") @RequestParam(defaultValue = "false") boolean summary,
+            WebRequest webRequest) {
+        int pageSize = clamp(size);
+        log.info("Fetching poem feed with cursor: {} and size: {}", cursor, pageSize);
+        List<PoemRow> rows = poemService.getPublishedFeed(FeedCursor.decode(cursor), pageSize + 1, summary);
+        String etag = ContentETags.ofSlice(rows, pageSize, ContentETags::fingerprint);
+        if (webRequest.checkNotModified(etag)) {
+            return ContentETags.notModified(etag, ContentETags.PUBLIC);
+        }
+        CursorPage<PoemResponse> page = CursorPage.of(
+                rows.stream().map(ContentResponses::of).toList(),
+                pageSize,
+                poem -> FeedCursor.of(poem.getCreatedAt(), poem.getId()).encode());
+        return ResponseEntity.ok().eTag(etag).cacheControl(ContentETags.PUBLIC)
+                .body(com.aftermidnight.dto.ApiResponse.success(page, "Poems retrieved successfully"));
+    }
+
+    @GetMapping("/songs")
+    @Operation(summary = "Get published songs, newest first", description = "Pass the returned nextCursor to fetch the following page")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Songs retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<CursorPage<SongResponse>>> getSongs(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (max 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cut lyrics down to a preview") @RequestParam(defaultValue = "false") boolean summary,
+            WebRequest webRequest) {
+        int pageSize = clamp(size);
+        log.info("Fetching song feed with cursor: {} and size: {}", cursor, pageSize);
+        List<SongRow> rows = songService.getPublishedFeed(FeedCursor.decode(cursor), pageSize + 1, summary);
+        String etag = ContentETags.ofSlice(rows, pageSize, ContentETags::fingerprint);
+        if (webRequest.checkNotModified(etag)) {
+            return ContentETags.notModified(etag, ContentETags.PUBLIC);
+        }
+        CursorPage<SongResponse> page = CursorPage.of(
+                rows.stream().map(ContentResponses::of).toList(),
+                pageSize,
+                song -> FeedCursor.of(song.getCreatedAt(), song.getId()).encode());
+        return ResponseEntity.ok().eTag(etag).cacheControl(ContentETags.PUBLIC)
+                .body(com.aftermidnight.dto.ApiResponse.success(page, "Songs retrieved successfully"));
+    }
+
+    @GetMapping("/thoughts")
+    @Operation(summary = "Get published thoughts, newest first", description = "Pass the returned nextCursor to fetch the following page")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Thoughts retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<CursorPage<ThoughtResponse>>> getThoughts(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (max 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cut content down to a preview") @RequestParam(defaultValue = "false") boolean summary,
+            WebRequest webRequest) {
+        int pageSize = clamp(size);
+        log.info("Fetching thought feed with cursor: {} and size: {}", cursor, pageSize);
+        List<ThoughtRow> rows = thoughtService.getPublishedFeed(FeedCursor.decode(cursor), pageSize + 1, summary);
+        String etag = ContentETags.ofSlice(rows, pageSize, ContentETags::fingerprint);
+        if (webRequest.checkNotModified(etag)) {
+            return ContentETags.notModified(etag, ContentETags.PUBLIC);
+        }
+        CursorPage<ThoughtResponse> page = CursorPage.of(
+                rows.stream().map(ContentResponses::of).toList(),
+                pageSize,
+                thought -> FeedCursor.of(thought.getCreatedAt(), thought.getId()).encode());
+        return ResponseEntity.ok().eTag(etag).cacheControl(ContentETags.PUBLIC)
+                .body(com.aftermidnight.dto.ApiResponse.success(page, "Thoughts retrieved successfully"));
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Get published poems, songs and thoughts in one timeline, newest first",
+               description = "Pass the returned nextCursor to fetch the following page")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Timeline retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<CursorPage<ContentItemResponse>>> getTimeline(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (max 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cut content and lyrics down to a preview") @RequestParam(defaultValue = "false") boolean summary,
+            WebRequest webRequest) {
+        int pageSize = clamp(size);
+        log.info("Fetching timeline with cursor: {} and size: {}", cursor, pageSize);
+        List<TimelineItem> rows = timelineService.getTimeline(TimelineCursor.decode(cursor), pageSize + 1, summary);
+        String etag = ContentETags.ofSlice(rows, pageSize, item -> ContentETags.fingerprintAny(item.content()));
+        if (webRequest.checkNotModified(etag)) {
+            return ContentETags.notModified(etag, ContentETags.PUBLIC);
+        }
+        List<TimelineItem> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        CursorPage<ContentItemResponse> page = CursorPage.<ContentItemResponse>builder()
+                .content(items.stream()
+                        .map(item -> ContentItemResponse.builder()
+                                .type(item.type())
+                                .content(ContentResponses.ofAny(item.content()))
+                                .build())
+                        .toList())
+                .size(pageSize)
+                .nextCursor(rows.size() > pageSize ? lastOf(items).encode() : null)
+                .hasNext(rows.size() > pageSize)
+                .build();
+        return ResponseEntity.ok().eTag(etag).cacheControl(ContentETags.PUBLIC)
+                .body(com.aftermidnight.dto.ApiResponse.success(page, "Timeline retrieved successfully"));
+    }
+
+    private static TimelineCursor lastOf(List<TimelineItem> items) {
+        TimelineItem last = items.get(items.size() - 1);
+        return TimelineCursor.of(last.createdAt(), last.type(), last.id());
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
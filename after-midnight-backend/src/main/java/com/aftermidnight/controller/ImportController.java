@@ -0,0 +1,63 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.dto.ImportResponse;
+import com.aftermidnight.security.CustomUserDetails;
+import com.aftermidnight.service.ImportReport;
+import com.aftermidnight.service.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Imports content from a newline-delimited JSON upload. The body is streamed rather than bound, so an import is not
+ * limited by request size the way the bulk create endpoints are, and invalid lines are reported instead of failing the request.
+ */
+@RestController
+@RequestMapping("/api/v2/import")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Import (v2)", description = "Import poems, songs and thoughts from NDJSON")
+public class ImportController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final ImportService importService;
+
+    @PostMapping(consumes = NDJSON)
+    @Operation(summary = "Import content from NDJSON, one {\"type\": \"POEM\" | \"SONG\" | \"THOUGHT\", ...} object per line")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Import finished; see the report for failed lines"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<ImportResponse>> importNdjson(
+            InputStream body,
+            @AuthenticationPrincipal CustomUserDetails userDetails) throws IOException {
+        ImportReport report = importService.importNdjson(userDetails.getUser(), body);
+        ImportResponse response = ImportResponse.builder()
+                .lines(report.lines())
+                .imported(report.imported())
+                .failed(report.failed())
+                .errors(report.errors().stream()
+                        .map(error -> ImportResponse.LineError.builder()
+                                .line(error.line())
+                                .message(error.message())
+                                .build())
+                        .toList())
+                .build();
+        String message = report.failed() == 0 ? "Import completed successfully" : "Import completed with errors";
+        return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(response, message));
+    }
+}
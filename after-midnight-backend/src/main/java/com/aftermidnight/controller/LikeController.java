@@ -0,0 +1,81 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.dto.LikeResponse;
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.security.CustomUserDetails;
+import com.aftermidnight.service.LikeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+/**
+ * Like and unlike for published poems, songs and thoughts. Both operations are idempotent.
+ */
+@RestController
+@RequestMapping("/api/v2")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Likes (v2)", description = "Like and unlike published content")
+public class LikeController {
+
+    private final LikeService likeService;
+
+    @PostMapping("/{contentType}/{id}/like")
+    @Operation(summary = "Like a published poem, song or thought", description = "contentType is one of poems, songs or thoughts")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Content liked"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Content not found",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<LikeResponse>> like(
+            @Parameter(description = "poems, songs or thoughts") @PathVariable String contentType,
+            @Parameter(description = "ID of the content to like") @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        log.info("Liking {} with id: {}", contentType, id);
+        Optional<Long> likeCount = ContentType.fromTableName(contentType)
+                .flatMap(type -> likeService.like(type, id, userDetails.getUser().getId()));
+        return respond(id, true, likeCount, "Content liked");
+    }
+
+    @DeleteMapping("/{contentType}/{id}/like")
+    @Operation(summary = "Remove a like from a poem, song or thought", description = "contentType is one of poems, songs or thoughts")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Like removed"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Content not found",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<LikeResponse>> unlike(
+            @Parameter(description = "poems, songs or thoughts") @PathVariable String contentType,
+            @Parameter(description = "ID of the content to unlike") @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        log.info("Unliking {} with id: {}", contentType, id);
+        Optional<Long> likeCount = ContentType.fromTableName(contentType)
+                .flatMap(type -> likeService.unlike(type, id, userDetails.getUser().getId()));
+        return respond(id, false, likeCount, "Like removed");
+    }
+
+    private static ResponseEntity<com.aftermidnight.dto.ApiResponse<LikeResponse>> respond(Long id, boolean liked, Optional<Long> likeCount, String message) {
+        return likeCount
+                .map(count -> ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(
+                        LikeResponse.builder().contentId(id).liked(liked).likeCount(count).build(), message)))
+                .orElseGet(() -> ResponseEntity.status(404).body(com.aftermidnight.dto.ApiResponse.error("Content not found", com.aftermidnight.exception.ErrorCode.RESOURCE_NOT_FOUND)));
+    }
+}
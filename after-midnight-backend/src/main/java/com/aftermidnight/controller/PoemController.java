@@ -7,6 +7,7 @@ import com.aftermidnight.dto.PoemResponse;
 import com.aftermidnight.entity.Poem;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.projection.PoemRow;
 import com.aftermidnight.security.CustomUserDetails;
 import com.aftermidnight.service.PoemService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,15 +16,18 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -44,17 +48,11 @@ public class PoemController {
     private final PoemService poemService;
 
     private PoemResponse mapToResponse(Poem poem) {
-        return PoemResponse.builder()
-                .id(poem.getId())
-                .title(poem.getTitle())
-                .content(poem.getContent())
-                .createdAt(poem.getCreatedAt())
-                .status(poem.getStatus())
-                .publishedAt(poem.getPublishedAt())
-                .viewCount(poem.getViewCount())
-                .likeCount(poem.getLikeCount())
-                .userId(poem.getUser() != null ? poem.getUser().getId() : null)
-                .build();
+        return ContentResponses.of(poem);
+    }
+
+    private PoemResponse mapToResponse(PoemRow poem) {
+        return ContentResponses.of(poem);
     }
 
     @PostMapping
@@ -82,33 +80,43 @@ public class PoemController {
     @Operation(summary = "Get all poems for current user", description = "Supports pagination, sorting and filtering by status")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Poems retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
     })
     public ResponseEntity<com.aftermidnight.dto.ApiResponse<PageResponse<PoemResponse>>> getAllByUser(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @Parameter(description = "Filter by publication status") @RequestParam(required = false) PublicationStatus status,
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @Parameter(description = "Cut content down to a preview, for list views") @RequestParam(defaultValue = "false") boolean summary,
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
         log.info("Fetching poems with status: {} and pageable: {}", status, pageable);
-        Page<Poem> poems;
+        Page<PoemRow> poems;
         if (userDetails != null) {
             if (status != null) {
-                poems = poemService.getAllByUserAndStatus(userDetails.getUser(), status, pageable);
+                poems = poemService.getAllByUserAndStatus(userDetails.getUser(), status, pageable, summary);
             } else {
-                poems = poemService.getAllByUser(userDetails.getUser(), pageable);
+                poems = poemService.getAllByUser(userDetails.getUser(), pageable, summary);
             }
         } else {
             // For public access, only show PUBLISHED items
-            poems = poemService.getAllPublished(pageable);
+            poems = poemService.getAllPublished(pageable, summary);
+        }
+        String etag = ContentETags.ofPage(poems, ContentETags::fingerprint);
+        CacheControl cacheControl = userDetails != null ? ContentETags.PRIVATE : ContentETags.PUBLIC;
+        if (webRequest.checkNotModified(etag)) {
+            return ContentETags.notModifiedPerCaller(etag, cacheControl);
         }
         Page<PoemResponse> responsePage = poems.map(this::mapToResponse);
-        return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(PageResponse.fromPage(responsePage), "Poems retrieved successfully"));
+        return ContentETags.okPerCaller(etag, cacheControl)
+                .body(com.aftermidnight.dto.ApiResponse.success(PageResponse.fromPage(responsePage), "Poems retrieved successfully"));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get poem by ID")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Poem retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden access to draft content",
@@ -116,7 +124,7 @@ public class PoemController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Poem not found",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
     })
-    public ResponseEntity<com.aftermidnight.dto.ApiResponse<PoemResponse>> getById(@Parameter(description = "ID of the poem to retrieve") @PathVariable Long id, @AuthenticationPrincipal CustomUserDetails userDetails) {
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<PoemResponse>> getById(@Parameter(description = "ID of the poem to retrieve") @PathVariable Long id, @AuthenticationPrincipal CustomUserDetails userDetails, WebRequest webRequest) {
         log.info("Fetching poem with id: {}", id);
         return poemService.getById(id)
                 .map(poem -> {
@@ -126,7 +134,13 @@ public class PoemController {
                             return ResponseEntity.status(403).body(com.aftermidnight.dto.ApiResponse.<PoemResponse>error("Unauthorized access to draft content", com.aftermidnight.exception.ErrorCode.UNAUTHORIZED));
                         }
                     }
-                    return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(mapToResponse(poem), "Poem retrieved successfully"));
+                    String etag = ContentETags.of(poem);
+                    CacheControl cacheControl = ContentETags.cacheControl(poem.getStatus());
+                    if (webRequest.checkNotModified(etag)) {
+                        return ContentETags.<com.aftermidnight.dto.ApiResponse<PoemResponse>>notModified(etag, cacheControl);
+                    }
+                    return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl)
+                            .body(com.aftermidnight.dto.ApiResponse.success(mapToResponse(poem), "Poem retrieved successfully"));
                 })
                 .orElseGet(() -> {
                     log.warn("Poem with id: {} not found", id);
@@ -189,10 +203,13 @@ public class PoemController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Poem not found",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
     })
-    public ResponseEntity<com.aftermidnight.dto.ApiResponse<Void>> incrementViewCount(@Parameter(description = "ID of the poem to increment view count") @PathVariable Long id) {
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<Void>> incrementViewCount(
+            @Parameter(description = "ID of the poem to increment view count") @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletRequest request) {
         log.info("Incrementing view count for poem id: {}", id);
         return poemService.getById(id).map(poem -> {
-            poemService.incrementViewCount(id);
+            poemService.incrementViewCount(id, ViewerKeys.of(userDetails, request));
             return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.<Void>success(null, "View count incremented"));
         }).orElseGet(() -> ResponseEntity.status(404).body(com.aftermidnight.dto.ApiResponse.error("Poem not found", com.aftermidnight.exception.ErrorCode.RESOURCE_NOT_FOUND)));
     }
@@ -6,6 +6,7 @@ import com.aftermidnight.dto.SongRequest;
 import com.aftermidnight.dto.SongResponse;
 import com.aftermidnight.entity.Song;
 import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.repository.projection.SongRow;
 import com.aftermidnight.security.CustomUserDetails;
 import com.aftermidnight.service.SongService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,15 +15,18 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -42,18 +46,11 @@ public class SongController {
     private final SongService songService;
 
     private SongResponse mapToResponse(Song song) {
-        return SongResponse.builder()
-                .id(song.getId())
-                .title(song.getTitle())
-                .lyrics(song.getLyrics())
-                .audioUrl(song.getAudioUrl())
-                .createdAt(song.getCreatedAt())
-                .status(song.getStatus())
-                .publishedAt(song.getPublishedAt())
-                .viewCount(song.getViewCount())
-                .likeCount(song.getLikeCount())
-                .userId(song.getUser() != null ? song.getUser().getId() : null)
-                .build();
+        return ContentResponses.of(song);
+    }
+
+    private SongResponse mapToResponse(SongRow song) {
+        return ContentResponses.of(song);
     }
 
     @PostMapping
@@ -82,33 +79,43 @@ public class SongController {
     @Operation(summary = "Get all songs for current user")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Songs retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
     })
     public ResponseEntity<com.aftermidnight.dto.ApiResponse<PageResponse<SongResponse>>> getAllByUser(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @Parameter(description = "Filter by publication status") @RequestParam(required = false) PublicationStatus status,
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @Parameter(description = "Cut lyrics down to a preview, for list views") @RequestParam(defaultValue = "false") boolean summary,
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
         log.info("Fetching songs with status: {} and pageable: {}", status, pageable);
-        Page<Song> songs;
+        Page<SongRow> songs;
         if (userDetails != null) {
             if (status != null) {
-                songs = songService.getAllByUserAndStatus(userDetails.getUser(), status, pageable);
+                songs = songService.getAllByUserAndStatus(userDetails.getUser(), status, pageable, summary);
             } else {
-                songs = songService.getAllByUser(userDetails.getUser(), pageable);
+                songs = songService.getAllByUser(userDetails.getUser(), pageable, summary);
             }
         } else {
             // For public access, only show PUBLISHED items
-            songs = songService.getAllPublished(pageable);
+            songs = songService.getAllPublished(pageable, summary);
+        }
+        String etag = ContentETags.ofPage(songs, ContentETags::fingerprint);
+        CacheControl cacheControl = userDetails != null ? ContentETags.PRIVATE : ContentETags.PUBLIC;
+        if (webRequest.checkNotModified(etag)) {
+            return ContentETags.notModifiedPerCaller(etag, cacheControl);
         }
         Page<SongResponse> responsePage = songs.map(this::mapToResponse);
-        return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(PageResponse.fromPage(responsePage), "Songs retrieved successfully"));
+        return ContentETags.okPerCaller(etag, cacheControl)
+                .body(com.aftermidnight.dto.ApiResponse.success(PageResponse.fromPage(responsePage), "Songs retrieved successfully"));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get song by ID")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Song retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden access to draft content",
@@ -116,7 +123,7 @@ public class SongController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Song not found",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
     })
-    public ResponseEntity<com.aftermidnight.dto.ApiResponse<SongResponse>> getById(@Parameter(description = "ID of the song to retrieve") @PathVariable Long id, @AuthenticationPrincipal CustomUserDetails userDetails) {
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<SongResponse>> getById(@Parameter(description = "ID of the song to retrieve") @PathVariable Long id, @AuthenticationPrincipal CustomUserDetails userDetails, WebRequest webRequest) {
         log.info("Fetching song with id: {}", id);
         return songService.getById(id)
                 .map(song -> {
@@ -126,7 +133,13 @@ public class SongController {
                             return ResponseEntity.status(403).body(com.aftermidnight.dto.ApiResponse.<SongResponse>error("Unauthorized access to draft content", com.aftermidnight.exception.ErrorCode.UNAUTHORIZED));
                         }
                     }
-                    return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(mapToResponse(song), "Song retrieved successfully"));
+                    String etag = ContentETags.of(song);
+                    CacheControl cacheControl = ContentETags.cacheControl(song.getStatus());
+                    if (webRequest.checkNotModified(etag)) {
+                        return ContentETags.<com.aftermidnight.dto.ApiResponse<SongResponse>>notModified(etag, cacheControl);
+                    }
+                    return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl)
+                            .body(com.aftermidnight.dto.ApiResponse.success(mapToResponse(song), "Song retrieved successfully"));
                 })
                 .orElseGet(() -> {
                     log.warn("Song with id: {} not found", id);
@@ -189,10 +202,13 @@ public class SongController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Song not found",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
     })
-    public ResponseEntity<com.aftermidnight.dto.ApiResponse<Void>> incrementViewCount(@Parameter(description = "ID of the song to increment view count") @PathVariable Long id) {
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<Void>> incrementViewCount(
+            @Parameter(description = "ID of the song to increment view count") @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletRequest request) {
         log.info("Incrementing view count for song id: {}", id);
         return songService.getById(id).map(song -> {
-            songService.incrementViewCount(id);
+            songService.incrementViewCount(id, ViewerKeys.of(userDetails, request));
             return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.<Void>success(null, "View count incremented"));
         }).orElseGet(() -> ResponseEntity.status(404).body(com.aftermidnight.dto.ApiResponse.error("Song not found", com.aftermidnight.exception.ErrorCode.RESOURCE_NOT_FOUND)));
     }
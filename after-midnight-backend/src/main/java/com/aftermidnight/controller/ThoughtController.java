@@ -6,6 +6,7 @@ import com.aftermidnight.dto.ThoughtRequest;
 import com.aftermidnight.dto.ThoughtResponse;
 import com.aftermidnight.entity.Thought;
 import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.repository.projection.ThoughtRow;
 import com.aftermidnight.security.CustomUserDetails;
 import com.aftermidnight.service.ThoughtService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,15 +15,18 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -42,16 +46,11 @@ public class ThoughtController {
     private final ThoughtService thoughtService;
 
     private ThoughtResponse mapToResponse(Thought thought) {
-        return ThoughtResponse.builder()
-                .id(thought.getId())
-                .content(thought.getContent())
-                .createdAt(thought.getCreatedAt())
-                .status(thought.getStatus())
-                .publishedAt(thought.getPublishedAt())
-                .viewCount(thought.getViewCount())
-                .likeCount(thought.getLikeCount())
-                .userId(thought.getUser() != null ? thought.getUser().getId() : null)
-                .build();
+        return ContentResponses.of(thought);
+    }
+
+    private ThoughtResponse mapToResponse(ThoughtRow thought) {
+        return ContentResponses.of(thought);
     }
 
     @PostMapping
@@ -78,33 +77,43 @@ public class ThoughtController {
     @Operation(summary = "Get all thoughts for current user")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Thoughts retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
     })
     public ResponseEntity<com.aftermidnight.dto.ApiResponse<PageResponse<ThoughtResponse>>> getAllByUser(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @Parameter(description = "Filter by publication status") @RequestParam(required = false) PublicationStatus status,
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @Parameter(description = "Cut content down to a preview, for list views") @RequestParam(defaultValue = "false") boolean summary,
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
         log.info("Fetching thoughts with status: {} and pageable: {}", status, pageable);
-        Page<Thought> thoughts;
+        Page<ThoughtRow> thoughts;
         if (userDetails != null) {
             if (status != null) {
-                thoughts = thoughtService.getAllByUserAndStatus(userDetails.getUser(), status, pageable);
+                thoughts = thoughtService.getAllByUserAndStatus(userDetails.getUser(), status, pageable, summary);
             } else {
-                thoughts = thoughtService.getAllByUser(userDetails.getUser(), pageable);
+                thoughts = thoughtService.getAllByUser(userDetails.getUser(), pageable, summary);
             }
         } else {
             // For public access, only show PUBLISHED items
-            thoughts = thoughtService.getAllPublished(pageable);
+            thoughts = thoughtService.getAllPublished(pageable, summary);
+        }
+        String etag = ContentETags.ofPage(thoughts, ContentETags::fingerprint);
+        CacheControl cacheControl = userDetails != null ? ContentETags.PRIVATE : ContentETags.PUBLIC;
+        if (webRequest.checkNotModified(etag)) {
+            return ContentETags.notModifiedPerCaller(etag, cacheControl);
         }
         Page<ThoughtResponse> responsePage = thoughts.map(this::mapToResponse);
-        return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(PageResponse.fromPage(responsePage), "Thoughts retrieved successfully"));
+        return ContentETags.okPerCaller(etag, cacheControl)
+                .body(com.aftermidnight.dto.ApiResponse.success(PageResponse.fromPage(responsePage), "Thoughts retrieved successfully"));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get thought by ID")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Thought retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden access to draft content",
@@ -112,7 +121,7 @@ public class ThoughtController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Thought not found",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
     })
-    public ResponseEntity<com.aftermidnight.dto.ApiResponse<ThoughtResponse>> getById(@Parameter(description = "ID of the thought to retrieve") @PathVariable Long id, @AuthenticationPrincipal CustomUserDetails userDetails) {
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<ThoughtResponse>> getById(@Parameter(description = "ID of the thought to retrieve") @PathVariable Long id, @AuthenticationPrincipal CustomUserDetails userDetails, WebRequest webRequest) {
         log.info("Fetching thought with id: {}", id);
         return thoughtService.getById(id)
                 .map(thought -> {
@@ -122,7 +131,13 @@ public class ThoughtController {
                             return ResponseEntity.status(403).body(com.aftermidnight.dto.ApiResponse.<ThoughtResponse>error("Unauthorized access to draft content", com.aftermidnight.exception.ErrorCode.UNAUTHORIZED));
                         }
                     }
-                    return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(mapToResponse(thought), "Thought retrieved successfully"));
+                    String etag = ContentETags.of(thought);
+                    CacheControl cacheControl = ContentETags.cacheControl(thought.getStatus());
+                    if (webRequest.checkNotModified(etag)) {
+                        return ContentETags.<com.aftermidnight.dto.ApiResponse<ThoughtResponse>>notModified(etag, cacheControl);
+                    }
+                    return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl)
+                            .body(com.aftermidnight.dto.ApiResponse.success(mapToResponse(thought), "Thought retrieved successfully"));
                 })
                 .orElseGet(() -> {
                     log.warn("Thought with id: {} not found", id);
@@ -185,10 +200,13 @@ public class ThoughtController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Thought not found",
                      content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
     })
-    public ResponseEntity<com.aftermidnight.dto.ApiResponse<Void>> incrementViewCount(@Parameter(description = "ID of the thought to increment view count") @PathVariable Long id) {
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<Void>> incrementViewCount(
+            @Parameter(description = "ID of the thought to increment view count") @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            HttpServletRequest request) {
         log.info("Incrementing view count for thought id: {}", id);
         return thoughtService.getById(id).map(thought -> {
-            thoughtService.incrementViewCount(id);
+            thoughtService.incrementViewCount(id, ViewerKeys.of(userDetails, request));
             return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.<Void>success(null, "View count incremented"));
         }).orElseGet(() -> ResponseEntity.status(404).body(com.aftermidnight.dto.ApiResponse.error("Thought not found", com.aftermidnight.exception.ErrorCode.RESOURCE_NOT_FOUND)));
     }
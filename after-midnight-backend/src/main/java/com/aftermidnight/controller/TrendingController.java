@@ -0,0 +1,56 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.dto.ContentItemResponse;
+import com.aftermidnight.service.TrendingItem;
+import com.aftermidnight.service.TrendingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Trending poems, songs and thoughts, ranked by time-decayed views, likes and recency of publication.
+ */
+@RestController
+@RequestMapping("/api/v2/trending")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Trending (v2)", description = "Trending content across all types")
+public class TrendingController {
+
+    static final int MAX_SIZE = 100;
+
+    private final TrendingService trendingService;
+
+    @GetMapping
+    @Operation(summary = "Get trending published content", description = "Items of all types, highest trending score first")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Trending content retrieved successfully")
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<List<ContentItemResponse>>> getTrending(
+            @Parameter(description = "Number of items to return (max 100)") @RequestParam(defaultValue = "10") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SIZE));
+        log.info("Fetching top {} trending items", limit);
+        List<ContentItemResponse> items = trendingService.getTrending(limit).stream()
+                .map(TrendingController::toResponse)
+                .toList();
+        return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(items, "Trending content retrieved successfully"));
+    }
+
+    private static ContentItemResponse toResponse(TrendingItem item) {
+        return ContentItemResponse.builder()
+                .type(item.type())
+                .score(item.score())
+                .content(ContentResponses.ofAny(item.content()))
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.dto.ContentStatsResponse;
+import com.aftermidnight.dto.UserStatsResponse;
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.UserContentStats;
+import com.aftermidnight.security.CustomUserDetails;
+import com.aftermidnight.service.UserStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard statistics of the current user, read from maintained counters in a single lookup.
+ */
+@RestController
+@RequestMapping("/api/v2/users/me")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "User stats (v2)", description = "Content statistics of the current user")
+public class UserStatsController {
+
+    private final UserStatsService userStatsService;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get content counts by type and status, with total views and likes")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized",
+                     content = @Content(schema = @Schema(implementation = com.aftermidnight.dto.ApiResponse.class)))
+    })
+    public ResponseEntity<com.aftermidnight.dto.ApiResponse<UserStatsResponse>> getStats(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        log.info("Fetching stats for user: {}", userDetails.getUsername());
+        List<UserContentStats> rows = userStatsService.getStats(userDetails.getUser().getId());
+        Map<ContentType, UserContentStats> byType = new EnumMap<>(ContentType.class);
+        long totalViews = 0;
+        long totalLikes = 0;
+        for (UserContentStats row : rows) {
+            byType.put(row.getContentType(), row);
+            totalViews += row.getViewCount();
+            totalLikes += row.getLikeCount();
+        }
+        UserStatsResponse response = UserStatsResponse.builder()
+                .poems(toResponse(byType.get(ContentType.POEM)))
+                .songs(toResponse(byType.get(ContentType.SONG)))
+                .thoughts(toResponse(byType.get(ContentType.THOUGHT)))
+                .totalViews(totalViews)
+                .totalLikes(totalLikes)
+                .build();
+        return ResponseEntity.ok(com.aftermidnight.dto.ApiResponse.success(response, "Stats retrieved successfully"));
+    }
+
+    private static ContentStatsResponse toResponse(UserContentStats stats) {
+        if (stats == null) {
+            return ContentStatsResponse.builder().build();
+        }
+        return ContentStatsResponse.builder()
+                .drafts(stats.getDraftCount())
+                .published(stats.getPublishedCount())
+                .total(stats.getDraftCount() + stats.getPublishedCount())
+                .views(stats.getViewCount())
+                .likes(stats.getLikeCount())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.security.CustomUserDetails;
+import com.aftermidnight.util.HyperLogLog;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Viewer keys for unique viewer counting: the user id when signed in,
+ * otherwise a hash of the remote address and user agent so no raw address is kept.
+ */
+final class ViewerKeys {
+
+    private ViewerKeys() {
+    }
+
+    static String of(CustomUserDetails userDetails, HttpServletRequest request) {
+        if (userDetails != null && userDetails.getUser().getId() != null) {
+            return "user:" + userDetails.getUser().getId();
+        }
+        String client = request.getRemoteAddr() + '\n' + request.getHeader(HttpHeaders.USER_AGENT);
+        return "anon:" + Long.toHexString(HyperLogLog.hash(client));
+    }
+}
@@ -0,0 +1,26 @@
+package com.aftermidnight.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Jacksonized
+@Schema(description = "Items to create in one request")
+public class BulkCreateRequest<T> {
+
+    public static final int MAX_ITEMS = 500;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items per request")
+    @Valid
+    @Schema(description = "The items, validated like single creates; any invalid item rejects the whole request")
+    private final List<T> items;
+}
@@ -0,0 +1,22 @@
+package com.aftermidnight.dto;
+
+import com.aftermidnight.entity.ContentType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "A poem, song or thought in a mixed-type list")
+public class ContentItemResponse {
+    @Schema(description = "Kind of content, which determines the shape of 'content'", example = "POEM")
+    private final ContentType type;
+
+    @Schema(description = "Trending score, decayed to the time of the request", example = "12.5")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Double score;
+
+    @Schema(description = "The item itself", oneOf = {PoemResponse.class, SongResponse.class, ThoughtResponse.class})
+    private final Object content;
+}
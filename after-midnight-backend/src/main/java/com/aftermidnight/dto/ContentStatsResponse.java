@@ -0,0 +1,25 @@
+package com.aftermidnight.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "Counters of one type of a user's content")
+public class ContentStatsResponse {
+    @Schema(description = "Number of drafts", example = "2")
+    private final long drafts;
+
+    @Schema(description = "Number of published items", example = "5")
+    private final long published;
+
+    @Schema(description = "Number of items in any status", example = "7")
+    private final long total;
+
+    @Schema(description = "Views across these items", example = "120")
+    private final long views;
+
+    @Schema(description = "Likes across these items", example = "14")
+    private final long likes;
+}
@@ -0,0 +1,39 @@
+package com.aftermidnight.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Builder
+@Schema(description = "Cursor-based page of items, without totals")
+public class CursorPage<T> {
+    @Schema(description = "List of items in the current page")
+    private final List<T> content;
+
+    @Schema(description = "Number of items requested per page", example = "10")
+    private final int size;
+
+    @Schema(description = "Opaque token to pass as 'cursor' for the next page, null on the last page")
+    private final String nextCursor;
+
+    @Schema(description = "Indicates if more items are available", example = "true")
+    private final boolean hasNext;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only signals that a next page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .content(content)
+                .size(size)
+                .nextCursor(hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+}
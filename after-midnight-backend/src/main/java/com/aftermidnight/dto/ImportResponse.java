@@ -0,0 +1,35 @@
+package com.aftermidnight.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "Outcome of a bulk import")
+public class ImportResponse {
+    @Schema(description = "Lines read, including blank ones", example = "1000")
+    private final long lines;
+
+    @Schema(description = "Items created", example = "998")
+    private final long imported;
+
+    @Schema(description = "Lines that were not imported", example = "2")
+    private final long failed;
+
+    @Schema(description = "The first failed lines and why they failed")
+    private final List<LineError> errors;
+
+    @Getter
+    @Builder
+    @Schema(description = "A line that was not imported")
+    public static class LineError {
+        @Schema(description = "1-based line number", example = "17")
+        private final long line;
+
+        @Schema(description = "Why the line was not imported", example = "title: Title is required")
+        private final String message;
+    }
+}
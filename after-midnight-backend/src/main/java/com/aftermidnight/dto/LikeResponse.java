@@ -0,0 +1,19 @@
+package com.aftermidnight.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "Like state of a piece of content for the current user")
+public class LikeResponse {
+    @Schema(description = "ID of the liked content", example = "1")
+    private final Long contentId;
+
+    @Schema(description = "Whether the current user now likes the content", example = "true")
+    private final boolean liked;
+
+    @Schema(description = "Number of likes on the content", example = "42")
+    private final long likeCount;
+}
@@ -41,6 +41,9 @@ public class PoemResponse {
     @Schema(description = "Number of likes the poem has received", example = "10")
     private final long likeCount;
 
+    @Schema(description = "Approximate number of distinct viewers of the poem", example = "42")
+    private final long uniqueViewers;
+
     @Schema(description = "ID of the user who created the poem", example = "1")
     private final Long userId;
 }
@@ -44,6 +44,9 @@ public class SongResponse {
     @Schema(description = "Number of likes the song has received", example = "42")
     private final long likeCount;
 
+    @Schema(description = "Approximate number of distinct viewers of the song", example = "42")
+    private final long uniqueViewers;
+
     @Schema(description = "ID of the user who created the song", example = "1")
     private final Long userId;
 }
@@ -38,6 +38,9 @@ public class ThoughtResponse {
     @Schema(description = "Number of likes the thought has received", example = "5")
     private final long likeCount;
 
+    @Schema(description = "Approximate number of distinct viewers of the thought", example = "42")
+    private final long uniqueViewers;
+
     @Schema(description = "ID of the user who created the thought", example = "1")
     private final Long userId;
 }
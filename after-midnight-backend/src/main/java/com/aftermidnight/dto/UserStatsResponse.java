@@ -0,0 +1,25 @@
+package com.aftermidnight.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "Content statistics of the current user")
+public class UserStatsResponse {
+    @Schema(description = "The user's poems")
+    private final ContentStatsResponse poems;
+
+    @Schema(description = "The user's songs")
+    private final ContentStatsResponse songs;
+
+    @Schema(description = "The user's thoughts")
+    private final ContentStatsResponse thoughts;
+
+    @Schema(description = "Views across all of the user's content", example = "300")
+    private final long totalViews;
+
+    @Schema(description = "Likes across all of the user's content", example = "42")
+    private final long totalLikes;
+}
@@ -0,0 +1,51 @@
+package com.aftermidnight.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A user's like on a poem, song or thought. Rows are written through JDBC by the like service;
+ * the mapping keeps the schema in one place for validation and tests.
+ */
+@Entity
+@Table(name = "content_likes", indexes = {
+    @Index(name = "idx_content_like_user_id", columnList = "user_id")
+})
+@IdClass(ContentLike.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentLike {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", length = 16, nullable = false)
+    private ContentType contentType;
+
+    @Id
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private ContentType contentType;
+        private Long contentId;
+        private Long userId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.aftermidnight.entity;
+
+import java.util.Optional;
+
+/**
+ * The kinds of content a user can publish, with the table each one lives in.
+ */
+public enum ContentType {
+    POEM("poems"),
+    SONG("songs"),
+    THOUGHT("thoughts");
+
+    private final String tableName;
+
+    ContentType(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Resolves a content type from its table name, which is also its path segment in the API.
+     */
+    public static Optional<ContentType> fromTableName(String tableName) {
+        for (ContentType type : values()) {
+            if (type.tableName.equals(tableName)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+}
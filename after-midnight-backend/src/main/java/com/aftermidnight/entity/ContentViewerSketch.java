@@ -0,0 +1,41 @@
+package com.aftermidnight.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Persisted HyperLogLog registers of the viewers of one item. Written through JDBC by the unique viewer tracker;
+ * the mapping keeps the schema in one place for validation and tests.
+ */
+@Entity
+@Table(name = "content_viewer_sketches")
+@IdClass(ContentViewerSketch.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentViewerSketch {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", length = 16, nullable = false)
+    private ContentType contentType;
+
+    @Id
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @Column(name = "sketch", length = 4096, nullable = false)
+    private byte[] sketch;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private ContentType contentType;
+        private Long contentId;
+    }
+}
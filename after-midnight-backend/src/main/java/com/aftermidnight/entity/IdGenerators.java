@@ -0,0 +1,17 @@
+package com.aftermidnight.entity;
+
+/**
+ * Shared settings of the {@code id_generators} table behind the entity ids.
+ * <p>
+ * Ids are handed out from blocks reserved with one row update per block (Hibernate's pooled optimizer), so a new
+ * entity has its id before the insert runs and inserts can be sent as JDBC batches. With {@code IDENTITY} ids every
+ * insert would have to run on its own to read the generated key back.
+ */
+public final class IdGenerators {
+
+    /** Ids reserved per allocation; matches {@code hibernate.jdbc.batch_size}. */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
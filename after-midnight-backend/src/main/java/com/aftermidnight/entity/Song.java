@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Table(name = "songs", indexes = {
     @Index(name = "idx_song_user_id", columnList = "user_id"),
     @Index(name = "idx_song_created_at", columnList = "created_at"),
-    @Index(name = "idx_song_status", columnList = "status")
+    @Index(name = "idx_song_status", columnList = "status"),
+    @Index(name = "idx_song_feed", columnList = "status, deleted, created_at, id")
 })
 @Getter
 @Setter
@@ -20,7 +21,9 @@ import java.time.LocalDateTime;
 public class Song {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "songs_id")
+    @TableGenerator(name = "songs_id", table = "id_generators", pkColumnName = "generator", valueColumnName = "next_val",
+                    pkColumnValue = "songs", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -52,11 +55,16 @@ public class Song {
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
 
+    // The counters are written only by the batched flushes; a full-row update would put back a stale value
     @Builder.Default
-    @Column(name = "view_count", nullable = false)
+    @Column(name = "view_count", nullable = false, updatable = false)
     private long viewCount = 0;
 
     @Builder.Default
-    @Column(name = "like_count", nullable = false)
+    @Column(name = "like_count", nullable = false, updatable = false)
     private long likeCount = 0;
+
+    @Builder.Default
+    @Column(name = "unique_viewers", nullable = false, updatable = false)
+    private long uniqueViewers = 0;
 }
@@ -0,0 +1,48 @@
+package com.aftermidnight.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpointed trending score of one item, decayed to {@code scoredAt}.
+ * Written and read through JDBC by the trending ranker; the mapping keeps the schema in one place for validation and tests.
+ */
+@Entity
+@Table(name = "trending_scores")
+@IdClass(TrendingScore.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingScore {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", length = 16, nullable = false)
+    private ContentType contentType;
+
+    @Id
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @Column(name = "published_at", nullable = false)
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "scored_at", nullable = false)
+    private LocalDateTime scoredAt;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private ContentType contentType;
+        private Long contentId;
+    }
+}
@@ -0,0 +1,50 @@
+package com.aftermidnight.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Running totals of one user's content of one type. Counters are changed through JDBC increments
+ * by the user stats service and the count buffers; the mapping is used for reads.
+ */
+@Entity
+@Table(name = "user_content_stats")
+@IdClass(UserContentStats.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserContentStats {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", length = 16, nullable = false)
+    private ContentType contentType;
+
+    @Column(name = "draft_count", nullable = false)
+    private long draftCount;
+
+    @Column(name = "published_count", nullable = false)
+    private long publishedCount;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "like_count", nullable = false)
+    private long likeCount;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private ContentType contentType;
+    }
+}
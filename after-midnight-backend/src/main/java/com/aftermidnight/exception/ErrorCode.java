@@ -7,5 +7,6 @@ public enum ErrorCode {
     RESOURCE_NOT_FOUND,
     VALIDATION_ERROR,
     INTERNAL_SERVER_ERROR,
-    TOO_MANY_REQUESTS
+    TOO_MANY_REQUESTS,
+    SERVICE_UNAVAILABLE
 }
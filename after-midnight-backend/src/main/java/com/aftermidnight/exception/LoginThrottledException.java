@@ -0,0 +1,18 @@
+package com.aftermidnight.exception;
+
+/**
+ * Thrown when an account has failed too many logins recently and must wait before the next attempt; answered with 429.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.aftermidnight.exception;
+
+/**
+ * Thrown when a bounded resource is saturated and the request is shed instead of queued; answered with 503.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -3,25 +3,71 @@ package com.aftermidnight.repository;
 import com.aftermidnight.entity.Poem;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.User;
-import org.springframework.data.domain.Page;
+import com.aftermidnight.repository.projection.PoemRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PoemRepository extends JpaRepository<Poem, Long> {
     @EntityGraph(attributePaths = "user")
-    Page<Poem> findByUserAndDeletedFalse(User user, Pageable pageable);
+    java.util.Optional<Poem> findByIdAndDeletedFalse(Long id);
 
-    @EntityGraph(attributePaths = "user")
-    Page<Poem> findByUserAndStatusAndDeletedFalse(User user, PublicationStatus status, Pageable pageable);
+    long countByUserAndDeletedFalse(User user);
 
-    @EntityGraph(attributePaths = "user")
-    java.util.Optional<Poem> findByIdAndDeletedFalse(Long id);
+    long countByUserAndStatusAndDeletedFalse(User user, PublicationStatus status);
 
-    @EntityGraph(attributePaths = "user")
-    Page<Poem> findByStatusAndDeletedFalse(PublicationStatus status, Pageable pageable);
+    long countByStatusAndDeletedFalse(PublicationStatus status);
+
+    /**
+     * Selects the response columns of a poem as a {@link PoemRow}, reading the owner from the {@code user_id}
+     * foreign key without joining {@code users}. The text is cut to {@code :length} characters unless that is 0.
+     */
+    String POEM_ROW = "SELECT new com.aftermidnight.repository.projection.PoemRow("
+            + "p.id, p.title, CASE WHEN :length > 0 THEN SUBSTRING(p.content, 1, :length) ELSE p.content END, p.createdAt, "
+            + "p.status, p.publishedAt, p.viewCount, p.likeCount, p.uniqueViewers, p.user.id) FROM Poem p ";
+
+    @Query(POEM_ROW + "WHERE p.user.id = :userId AND p.deleted = false")
+    Slice<PoemRow> findRowsByUserId(@Param("userId") Long userId, @Param("length") int length, Pageable pageable);
+
+    @Query(POEM_ROW + "WHERE p.user.id = :userId AND p.status = :status AND p.deleted = false")
+    Slice<PoemRow> findRowsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") PublicationStatus status,
+                                             @Param("length") int length, Pageable pageable);
+
+    @Query(POEM_ROW + "WHERE p.status = :status AND p.deleted = false")
+    Slice<PoemRow> findRowsByStatus(@Param("status") PublicationStatus status, @Param("length") int length, Pageable pageable);
+
+    @Query(POEM_ROW + "WHERE p.status = :status AND p.deleted = false ORDER BY p.createdAt DESC, p.id DESC")
+    List<PoemRow> findFeedRows(@Param("status") PublicationStatus status, @Param("length") int length, Limit limit);
+
+    @Query(POEM_ROW + "WHERE p.status = :status AND p.deleted = false "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PoemRow> findFeedRowsAfter(@Param("status") PublicationStatus status,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    @Param("length") int length,
+                                    Limit limit);
+
+    /**
+     * All of a user's poems in id order, read over one cursor; see {@link StreamHints}.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Poem p WHERE p.user.id = :userId AND p.deleted = false ORDER BY p.id")
+    Stream<Poem> streamByUserId(@Param("userId") Long userId);
 }
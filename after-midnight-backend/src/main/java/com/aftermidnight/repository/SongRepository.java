@@ -3,25 +3,71 @@ package com.aftermidnight.repository;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.Song;
 import com.aftermidnight.entity.User;
-import org.springframework.data.domain.Page;
+import com.aftermidnight.repository.projection.SongRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SongRepository extends JpaRepository<Song, Long> {
     @EntityGraph(attributePaths = "user")
-    Page<Song> findByUserAndDeletedFalse(User user, Pageable pageable);
+    java.util.Optional<Song> findByIdAndDeletedFalse(Long id);
 
-    @EntityGraph(attributePaths = "user")
-    Page<Song> findByUserAndStatusAndDeletedFalse(User user, PublicationStatus status, Pageable pageable);
+    long countByUserAndDeletedFalse(User user);
 
-    @EntityGraph(attributePaths = "user")
-    java.util.Optional<Song> findByIdAndDeletedFalse(Long id);
+    long countByUserAndStatusAndDeletedFalse(User user, PublicationStatus status);
 
-    @EntityGraph(attributePaths = "user")
-    Page<Song> findByStatusAndDeletedFalse(PublicationStatus status, Pageable pageable);
+    long countByStatusAndDeletedFalse(PublicationStatus status);
+
+    /**
+     * Selects the response columns of a song as a {@link SongRow}, reading the owner from the {@code user_id}
+     * foreign key without joining {@code users}. The text is cut to {@code :length} characters unless that is 0.
+     */
+    String SONG_ROW = "SELECT new com.aftermidnight.repository.projection.SongRow("
+            + "s.id, s.title, CASE WHEN :length > 0 THEN SUBSTRING(s.lyrics, 1, :length) ELSE s.lyrics END, s.audioUrl, "
+            + "s.createdAt, s.status, s.publishedAt, s.viewCount, s.likeCount, s.uniqueViewers, s.user.id) FROM Song s ";
+
+    @Query(SONG_ROW + "WHERE s.user.id = :userId AND s.deleted = false")
+    Slice<SongRow> findRowsByUserId(@Param("userId") Long userId, @Param("length") int length, Pageable pageable);
+
+    @Query(SONG_ROW + "WHERE s.user.id = :userId AND s.status = :status AND s.deleted = false")
+    Slice<SongRow> findRowsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") PublicationStatus status,
+                                             @Param("length") int length, Pageable pageable);
+
+    @Query(SONG_ROW + "WHERE s.status = :status AND s.deleted = false")
+    Slice<SongRow> findRowsByStatus(@Param("status") PublicationStatus status, @Param("length") int length, Pageable pageable);
+
+    @Query(SONG_ROW + "WHERE s.status = :status AND s.deleted = false ORDER BY s.createdAt DESC, s.id DESC")
+    List<SongRow> findFeedRows(@Param("status") PublicationStatus status, @Param("length") int length, Limit limit);
+
+    @Query(SONG_ROW + "WHERE s.status = :status AND s.deleted = false "
+            + "AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id)) "
+            + "ORDER BY s.createdAt DESC, s.id DESC")
+    List<SongRow> findFeedRowsAfter(@Param("status") PublicationStatus status,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    @Param("length") int length,
+                                    Limit limit);
+
+    /**
+     * All of a user's songs in id order, read over one cursor; see {@link StreamHints}.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Song s WHERE s.user.id = :userId AND s.deleted = false ORDER BY s.id")
+    Stream<Song> streamByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,17 @@
+package com.aftermidnight.repository;
+
+/**
+ * Query hint values for repository methods that return a {@code Stream}.
+ * <p>
+ * Such a stream reads its rows over one forward-only cursor, so the caller must keep a transaction open, close the
+ * stream and detach each entity once done with it. The MySQL driver only fetches in chunks of the fetch size when
+ * {@code useCursorFetch} is on; otherwise it reads the whole result into memory.
+ */
+public final class StreamHints {
+
+    /** Rows fetched per round trip. */
+    public static final String FETCH_SIZE = "500";
+
+    private StreamHints() {
+    }
+}
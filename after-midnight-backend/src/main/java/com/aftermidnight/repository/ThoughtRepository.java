@@ -3,25 +3,71 @@ package com.aftermidnight.repository;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.Thought;
 import com.aftermidnight.entity.User;
-import org.springframework.data.domain.Page;
+import com.aftermidnight.repository.projection.ThoughtRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ThoughtRepository extends JpaRepository<Thought, Long> {
     @EntityGraph(attributePaths = "user")
-    Page<Thought> findByUserAndDeletedFalse(User user, Pageable pageable);
+    java.util.Optional<Thought> findByIdAndDeletedFalse(Long id);
 
-    @EntityGraph(attributePaths = "user")
-    Page<Thought> findByUserAndStatusAndDeletedFalse(User user, PublicationStatus status, Pageable pageable);
+    long countByUserAndDeletedFalse(User user);
 
-    @EntityGraph(attributePaths = "user")
-    java.util.Optional<Thought> findByIdAndDeletedFalse(Long id);
+    long countByUserAndStatusAndDeletedFalse(User user, PublicationStatus status);
 
-    @EntityGraph(attributePaths = "user")
-    Page<Thought> findByStatusAndDeletedFalse(PublicationStatus status, Pageable pageable);
+    long countByStatusAndDeletedFalse(PublicationStatus status);
+
+    /**
+     * Selects the response columns of a thought as a {@link ThoughtRow}, reading the owner from the {@code user_id}
+     * foreign key without joining {@code users}. The text is cut to {@code :length} characters unless that is 0.
+     */
+    String THOUGHT_ROW = "SELECT new com.aftermidnight.repository.projection.ThoughtRow("
+            + "t.id, CASE WHEN :length > 0 THEN SUBSTRING(t.content, 1, :length) ELSE t.content END, t.createdAt, t.status, "
+            + "t.publishedAt, t.viewCount, t.likeCount, t.uniqueViewers, t.user.id) FROM Thought t ";
+
+    @Query(THOUGHT_ROW + "WHERE t.user.id = :userId AND t.deleted = false")
+    Slice<ThoughtRow> findRowsByUserId(@Param("userId") Long userId, @Param("length") int length, Pageable pageable);
+
+    @Query(THOUGHT_ROW + "WHERE t.user.id = :userId AND t.status = :status AND t.deleted = false")
+    Slice<ThoughtRow> findRowsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") PublicationStatus status,
+                                                @Param("length") int length, Pageable pageable);
+
+    @Query(THOUGHT_ROW + "WHERE t.status = :status AND t.deleted = false")
+    Slice<ThoughtRow> findRowsByStatus(@Param("status") PublicationStatus status, @Param("length") int length, Pageable pageable);
+
+    @Query(THOUGHT_ROW + "WHERE t.status = :status AND t.deleted = false ORDER BY t.createdAt DESC, t.id DESC")
+    List<ThoughtRow> findFeedRows(@Param("status") PublicationStatus status, @Param("length") int length, Limit limit);
+
+    @Query(THOUGHT_ROW + "WHERE t.status = :status AND t.deleted = false "
+            + "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) "
+            + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<ThoughtRow> findFeedRowsAfter(@Param("status") PublicationStatus status,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       @Param("length") int length,
+                                       Limit limit);
+
+    /**
+     * All of a user's thoughts in id order, read over one cursor; see {@link StreamHints}.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamHints.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Thought t WHERE t.user.id = :userId AND t.deleted = false ORDER BY t.id")
+    Stream<Thought> streamByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,16 @@
+package com.aftermidnight.repository;
+
+import com.aftermidnight.entity.UserContentStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserContentStatsRepository extends JpaRepository<UserContentStats, UserContentStats.Key> {
+
+    /**
+     * At most one row per content type, read from the primary key prefix.
+     */
+    List<UserContentStats> findByUserId(Long userId);
+}
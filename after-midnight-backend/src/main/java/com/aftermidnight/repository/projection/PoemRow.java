@@ -0,0 +1,13 @@
+package com.aftermidnight.repository.projection;
+
+import com.aftermidnight.entity.PublicationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only list view of a poem: exactly the columns of a {@code PoemResponse}, with the owner as its foreign key.
+ * @param content The full content, or its first characters when the list was read in summary mode.
+ */
+public record PoemRow(Long id, String title, String content, LocalDateTime createdAt, PublicationStatus status,
+                      LocalDateTime publishedAt, long viewCount, long likeCount, long uniqueViewers, Long userId) {
+}
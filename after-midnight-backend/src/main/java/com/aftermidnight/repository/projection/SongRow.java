@@ -0,0 +1,14 @@
+package com.aftermidnight.repository.projection;
+
+import com.aftermidnight.entity.PublicationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only list view of a song: exactly the columns of a {@code SongResponse}, with the owner as its foreign key.
+ * @param lyrics The full lyrics, or their first characters when the list was read in summary mode.
+ */
+public record SongRow(Long id, String title, String lyrics, String audioUrl, LocalDateTime createdAt,
+                      PublicationStatus status, LocalDateTime publishedAt, long viewCount, long likeCount,
+                      long uniqueViewers, Long userId) {
+}
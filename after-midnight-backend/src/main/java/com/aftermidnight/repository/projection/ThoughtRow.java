@@ -0,0 +1,13 @@
+package com.aftermidnight.repository.projection;
+
+import com.aftermidnight.entity.PublicationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only list view of a thought: exactly the columns of a {@code ThoughtResponse}, with the owner as its foreign key.
+ * @param content The full content, or its first characters when the list was read in summary mode.
+ */
+public record ThoughtRow(Long id, String content, LocalDateTime createdAt, PublicationStatus status,
+                         LocalDateTime publishedAt, long viewCount, long likeCount, long uniqueViewers, Long userId) {
+}
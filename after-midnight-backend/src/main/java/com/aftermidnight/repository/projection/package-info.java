@@ -0,0 +1 @@
+package com.aftermidnight.repository.projection;
@@ -0,0 +1,38 @@
+package com.aftermidnight.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Limits requests carrying a bearer token per remote address, ahead of {@link JwtAuthenticationFilter}, so a flood of
+ * forged or garbage tokens is throttled before any signature is verified. The per-user limits in
+ * {@link RateLimitFilter} apply once the token has been verified; requests without a token skip this check and are
+ * limited per address there.
+ */
+@Component
+@RequiredArgsConstructor
+public class AddressRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitFilter rateLimitFilter;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ") || rateLimitFilter.admitAddress(request, response)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
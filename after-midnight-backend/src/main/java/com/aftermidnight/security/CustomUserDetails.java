@@ -14,6 +14,14 @@ public class CustomUserDetails implements UserDetails {
 
     private final User user;
 
+    /**
+     * Builds a principal from verified token claims without loading the user row.
+     * Only the id and email are populated on the wrapped user.
+     */
+    public static CustomUserDetails fromClaims(Long userId, String email) {
+        return new CustomUserDetails(User.builder().id(userId).email(email).build());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         // For now, we return a default role as roles are not yet implemented in the User entity
@@ -1,28 +1,45 @@
 package com.aftermidnight.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Authenticates requests carrying a bearer token. Time spent verifying tokens is recorded as the
+ * {@code security.filter} timer tagged {@code filter=jwt}; the rest of the chain is not included.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final Timer authenticationTimer;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.authenticationTimer = Timer.builder("security.filter")
+                .description("Time spent in security filters, excluding the rest of the chain")
+                .tag("filter", "jwt")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -31,40 +48,62 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            long start = System.nanoTime();
+            try {
+                authenticate(request, authHeader.substring(7));
+            } finally {
+                authenticationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, String jwt) {
+        final Claims claims;
         try {
-            userEmail = jwtUtil.extractUsername(jwt);
-        } catch (Exception e) {
-            log.warn("Failed to extract username from JWT: {}", e.getMessage());
-            filterChain.doFilter(request, response);
+            claims = jwtUtil.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Invalid JWT token: {}", e.getMessage());
             return;
         }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
-                log.debug("JWT validated for user: {}", userEmail);
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            } else {
-                log.warn("Invalid JWT token for user: {}", userEmail);
-            }
+        CustomUserDetails userDetails = resolvePrincipal(claims);
+        if (userDetails != null) {
+            log.debug("JWT validated for user: {}", userDetails.getUsername());
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+    }
+
+    /**
+     * Builds the principal straight from the verified claims. Tokens issued before the user id claim
+     * was introduced fall back to a lookup by email.
+     */
+    private CustomUserDetails resolvePrincipal(Claims claims) {
+        String email = claims.getSubject();
+        Long userId = jwtUtil.extractUserId(claims);
+        if (userId != null && email != null) {
+            return CustomUserDetails.fromClaims(userId, email);
+        }
+        try {
+            return (CustomUserDetails) userDetailsService.loadUserByUsername(email);
+        } catch (UsernameNotFoundException e) {
+            log.warn("JWT subject does not match any user: {}", email);
+            return null;
         }
-        filterChain.doFilter(request, response);
     }
 }
@@ -0,0 +1,73 @@
+package com.aftermidnight.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HMAC signing keys, derived once at startup and addressed by the {@code kid} JWS header.
+ * New tokens are signed with the active key; retired keys are only used to verify tokens
+ * issued before a rotation, until they expire.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final Map<String, SecretKey> keys = new HashMap<>();
+
+    /**
+     * @param retiredKeys Comma-separated {@code kid:secret} pairs still accepted for verification.
+     */
+    public JwtKeyRing(@Value("${jwt.secret:defaultSecretKeyWithAtLeast256BitsForHS256Algorithm}") String secret,
+                      @Value("${jwt.key-id:primary}") String keyId,
+                      @Value("${jwt.retired-keys:}") String retiredKeys) {
+        this.activeKeyId = keyId;
+        this.activeKey = toKey(secret);
+        for (String entry : retiredKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                keys.put(entry.substring(0, separator).trim(), toKey(entry.substring(separator + 1).trim()));
+            }
+        }
+        keys.put(activeKeyId, activeKey);
+        log.info("Loaded {} JWT signing key(s), active key id: {}", keys.size(), activeKeyId);
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey getActiveKey() {
+        return activeKey;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            // Tokens issued before key ids were introduced were signed with the active secret
+            return activeKey;
+        }
+        SecretKey key = keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey toKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,39 +1,76 @@
 package com.aftermidnight.security;
 
+import com.aftermidnight.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret:defaultSecretKeyWithAtLeast256BitsForHS256Algorithm}")
-    private String secret;
+    static final String USER_ID_CLAIM = "uid";
 
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private long expiration;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final long expiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Tokens whose signature has already been verified, kept until they expire
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtUtil(JwtKeyRing keyRing,
+                   @Value("${jwt.expiration:86400000}") long expiration, // 24 hours in milliseconds
+                   @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.keyRing = keyRing;
+        this.expiration = expiration;
+        this.parser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public String generateToken(String username) {
-        log.debug("Generating token for user: {}", username);
+    /**
+     * Issues a token whose subject is the user's email and which carries the user id,
+     * so requests can be authenticated from the token alone.
+     */
+    public String generateToken(User user) {
+        log.debug("Generating token for user id: {}", user.getId());
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .header().keyId(keyRing.getActiveKeyId()).and()
+                .signWith(keyRing.getActiveKey())
                 .compact();
     }
 
@@ -50,12 +87,33 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verifies the signature and expiry of a token and returns its claims.
+     * A token is verified once; repeat requests with the same token are served from a cache until it expires.
+     * @throws JwtException if the token is malformed, tampered with or expired.
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+    /**
+     * @return The user id carried by the token, or null for tokens issued without one.
+     */
+    public Long extractUserId(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
     }
 
     public Boolean isTokenExpired(String token) {
@@ -0,0 +1,152 @@
+package com.aftermidnight.security;
+
+import com.aftermidnight.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a small pool sized to the CPUs, so a burst of sign-ins cannot occupy more
+ * cores than it has, and never while the caller holds a database connection.
+ * <p>
+ * The pool queues a bounded number of hashes. When the queue is full, or a hash does not finish within the timeout,
+ * the request is shed with a {@link ServiceBusyException} rather than left waiting behind the backlog.
+ * Queue depth and busy workers are exported as {@code password.hashing.queue} and {@code password.hashing.active},
+ * queueing time as {@code password.hashing.wait} and shed requests as {@code password.hashing.rejections}.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    static final long RETRY_AFTER_SECONDS = 1;
+    private static final String BUSY_MESSAGE = "Too many sign-ins in progress. Try again shortly.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer waitTimer;
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    @Autowired
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${password-hashing.threads:0}") int threads,
+                          @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${password-hashing.timeout-ms:5000}") long timeoutMs,
+                          MeterRegistry meterRegistry) {
+        this(passwordEncoder, newExecutor(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), queueCapacity),
+                timeoutMs, meterRegistry);
+    }
+
+    PasswordHasher(PasswordEncoder passwordEncoder, ThreadPoolExecutor executor, long timeoutMs, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+        Gauge.builder("password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes being computed")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Time password hashes spend queued before a worker picks them up")
+                .register(meterRegistry);
+        this.queueFullRejections = rejectionCounter(meterRegistry, "queue-full");
+        this.timeoutRejections = rejectionCounter(meterRegistry, "timeout");
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("password.hashing.rejections")
+                .description("Sign-ins shed because password hashing was saturated")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws ServiceBusyException if the pool is saturated.
+     */
+    public String encode(CharSequence rawPassword) {
+        return call(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * @throws ServiceBusyException if the pool is saturated.
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether a stored hash was made with weaker settings than the encoder now uses, such as a lower BCrypt cost.
+     * Cheap; only parses the hash.
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T call(Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullRejections.increment();
+            log.warn("Password hashing queue is full ({} waiting), shedding request", executor.getQueue().size());
+            throw new ServiceBusyException(BUSY_MESSAGE, RETRY_AFTER_SECONDS);
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutRejections.increment();
+            log.warn("Password hashing did not finish within {} ms, shedding request", timeoutMs);
+            throw new ServiceBusyException(BUSY_MESSAGE, RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
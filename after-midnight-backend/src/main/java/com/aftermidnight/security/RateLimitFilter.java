@@ -2,79 +2,239 @@ package com.aftermidnight.security;
 
 import com.aftermidnight.dto.ApiResponse;
 import com.aftermidnight.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
+/**
+ * Per-client token-bucket rate limiting.
+ * Each route group has its own requests-per-minute policy. Authenticated requests are limited per user id,
+ * anonymous ones per remote address. Requests carrying a bearer token are also held to a coarser per-address
+ * policy before the token is verified, see {@link AddressRateLimitFilter}. Buckets live in a size-bounded cache and are dropped once idle for a
+ * full refill period, at which point they would have been full anyway.
+ * Time spent deciding is recorded as the {@code security.filter} timer tagged {@code filter=rate-limit}.
+ */
 @Component
 @Slf4j
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Map<String, RequestCounter> requestCounts = new ConcurrentHashMap<>();
-    private final ObjectMapper objectMapper;
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private static final long REFILL_PERIOD_MS = 60000; // 1 minute
+    private static final String REJECTION_MESSAGE = "Rate limit exceeded. Try again in a minute.";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+    private static final LocalDateTime TIMESTAMP_PLACEHOLDER = LocalDateTime.of(2000, 1, 1, 0, 0, 0, 1_000_000);
+
+    enum RouteGroup {
+        AUTH, READ, WRITE, VIEW
+    }
+
+    private final Map<RouteGroup, Integer> requestsPerMinute = new EnumMap<>(RouteGroup.class);
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<RouteGroup, Counter> rejections = new EnumMap<>(RouteGroup.class);
+    private final int addressPerMinute;
+    private final Counter addressRejections;
+    private final Timer decisionTimer;
+    private final LongSupplier clock;
+    private final byte[] rejectionTemplate;
+    private final int timestampOffset;
 
     public RateLimitFilter() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this(20, 100, 30, 60, 300, 100_000, new SimpleMeterRegistry(), System::currentTimeMillis);
     }
 
-    private static final int LIMIT = 100;
-    private static final long TIME_WINDOW_MS = 60000; // 1 minute
+    @Autowired
+    public RateLimitFilter(@Value("${rate-limit.auth.requests-per-minute:20}") int authPerMinute,
+                           @Value("${rate-limit.read.requests-per-minute:100}") int readPerMinute,
+                           @Value("${rate-limit.write.requests-per-minute:30}") int writePerMinute,
+                           @Value("${rate-limit.view.requests-per-minute:60}") int viewPerMinute,
+                           @Value("${rate-limit.address.requests-per-minute:300}") int addressPerMinute,
+                           @Value("${rate-limit.max-tracked-clients:100000}") long maxTrackedClients,
+                           MeterRegistry meterRegistry) {
+        this(authPerMinute, readPerMinute, writePerMinute, viewPerMinute, addressPerMinute, maxTrackedClients,
+                meterRegistry, System::currentTimeMillis);
+    }
+
+    RateLimitFilter(int authPerMinute, int readPerMinute, int writePerMinute, int viewPerMinute, int addressPerMinute,
+                    long maxTrackedClients, MeterRegistry meterRegistry, LongSupplier clock) {
+        requestsPerMinute.put(RouteGroup.AUTH, authPerMinute);
+        requestsPerMinute.put(RouteGroup.READ, readPerMinute);
+        requestsPerMinute.put(RouteGroup.WRITE, writePerMinute);
+        requestsPerMinute.put(RouteGroup.VIEW, viewPerMinute);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedClients)
+                .expireAfterAccess(Duration.ofMillis(REFILL_PERIOD_MS))
+                .build();
+        for (RouteGroup group : RouteGroup.values()) {
+            rejections.put(group, Counter.builder("ratelimit.rejections")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("policy", group.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.addressPerMinute = addressPerMinute;
+        this.addressRejections = Counter.builder("ratelimit.rejections")
+                .description("Requests rejected by the rate limiter")
+                .tag("policy", "address")
+                .register(meterRegistry);
+        this.decisionTimer = Timer.builder("security.filter")
+                .description("Time spent in security filters, excluding the rest of the chain")
+                .tag("filter", "rate-limit")
+                .register(meterRegistry);
+        this.clock = clock;
+
+        String json = renderRejection();
+        String placeholder = '"' + TIMESTAMP_FORMAT.format(TIMESTAMP_PLACEHOLDER) + '"';
+        int at = json.indexOf(placeholder);
+        if (at < 0) {
+            throw new IllegalStateException("Timestamp placeholder not found in rate limit response: " + json);
+        }
+        this.rejectionTemplate = json.getBytes(StandardCharsets.UTF_8);
+        this.timestampOffset = json.substring(0, at + 1).getBytes(StandardCharsets.UTF_8).length;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
-        String ip = request.getRemoteAddr();
-        RequestCounter counter = requestCounts.computeIfAbsent(ip, k -> new RequestCounter());
 
-        if (counter.isLimitExceeded()) {
-            log.warn("Rate limit exceeded for IP: {}", ip);
+        long start = System.nanoTime();
+        RouteGroup group = resolveGroup(request);
+        boolean admitted = admit(group.name(), resolveClient(request), requestsPerMinute.get(group), rejections.get(group), response);
+        decisionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (admitted) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Applies the per-address policy, before any bearer token on the request has been verified.
+     * @return False if the request was rejected and the rejection has been written to the response.
+     */
+    boolean admitAddress(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return admit("ADDRESS", "ip:" + request.getRemoteAddr(), addressPerMinute, addressRejections, response);
+        } finally {
+            decisionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean admit(String policy, String client, int limit, Counter rejected, HttpServletResponse response)
+            throws IOException {
+        long now = clock.getAsLong();
+        TokenBucket bucket = buckets.get(policy + ':' + client, k -> new TokenBucket(limit, REFILL_PERIOD_MS, now));
+
+        long remaining = bucket.tryConsume(now);
+        response.setHeader(LIMIT_HEADER, Integer.toString(limit));
+        if (remaining < 0) {
+            long retryAfterSeconds = toSeconds(-remaining);
+            response.setHeader(REMAINING_HEADER, "0");
+            response.setHeader(RESET_HEADER, Long.toString(toSeconds(bucket.msUntilFull(0))));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            log.debug("Rate limit exceeded for {} under the {} policy", client, policy);
+            rejected.increment();
             sendErrorResponse(response);
-            return;
+            return false;
         }
+        response.setHeader(REMAINING_HEADER, Long.toString(remaining));
+        response.setHeader(RESET_HEADER, Long.toString(toSeconds(bucket.msUntilFull(remaining))));
+        return true;
+    }
 
-        filterChain.doFilter(request, response);
+    static RouteGroup resolveGroup(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path != null && path.startsWith("/api/v1/auth/")) {
+            return RouteGroup.AUTH;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return RouteGroup.READ;
+        }
+        if (HttpMethod.POST.matches(method) && path != null && path.endsWith("/view")) {
+            return RouteGroup.VIEW;
+        }
+        return RouteGroup.WRITE;
     }
 
+    /**
+     * Runs after the JWT filter, so a verified principal is already in the security context.
+     */
+    private static String resolveClient(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails
+                && userDetails.getUser().getId() != null) {
+            return "user:" + userDetails.getUser().getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    /**
+     * Rejections are written from a pre-encoded body, only the fixed-width timestamp is patched in,
+     * so a throttled flood costs no JSON serialization.
+     */
     private void sendErrorResponse(HttpServletResponse response) throws IOException {
         response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
 
-        ApiResponse<Void> apiResponse = ApiResponse.error("Rate limit exceeded. Try again in a minute.", ErrorCode.TOO_MANY_REQUESTS);
-        
-        String json = objectMapper.writeValueAsString(apiResponse);
-        response.getWriter().write(json);
+        byte[] body = rejectionTemplate.clone();
+        String timestamp = TIMESTAMP_FORMAT.format(LocalDateTime.now());
+        for (int i = 0; i < timestamp.length(); i++) {
+            body[timestampOffset + i] = (byte) timestamp.charAt(i);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 
-    private static class RequestCounter {
-        private final AtomicInteger count = new AtomicInteger(0);
-        private long startTime = System.currentTimeMillis();
-
-        public synchronized boolean isLimitExceeded() {
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - startTime > TIME_WINDOW_MS) {
-                count.set(1);
-                startTime = currentTime;
-                return false;
-            }
-
-            return count.incrementAndGet() > LIMIT;
+    private static String renderRejection() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ApiResponse<Void> apiResponse = ApiResponse.<Void>error(REJECTION_MESSAGE, ErrorCode.TOO_MANY_REQUESTS)
+                .toBuilder()
+                .timestamp(TIMESTAMP_PLACEHOLDER)
+                .build();
+        try {
+            return objectMapper.writeValueAsString(apiResponse);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render rate limit response", e);
         }
     }
 }
@@ -0,0 +1,88 @@
+package com.aftermidnight.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * The available tokens and the last refill time are packed into a single long and updated with CAS,
+ * so concurrent requests for the same key never block each other.
+ * <p>
+ * Layout: the high {@value #TOKEN_BITS} bits hold the token count, the low {@value #TIME_BITS} bits
+ * hold the refill timestamp in epoch milliseconds.
+ */
+public final class TokenBucket {
+
+    static final int TOKEN_BITS = 20;
+    static final int TIME_BITS = 64 - TOKEN_BITS;
+    static final long MAX_TOKENS = (1L << TOKEN_BITS) - 1;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private final long capacity;
+    private final long refillPeriodMs;
+    private final AtomicLong state;
+
+    /**
+     * @param capacity       maximum burst, also the number of tokens restored per refill period
+     * @param refillPeriodMs time it takes an empty bucket to fill up again
+     */
+    public TokenBucket(long capacity, long refillPeriodMs, long nowMillis) {
+        if (capacity < 1 || capacity > MAX_TOKENS) {
+            throw new IllegalArgumentException("Bucket capacity must be between 1 and " + MAX_TOKENS);
+        }
+        if (refillPeriodMs < 1) {
+            throw new IllegalArgumentException("Refill period must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPeriodMs = refillPeriodMs;
+        this.state = new AtomicLong(pack(capacity, nowMillis));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return the tokens left after this request when it is allowed, or the negated number of
+     *         milliseconds until the next token when it is rejected
+     */
+    public long tryConsume(long nowMillis) {
+        while (true) {
+            long current = state.get();
+            long tokens = current >>> TIME_BITS;
+            long refilledAt = current & TIME_MASK;
+
+            long elapsed = Math.max(0, nowMillis - refilledAt);
+            long added = elapsed * capacity / refillPeriodMs;
+            if (added > 0) {
+                tokens = Math.min(capacity, tokens + added);
+                // Only advance by the time the whole tokens account for, so partial progress is kept
+                refilledAt = tokens == capacity ? nowMillis : refilledAt + added * refillPeriodMs / capacity;
+            }
+
+            if (tokens == 0) {
+                long nextTokenAt = refilledAt + ceilDiv(refillPeriodMs, capacity);
+                return -Math.max(1, nextTokenAt - nowMillis);
+            }
+            if (state.compareAndSet(current, pack(tokens - 1, refilledAt))) {
+                return tokens - 1;
+            }
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Milliseconds until a bucket holding {@code remaining} tokens is full again.
+     */
+    public long msUntilFull(long remaining) {
+        return ceilDiv((capacity - remaining) * refillPeriodMs, capacity);
+    }
+
+    private static long pack(long tokens, long timestamp) {
+        return (tokens << TIME_BITS) | (timestamp & TIME_MASK);
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
@@ -0,0 +1,40 @@
+package com.aftermidnight.service;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.PublicationStatus;
+
+import java.util.List;
+
+/**
+ * Published by the content services whenever a poem, song or thought is created, changes status or is deleted.
+ * @param previousStatus The status before the change, or null for {@link Change#CREATED}.
+ * @param status The status after the change.
+ */
+public record ContentChangedEvent(ContentType type, Long id, Long userId, Change change,
+                                  PublicationStatus previousStatus, PublicationStatus status) {
+
+    public enum Change {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    public static ContentChangedEvent created(ContentType type, Long id, Long userId, PublicationStatus status) {
+        return new ContentChangedEvent(type, id, userId, Change.CREATED, null, status);
+    }
+
+    public static ContentChangedEvent statusChanged(ContentType type, Long id, Long userId,
+                                                    PublicationStatus previousStatus, PublicationStatus status) {
+        return new ContentChangedEvent(type, id, userId, Change.STATUS_CHANGED, previousStatus, status);
+    }
+
+    public static ContentChangedEvent deleted(ContentType type, Long id, Long userId, PublicationStatus status) {
+        return new ContentChangedEvent(type, id, userId, Change.DELETED, status, status);
+    }
+
+    /**
+     * Published once for a bulk change in place of one event per item, so listeners can apply the changes together.
+     */
+    public record Batch(List<ContentChangedEvent> events) {
+    }
+}
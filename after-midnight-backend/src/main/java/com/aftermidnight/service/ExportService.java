@@ -0,0 +1,16 @@
+package com.aftermidnight.service;
+
+import com.aftermidnight.entity.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    /**
+     * Writes all of a user's poems, songs and thoughts as newline-delimited JSON, one object per line with its
+     * {@code type}, in the shape {@link ImportService#importNdjson} reads back. Items are written as they are read,
+     * so memory use does not grow with the size of the corpus.
+     * @return The number of items written.
+     */
+    long exportNdjson(User user, OutputStream out) throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.aftermidnight.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ * @param lines Lines read, including blank ones.
+ * @param errors The first failed lines, up to the configured limit; {@code failed} counts all of them.
+ */
+public record ImportReport(long lines, long imported, long failed, List<LineError> errors) {
+
+    public record LineError(long line, String message) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.aftermidnight.service;
+
+import com.aftermidnight.entity.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportService {
+    /**
+     * Imports poems, songs and thoughts from newline-delimited JSON, one object per line with a {@code type} of
+     * {@code POEM}, {@code SONG} or {@code THOUGHT}. The body is read as a stream and saved in batches, each in its own
+     * transaction; invalid lines are reported and skipped without affecting the others.
+     */
+    ImportReport importNdjson(User user, InputStream body) throws IOException;
+}
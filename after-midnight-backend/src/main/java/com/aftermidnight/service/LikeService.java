@@ -0,0 +1,19 @@
+package com.aftermidnight.service;
+
+import com.aftermidnight.entity.ContentType;
+
+import java.util.Optional;
+
+public interface LikeService {
+    /**
+     * Likes a published item. Liking twice is a no-op.
+     * @return The item's like count afterwards, or empty if no such published item exists.
+     */
+    Optional<Long> like(ContentType type, Long contentId, Long userId);
+
+    /**
+     * Removes a like. Unliking an item that was not liked is a no-op.
+     * @return The item's like count afterwards, or empty if no such published item exists.
+     */
+    Optional<Long> unlike(ContentType type, Long contentId, Long userId);
+}
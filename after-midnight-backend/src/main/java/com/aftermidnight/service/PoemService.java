@@ -3,6 +3,8 @@ package com.aftermidnight.service;
 import com.aftermidnight.entity.Poem;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.projection.PoemRow;
+import com.aftermidnight.util.FeedCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,11 +13,28 @@ import java.util.Optional;
 
 public interface PoemService {
     Poem create(Poem poem);
-    Page<Poem> getAllByUser(User user, Pageable pageable);
-    Page<Poem> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable);
-    Page<Poem> getAllPublished(Pageable pageable);
+
+    /**
+     * Creates all poems in one transaction, with the inserts sent to the database in JDBC batches.
+     */
+    List<Poem> createAll(List<Poem> poems);
+
+    /**
+     * List views are read as {@link PoemRow} projections rather than entities.
+     * @param summary Whether to cut the content down to a preview in the query itself.
+     */
+    Page<PoemRow> getAllByUser(User user, Pageable pageable, boolean summary);
+    Page<PoemRow> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable, boolean summary);
+    Page<PoemRow> getAllPublished(Pageable pageable, boolean summary);
+    List<PoemRow> getPublishedFeed(FeedCursor cursor, int limit, boolean summary);
+
     Optional<Poem> getById(Long id);
     void delete(Long id);
     Poem updateStatus(Long id, PublicationStatus status);
-    void incrementViewCount(Long id);
+
+    /**
+     * Counts a view and records the viewer for the unique viewer estimate.
+     * @param viewerKey Opaque key identifying the viewer, never stored as is.
+     */
+    void incrementViewCount(Long id, String viewerKey);
 }
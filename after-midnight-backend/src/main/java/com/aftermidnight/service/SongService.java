@@ -3,6 +3,8 @@ package com.aftermidnight.service;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.Song;
 import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.projection.SongRow;
+import com.aftermidnight.util.FeedCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,11 +13,28 @@ import java.util.Optional;
 
 public interface SongService {
     Song create(Song song);
-    Page<Song> getAllByUser(User user, Pageable pageable);
-    Page<Song> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable);
-    Page<Song> getAllPublished(Pageable pageable);
+
+    /**
+     * Creates all songs in one transaction, with the inserts sent to the database in JDBC batches.
+     */
+    List<Song> createAll(List<Song> songs);
+
+    /**
+     * List views are read as {@link SongRow} projections rather than entities.
+     * @param summary Whether to cut the lyrics down to a preview in the query itself.
+     */
+    Page<SongRow> getAllByUser(User user, Pageable pageable, boolean summary);
+    Page<SongRow> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable, boolean summary);
+    Page<SongRow> getAllPublished(Pageable pageable, boolean summary);
+    List<SongRow> getPublishedFeed(FeedCursor cursor, int limit, boolean summary);
+
     Optional<Song> getById(Long id);
     void delete(Long id);
     Song updateStatus(Long id, PublicationStatus status);
-    void incrementViewCount(Long id);
+
+    /**
+     * Counts a view and records the viewer for the unique viewer estimate.
+     * @param viewerKey Opaque key identifying the viewer, never stored as is.
+     */
+    void incrementViewCount(Long id, String viewerKey);
 }
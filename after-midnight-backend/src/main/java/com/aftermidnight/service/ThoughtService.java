@@ -3,6 +3,8 @@ package com.aftermidnight.service;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.Thought;
 import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.projection.ThoughtRow;
+import com.aftermidnight.util.FeedCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,11 +13,28 @@ import java.util.Optional;
 
 public interface ThoughtService {
     Thought create(Thought thought);
-    Page<Thought> getAllByUser(User user, Pageable pageable);
-    Page<Thought> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable);
-    Page<Thought> getAllPublished(Pageable pageable);
+
+    /**
+     * Creates all thoughts in one transaction, with the inserts sent to the database in JDBC batches.
+     */
+    List<Thought> createAll(List<Thought> thoughts);
+
+    /**
+     * List views are read as {@link ThoughtRow} projections rather than entities.
+     * @param summary Whether to cut the content down to a preview in the query itself.
+     */
+    Page<ThoughtRow> getAllByUser(User user, Pageable pageable, boolean summary);
+    Page<ThoughtRow> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable, boolean summary);
+    Page<ThoughtRow> getAllPublished(Pageable pageable, boolean summary);
+    List<ThoughtRow> getPublishedFeed(FeedCursor cursor, int limit, boolean summary);
+
     Optional<Thought> getById(Long id);
     void delete(Long id);
     Thought updateStatus(Long id, PublicationStatus status);
-    void incrementViewCount(Long id);
+
+    /**
+     * Counts a view and records the viewer for the unique viewer estimate.
+     * @param viewerKey Opaque key identifying the viewer, never stored as is.
+     */
+    void incrementViewCount(Long id, String viewerKey);
 }
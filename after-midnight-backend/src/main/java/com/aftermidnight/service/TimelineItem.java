@@ -0,0 +1,12 @@
+package com.aftermidnight.service;
+
+import com.aftermidnight.entity.ContentType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the mixed-type timeline.
+ * @param content The {@code PoemRow}, {@code SongRow} or {@code ThoughtRow}, matching {@code type}.
+ */
+public record TimelineItem(ContentType type, Long id, LocalDateTime createdAt, Object content) {
+}
@@ -0,0 +1,14 @@
+package com.aftermidnight.service;
+
+import com.aftermidnight.util.TimelineCursor;
+
+import java.util.List;
+
+public interface TimelineService {
+    /**
+     * Published poems, songs and thoughts merged newest first, starting after the cursor.
+     * @param cursor Null for the first page.
+     * @param summary Whether to cut content and lyrics down to a preview.
+     */
+    List<TimelineItem> getTimeline(TimelineCursor cursor, int limit, boolean summary);
+}
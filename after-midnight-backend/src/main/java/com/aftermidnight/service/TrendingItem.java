@@ -0,0 +1,11 @@
+package com.aftermidnight.service;
+
+import com.aftermidnight.entity.ContentType;
+
+/**
+ * A ranked item resolved to its entity.
+ * @param content The {@code Poem}, {@code Song} or {@code Thought}, matching {@code type}.
+ * @param score The decayed trending score at the time of the request.
+ */
+public record TrendingItem(ContentType type, Object content, double score) {
+}
@@ -0,0 +1,10 @@
+package com.aftermidnight.service;
+
+import java.util.List;
+
+public interface TrendingService {
+    /**
+     * The highest-scoring published poems, songs and thoughts, best first.
+     */
+    List<TrendingItem> getTrending(int limit);
+}
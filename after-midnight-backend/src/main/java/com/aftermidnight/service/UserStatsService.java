@@ -0,0 +1,12 @@
+package com.aftermidnight.service;
+
+import com.aftermidnight.entity.UserContentStats;
+
+import java.util.List;
+
+public interface UserStatsService {
+    /**
+     * The user's counters, one entry per content type the user has created; missing types have no content.
+     */
+    List<UserContentStats> getStats(Long userId);
+}
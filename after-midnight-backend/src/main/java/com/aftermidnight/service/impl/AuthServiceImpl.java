@@ -4,27 +4,40 @@ import com.aftermidnight.dto.AuthResponse;
 import com.aftermidnight.dto.LoginRequest;
 import com.aftermidnight.dto.RegisterRequest;
 import com.aftermidnight.entity.User;
+import com.aftermidnight.exception.ServiceBusyException;
 import com.aftermidnight.repository.UserRepository;
 import com.aftermidnight.security.JwtUtil;
+import com.aftermidnight.security.PasswordHasher;
 import com.aftermidnight.service.AuthService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Registration and login run outside any transaction: password hashing takes tens of milliseconds of CPU on the
+ * {@link PasswordHasher} pool, and holding a pooled connection meanwhile would let a burst of sign-ins starve every
+ * other request. Each repository call runs in its own short transaction instead.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed("service.invocations")
 @Transactional(readOnly = true)
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final LoginThrottle loginThrottle;
+    private final RegisteredEmails registeredEmails;
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             log.warn("Registration failed: Email {} already exists", request.getEmail());
@@ -34,13 +47,24 @@ public class AuthServiceImpl implements AuthService {
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .build();
 
-        userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                // Registered by a concurrent request while this one was hashing
+                log.warn("Registration failed: Email {} already exists", request.getEmail());
+                throw new RuntimeException("Email already exists");
+            }
+            throw e;
+        }
+        registeredEmails.add(savedUser.getEmail());
         log.info("User registered successfully with email: {}", request.getEmail());
 
-        String token = jwtUtil.generateToken(user.getUsername());
+        String token = jwtUtil.generateToken(savedUser);
 
         return AuthResponse.builder()
                 .message("User registered successfully")
@@ -49,25 +73,57 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse login(LoginRequest request) {
+        // Both checks come before any query or hash, so a credential-stuffing run costs little of either
+        loginThrottle.checkAllowed(request.getEmail());
+        if (!registeredEmails.mightBeRegistered(request.getEmail())) {
+            // Not counted as a failure: the account may have just been registered on a node this one has not caught up with
+            log.warn("Login failed: User with email {} not found", request.getEmail());
+            throw new RuntimeException("Invalid email or password");
+        }
+
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> {
                     log.warn("Login failed: User with email {} not found", request.getEmail());
+                    loginThrottle.recordFailure(request.getEmail());
                     return new RuntimeException("Invalid email or password");
                 });
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             log.warn("Login failed: Password mismatch for email {}", request.getEmail());
+            loginThrottle.recordFailure(request.getEmail());
             throw new RuntimeException("Invalid email or password");
         }
+        loginThrottle.recordSuccess(request.getEmail());
+        upgradeHash(user, request.getPassword());
 
         log.info("User logged in successfully with email: {}", request.getEmail());
-        String token = jwtUtil.generateToken(user.getUsername());
+        String token = jwtUtil.generateToken(user);
 
         return AuthResponse.builder()
                 .message("User logged in successfully")
                 .token(token)
                 .build();
     }
+
+    /**
+     * Rehashes a password stored with an older cost while the plain password is at hand. Skipped when hashing is
+     * saturated, since the next login tries again.
+     */
+    private void upgradeHash(User user, String rawPassword) {
+        if (!passwordHasher.needsUpgrade(user.getPassword())) {
+            return;
+        }
+        try {
+            String upgraded = passwordHasher.encode(rawPassword);
+            if (userRepository.replacePasswordHash(user.getId(), user.getPassword(), upgraded) > 0) {
+                log.info("Upgraded password hash for user id: {}", user.getId());
+            }
+        } catch (ServiceBusyException e) {
+            log.debug("Skipped password hash upgrade for user id: {}, hashing is busy", user.getId());
+        } catch (DataAccessException e) {
+            log.warn("Could not store upgraded password hash for user id: {}", user.getId(), e);
+        }
+    }
 }
@@ -0,0 +1,213 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for a counter column on the content tables.
+ * Deltas are aggregated in memory and flushed as one {@code <column> = <column> + ?} batched update per dirty id,
+ * so a counted event never reads or rewrites the row. The same deltas are added to the owners' totals in
+ * {@code user_content_stats} within the same transaction. Failed flushes are re-queued.
+ */
+@Slf4j
+public abstract class CountBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String column;
+    private final Map<ContentType, ConcurrentHashMap<Long, LongAdder>> pending = new EnumMap<>(ContentType.class);
+    private final Map<ContentType, Map<Long, LongAdder>> retired = new EnumMap<>(ContentType.class);
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Timer flushTimer;
+    private final Counter flushedDeltas;
+    private final Counter failedFlushes;
+
+    /**
+     * @param column The counter column to update, e.g. {@code view_count}.
+     * @param meterPrefix Prefix of the exported meters, e.g. {@code views}.
+     */
+    protected CountBuffer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                          String column, String meterPrefix) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.column = column;
+        for (ContentType type : ContentType.values()) {
+            pending.put(type, new ConcurrentHashMap<>());
+            retired.put(type, Map.of());
+        }
+        Gauge.builder(meterPrefix + ".buffer.size", this, CountBuffer::size)
+                .description("Number of content ids with unflushed " + meterPrefix)
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(meterPrefix + ".flush.latency")
+                .description("Time taken to flush buffered " + meterPrefix + " to the database")
+                .register(meterRegistry);
+        this.flushedDeltas = Counter.builder(meterPrefix + ".flushed")
+                .description("Sum of the " + meterPrefix + " deltas written to the database")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder(meterPrefix + ".flush.failures")
+                .description("Number of flushes that failed and were re-queued")
+                .register(meterRegistry);
+    }
+
+    protected abstract int batchSize();
+
+    protected abstract long shutdownTimeoutMs();
+
+    public void add(ContentType type, Long id, long delta) {
+        counter(type, id).add(delta);
+    }
+
+    LongAdder counter(ContentType type, Long id) {
+        return pending.get(type).computeIfAbsent(id, k -> new LongAdder());
+    }
+
+    /**
+     * Net delta recorded for an item that has not been written to the database yet.
+     */
+    public long pending(ContentType type, Long id) {
+        LongAdder adder = pending.get(type).get(id);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<Long, LongAdder> counters : pending.values()) {
+            size += counters.size();
+        }
+        return size;
+    }
+
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * @param last True for the final flush, which also drains the adders it takes out of the live map instead of
+     *             retiring them, since there is no later flush to pick up their stragglers.
+     */
+    private void flush(boolean last) {
+        flushLock.lock();
+        try {
+            flushTimer.record(() -> {
+                for (ContentType type : ContentType.values()) {
+                    drain(type, last);
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain(ContentType type, boolean last) {
+        ConcurrentHashMap<Long, LongAdder> live = pending.get(type);
+        Map<Long, LongAdder> removed = new HashMap<>();
+        Map<Long, Long> deltas = new HashMap<>();
+
+        for (Long id : live.keySet()) {
+            LongAdder adder = live.remove(id);
+            if (adder != null) {
+                removed.put(id, adder);
+                deltas.merge(id, adder.sumThenReset(), Long::sum);
+            }
+        }
+        // An increment can still land on an adder after it was removed above;
+        // those stragglers are picked up from the retired adders on the next flush.
+        retired.get(type).forEach((id, adder) -> {
+            long late = adder.sumThenReset();
+            if (late != 0) {
+                deltas.merge(id, late, Long::sum);
+            }
+        });
+        if (last) {
+            removed.forEach((id, adder) -> {
+                long late = adder.sumThenReset();
+                if (late != 0) {
+                    deltas.merge(id, late, Long::sum);
+                }
+            });
+            retired.put(type, Map.of());
+        } else {
+            retired.put(type, removed);
+        }
+
+        List<long[]> batch = new ArrayList<>(deltas.size());
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            if (entry.getValue() != 0) {
+                batch.add(new long[]{entry.getValue(), entry.getKey()});
+                total += Math.abs(entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE " + type.getTableName() + " SET " + column + " = " + column + " + ? WHERE id = ?";
+        // Deleted items have already been taken out of their owner's totals
+        String statsSql = "UPDATE user_content_stats SET " + column + " = " + column + " + ? WHERE content_type = ? "
+                + "AND user_id = (SELECT user_id FROM " + type.getTableName() + " WHERE id = ? AND deleted = false)";
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(sql, batch, batchSize(), (ps, row) -> {
+                    ps.setLong(1, row[0]);
+                    ps.setLong(2, row[1]);
+                });
+                jdbcTemplate.batchUpdate(statsSql, batch, batchSize(), (ps, row) -> {
+                    ps.setLong(1, row[0]);
+                    ps.setString(2, type.name());
+                    ps.setLong(3, row[1]);
+                });
+            });
+            flushedDeltas.increment(total);
+            log.debug("Flushed {} {} changes across {} {}", total, column, batch.size(), type.getTableName());
+        } catch (DataAccessException e) {
+            log.error("Failed to flush {} {} changes for {}, re-queuing", total, column, type.getTableName(), e);
+            failedFlushes.increment();
+            for (long[] row : batch) {
+                live.computeIfAbsent(row[1], k -> new LongAdder()).add(row[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // The regular flush retires the adders it drains; the last pass writes whatever landed on them meanwhile
+        Future<?> finalFlush = executor.submit(() -> {
+            flush();
+            flush(true);
+        });
+        try {
+            finalFlush.get(shutdownTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Final {} flush did not finish within {} ms, {} ids left unflushed", column, shutdownTimeoutMs(), size());
+            finalFlush.cancel(true);
+        } catch (Exception e) {
+            log.error("Final {} flush failed", column, e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.ThoughtRepository;
+import com.aftermidnight.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams each content table over a forward-only cursor and writes every entity as soon as it is read, detaching it
+ * right after so the persistence context stays empty however many items the user has.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("service.invocations")
+public class ExportServiceImpl implements ExportService {
+
+    private final PoemRepository poemRepository;
+    private final SongRepository songRepository;
+    private final ThoughtRepository thoughtRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNdjson(User user, OutputStream out) throws IOException {
+        log.info("Exporting content for user: {}", user.getEmail());
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are ended explicitly; the default separator would put a space before every object but the first
+            generator.setRootValueSeparator(null);
+            try (Stream<Poem> poems = poemRepository.streamByUserId(user.getId())) {
+                for (Iterator<Poem> it = poems.iterator(); it.hasNext(); written++) {
+                    Poem poem = it.next();
+                    writeStart(generator, ContentType.POEM, poem.getId());
+                    generator.writeStringField("title", poem.getTitle());
+                    generator.writeStringField("content", poem.getContent());
+                    writeEnd(generator, poem.getStatus(), poem.getCreatedAt(), poem.getPublishedAt(), poem.getViewCount(), poem.getLikeCount());
+                    entityManager.detach(poem);
+                }
+            }
+            try (Stream<Song> songs = songRepository.streamByUserId(user.getId())) {
+                for (Iterator<Song> it = songs.iterator(); it.hasNext(); written++) {
+                    Song song = it.next();
+                    writeStart(generator, ContentType.SONG, song.getId());
+                    generator.writeStringField("title", song.getTitle());
+                    generator.writeStringField("lyrics", song.getLyrics());
+                    generator.writeStringField("audioUrl", song.getAudioUrl());
+                    writeEnd(generator, song.getStatus(), song.getCreatedAt(), song.getPublishedAt(), song.getViewCount(), song.getLikeCount());
+                    entityManager.detach(song);
+                }
+            }
+            try (Stream<Thought> thoughts = thoughtRepository.streamByUserId(user.getId())) {
+                for (Iterator<Thought> it = thoughts.iterator(); it.hasNext(); written++) {
+                    Thought thought = it.next();
+                    writeStart(generator, ContentType.THOUGHT, thought.getId());
+                    generator.writeStringField("content", thought.getContent());
+                    generator.writeStringField("mood", thought.getMood());
+                    writeEnd(generator, thought.getStatus(), thought.getCreatedAt(), thought.getPublishedAt(), thought.getViewCount(), thought.getLikeCount());
+                    entityManager.detach(thought);
+                }
+            }
+        }
+        log.info("Exported {} items for user: {}", written, user.getEmail());
+        return written;
+    }
+
+    private static void writeStart(JsonGenerator generator, ContentType type, Long id) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", type.name());
+        generator.writeNumberField("id", id);
+    }
+
+    private static void writeEnd(JsonGenerator generator, PublicationStatus status, LocalDateTime createdAt,
+                                 LocalDateTime publishedAt, long viewCount, long likeCount) throws IOException {
+        generator.writeStringField("status", status.name());
+        generator.writeObjectField("createdAt", createdAt);
+        generator.writeObjectField("publishedAt", publishedAt);
+        generator.writeNumberField("viewCount", viewCount);
+        generator.writeNumberField("likeCount", likeCount);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
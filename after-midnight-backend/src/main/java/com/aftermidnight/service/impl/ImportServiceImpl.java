@@ -0,0 +1,265 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.dto.PoemRequest;
+import com.aftermidnight.dto.SongRequest;
+import com.aftermidnight.dto.ThoughtRequest;
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.service.ImportReport;
+import com.aftermidnight.service.ImportService;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.ThoughtService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the upload line by line and keeps at most one batch of parsed items in memory. Each full batch is saved in its
+ * own transaction through the services' bulk creates, so its inserts go out as JDBC batches and a failing batch only
+ * loses its own lines.
+ */
+@Service
+@Slf4j
+@Timed("service.invocations")
+public class ImportServiceImpl implements ImportService {
+
+    private final PoemService poemService;
+    private final SongService songService;
+    private final ThoughtService thoughtService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader objectReader;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ImportServiceImpl(PoemService poemService,
+                             SongService songService,
+                             ThoughtService thoughtService,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             @Value("${import.batch-size:200}") int batchSize,
+                             @Value("${import.max-reported-errors:100}") int maxReportedErrors) {
+        this.poemService = poemService;
+        this.songService = songService;
+        this.thoughtService = thoughtService;
+        this.transactionTemplate = transactionTemplate;
+        // Lines may carry fields the requests do not bind, like the type itself or an exported item's id
+        this.objectReader = objectMapper.reader().without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public ImportReport importNdjson(User user, InputStream body) throws IOException {
+        log.info("Importing content for user: {}", user.getEmail());
+        Batch batch = new Batch();
+        Progress progress = new Progress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(lineNumber, parse(line, user));
+            } catch (InvalidLineException e) {
+                progress.fail(lineNumber, e.getMessage());
+                continue;
+            }
+            if (batch.size() >= batchSize) {
+                save(batch, progress);
+                batch = new Batch();
+            }
+        }
+        save(batch, progress);
+        log.info("Imported {} of {} lines for user: {}, {} failed", progress.imported, lineNumber, user.getEmail(), progress.failed);
+        return new ImportReport(lineNumber, progress.imported, progress.failed, progress.errors);
+    }
+
+    private Object parse(String line, User user) {
+        JsonNode node;
+        try {
+            node = objectReader.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new InvalidLineException("Malformed JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new InvalidLineException("Expected a JSON object");
+        }
+        switch (typeOf(node)) {
+            case POEM -> {
+                PoemRequest request = read(node, PoemRequest.class);
+                return Poem.builder()
+                        .title(request.getTitle())
+                        .content(request.getContent())
+                        .status(statusOr(request.getStatus()))
+                        .user(user)
+                        .build();
+            }
+            case SONG -> {
+                SongRequest request = read(node, SongRequest.class);
+                return Song.builder()
+                        .title(request.getTitle())
+                        .lyrics(request.getLyrics())
+                        .audioUrl(request.getAudioUrl())
+                        .status(statusOr(request.getStatus()))
+                        .user(user)
+                        .build();
+            }
+            default -> {
+                ThoughtRequest request = read(node, ThoughtRequest.class);
+                String mood = node.path("mood").asText("");
+                if (mood.isBlank()) {
+                    throw new InvalidLineException("mood: Mood is required");
+                }
+                return Thought.builder()
+                        .content(request.getContent())
+                        .mood(mood)
+                        .status(statusOr(request.getStatus()))
+                        .user(user)
+                        .build();
+            }
+        }
+    }
+
+    private static ContentType typeOf(JsonNode node) {
+        try {
+            return ContentType.valueOf(node.path("type").asText("").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidLineException("type: must be one of POEM, SONG or THOUGHT");
+        }
+    }
+
+    /**
+     * Binds and validates a line exactly like the single-item create endpoints do.
+     */
+    private <T> T read(JsonNode node, Class<T> type) {
+        T request;
+        try {
+            request = objectReader.treeToValue(node, type);
+        } catch (JsonProcessingException e) {
+            throw new InvalidLineException("Invalid field value: " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new InvalidLineException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return request;
+    }
+
+    private static PublicationStatus statusOr(PublicationStatus status) {
+        return status != null ? status : PublicationStatus.DRAFT;
+    }
+
+    private void save(Batch batch, Progress progress) {
+        if (batch.size() == 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!batch.poems.isEmpty()) {
+                    poemService.createAll(batch.poems);
+                }
+                if (!batch.songs.isEmpty()) {
+                    songService.createAll(batch.songs);
+                }
+                if (!batch.thoughts.isEmpty()) {
+                    thoughtService.createAll(batch.thoughts);
+                }
+            });
+            progress.imported += batch.size();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Failed to save import batch of lines {} to {}", batch.lines.get(0), batch.lines.get(batch.lines.size() - 1), e);
+            failAll(batch, progress);
+        } catch (RuntimeException e) {
+            // Earlier batches are already committed, so anything else is reported per batch as well rather than
+            // turning a partly applied import into an error response
+            log.error("Unexpected failure saving import batch of lines {} to {}", batch.lines.get(0), batch.lines.get(batch.lines.size() - 1), e);
+            failAll(batch, progress);
+        }
+    }
+
+    private static void failAll(Batch batch, Progress progress) {
+        for (long line : batch.lines) {
+            progress.fail(line, "Not saved, the batch it was in failed");
+        }
+    }
+
+    private static final class Batch {
+
+        private final List<Poem> poems = new ArrayList<>();
+        private final List<Song> songs = new ArrayList<>();
+        private final List<Thought> thoughts = new ArrayList<>();
+        private final List<Long> lines = new ArrayList<>();
+
+        void add(long line, Object item) {
+            if (item instanceof Poem poem) {
+                poems.add(poem);
+            } else if (item instanceof Song song) {
+                songs.add(song);
+            } else {
+                thoughts.add((Thought) item);
+            }
+            lines.add(line);
+        }
+
+        int size() {
+            return lines.size();
+        }
+    }
+
+    private final class Progress {
+
+        private final List<ImportReport.LineError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReport.LineError(line, message));
+            }
+        }
+    }
+
+    private static final class InvalidLineException extends RuntimeException {
+
+        InvalidLineException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.aftermidnight.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind buffer for like counts.
+ * Likes and unlikes are netted in memory and flushed periodically as one
+ * {@code like_count = like_count + ?} update per dirty id instead of a row update per click.
+ */
+@Component
+public class LikeCountBuffer extends CountBuffer {
+
+    @Value("${like-counter.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${like-counter.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs = 5000;
+
+    public LikeCountBuffer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        super(jdbcTemplate, transactionTemplate, meterRegistry, "like_count", "likes");
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${like-counter.flush-interval-ms:5000}")
+    public void flush() {
+        super.flush();
+    }
+
+    @Override
+    protected int batchSize() {
+        return batchSize;
+    }
+
+    @Override
+    protected long shutdownTimeoutMs() {
+        return shutdownTimeoutMs;
+    }
+}
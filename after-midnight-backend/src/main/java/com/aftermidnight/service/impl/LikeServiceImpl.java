@@ -0,0 +1,142 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.service.LikeService;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.ThoughtService;
+import com.aftermidnight.util.CacheLoads;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Likes are stored one row per (content, user) in {@code content_likes}, and {@code like_count} changes are netted in
+ * the {@link LikeCountBuffer}. Every like and unlike writes the row, and only a row actually stored or removed moves
+ * the count, since other nodes change likes too.
+ * <p>
+ * The likers of recently touched items are kept in memory as compressed bitmaps, which answer the like count returned
+ * to the caller. They are a hint only: they may miss changes made through other nodes since they were loaded.
+ */
+@Service
+@Slf4j
+@Timed("service.invocations")
+public class LikeServiceImpl implements LikeService {
+
+    private static final String INSERT_LIKE =
+            "INSERT INTO content_likes (content_type, content_id, user_id, created_at) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_LIKE =
+            "DELETE FROM content_likes WHERE content_type = ? AND content_id = ? AND user_id = ?";
+    private static final String SELECT_LIKERS =
+            "SELECT user_id FROM content_likes WHERE content_type = ? AND content_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LikeCountBuffer likeCountBuffer;
+    private final TrendingRanker trendingRanker;
+    private final PoemService poemService;
+    private final SongService songService;
+    private final ThoughtService thoughtService;
+    private final AsyncCache<LikeKey, Roaring64Bitmap> likers;
+
+    public LikeServiceImpl(JdbcTemplate jdbcTemplate,
+                           LikeCountBuffer likeCountBuffer,
+                           TrendingRanker trendingRanker,
+                           PoemService poemService,
+                           SongService songService,
+                           ThoughtService thoughtService,
+                           @Value("${like-index.max-items:10000}") long maxItems,
+                           @Value("${like-index.idle-minutes:10}") long idleMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.likeCountBuffer = likeCountBuffer;
+        this.trendingRanker = trendingRanker;
+        this.poemService = poemService;
+        this.songService = songService;
+        this.thoughtService = thoughtService;
+        this.likers = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .buildAsync();
+    }
+
+    @Override
+    public Optional<Long> like(ContentType type, Long contentId, Long userId) {
+        if (!isPublished(type, contentId)) {
+            return Optional.empty();
+        }
+        Roaring64Bitmap itemLikers = likersOf(type, contentId);
+        if (insertLike(type, contentId, userId)) {
+            likeCountBuffer.add(type, contentId, 1);
+            trendingRanker.recordLike(type, contentId);
+            log.debug("User {} liked {} id: {}", userId, type, contentId);
+        }
+        synchronized (itemLikers) {
+            itemLikers.addLong(userId);
+            return Optional.of(itemLikers.getLongCardinality());
+        }
+    }
+
+    @Override
+    public Optional<Long> unlike(ContentType type, Long contentId, Long userId) {
+        if (!isPublished(type, contentId)) {
+            return Optional.empty();
+        }
+        Roaring64Bitmap itemLikers = likersOf(type, contentId);
+        if (jdbcTemplate.update(DELETE_LIKE, type.name(), contentId, userId) > 0) {
+            likeCountBuffer.add(type, contentId, -1);
+            log.debug("User {} unliked {} id: {}", userId, type, contentId);
+        }
+        synchronized (itemLikers) {
+            itemLikers.removeLong(userId);
+            return Optional.of(itemLikers.getLongCardinality());
+        }
+    }
+
+    /**
+     * @return Whether a row was stored; false if the like was already there.
+     */
+    private boolean insertLike(ContentType type, Long contentId, Long userId) {
+        try {
+            jdbcTemplate.update(INSERT_LIKE, type.name(), contentId, userId, Timestamp.valueOf(LocalDateTime.now()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.debug("Like by user {} on {} id: {} was already stored", userId, type, contentId);
+            return false;
+        }
+    }
+
+    private boolean isPublished(ContentType type, Long contentId) {
+        return switch (type) {
+            case POEM -> poemService.getById(contentId).map(Poem::getStatus).orElse(null) == PublicationStatus.PUBLISHED;
+            case SONG -> songService.getById(contentId).map(Song::getStatus).orElse(null) == PublicationStatus.PUBLISHED;
+            case THOUGHT -> thoughtService.getById(contentId).map(Thought::getStatus).orElse(null) == PublicationStatus.PUBLISHED;
+        };
+    }
+
+    private Roaring64Bitmap likersOf(ContentType type, Long contentId) {
+        return CacheLoads.get(likers, new LikeKey(type, contentId), key -> {
+            Roaring64Bitmap loaded = new Roaring64Bitmap();
+            jdbcTemplate.query(SELECT_LIKERS, rs -> {
+                loaded.addLong(rs.getLong(1));
+            }, key.type().name(), key.contentId());
+            return loaded;
+        });
+    }
+
+    private record LikeKey(ContentType type, Long contentId) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.exception.LoginThrottledException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-account login backoff. Failed logins are counted per email, including emails without an account that get past
+ * the registered-email filter. Emails the filter rules out are not counted, so a user whose registration has not
+ * reached this node yet is not locked out by retrying. After the free attempts every further failure locks the email
+ * for twice as long as the one before, up to a maximum; attempts during a lockout are rejected before any password
+ * is checked. A success clears the count, and so does a quiet period after the lockout ends.
+ * <p>
+ * Counts live in a size-bounded cache, so a flood of distinct emails cannot grow it without limit.
+ * Rejected attempts are counted as {@code auth.login.throttled}.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final String MESSAGE = "Too many failed login attempts. Try again later.";
+
+    private final Cache<String, Failures> failures;
+    private final int freeAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final LongSupplier clock;
+    private final Counter throttled;
+
+    @Autowired
+    public LoginThrottle(@Value("${login-throttle.free-attempts:3}") int freeAttempts,
+                         @Value("${login-throttle.base-delay-ms:1000}") long baseDelayMs,
+                         @Value("${login-throttle.max-delay-ms:900000}") long maxDelayMs,
+                         @Value("${login-throttle.reset-after-ms:900000}") long resetAfterMs,
+                         @Value("${login-throttle.max-tracked-emails:100000}") long maxTrackedEmails,
+                         MeterRegistry meterRegistry) {
+        this(freeAttempts, baseDelayMs, maxDelayMs, resetAfterMs, maxTrackedEmails, meterRegistry, System::currentTimeMillis);
+    }
+
+    LoginThrottle(int freeAttempts, long baseDelayMs, long maxDelayMs, long resetAfterMs, long maxTrackedEmails,
+                  MeterRegistry meterRegistry, LongSupplier clock) {
+        this.freeAttempts = freeAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.clock = clock;
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maxTrackedEmails)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .expireAfter(new Expiry<String, Failures>() {
+                    @Override
+                    public long expireAfterCreate(String email, Failures failures, long currentTime) {
+                        return untilForgotten(failures);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String email, Failures failures, long currentTime, long currentDuration) {
+                        return untilForgotten(failures);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String email, Failures failures, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    private long untilForgotten(Failures failures) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, failures.lockedUntil() - clock.getAsLong()) + resetAfterMs);
+                    }
+                })
+                .build();
+        this.throttled = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected because the account is backing off after failures")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws LoginThrottledException if the email is locked out after recent failures.
+     */
+    public void checkAllowed(String email) {
+        Failures current = failures.getIfPresent(key(email));
+        long remainingMs = current != null ? current.lockedUntil() - clock.getAsLong() : 0;
+        if (remainingMs > 0) {
+            throttled.increment();
+            throw new LoginThrottledException(MESSAGE, Math.max(1, (remainingMs + 999) / 1000));
+        }
+    }
+
+    public void recordFailure(String email) {
+        long now = clock.getAsLong();
+        failures.asMap().compute(key(email), (k, current) -> {
+            int count = current != null ? current.count() + 1 : 1;
+            return new Failures(count, now + delayAfter(count));
+        });
+    }
+
+    public void recordSuccess(String email) {
+        failures.invalidate(key(email));
+    }
+
+    /**
+     * Lockout after the given number of consecutive failures: none for the free attempts, then doubling from the base.
+     */
+    long delayAfter(int failureCount) {
+        if (failureCount <= freeAttempts) {
+            return 0;
+        }
+        long delay = baseDelayMs;
+        // Stops doubling at the cap, which also keeps the delay from overflowing
+        for (int i = freeAttempts + 1; i < failureCount && delay > 0 && delay < maxDelayMs; i++) {
+            delay *= 2;
+        }
+        return Math.min(maxDelayMs, delay);
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Failures(int count, long lockedUntil) {
+    }
+}
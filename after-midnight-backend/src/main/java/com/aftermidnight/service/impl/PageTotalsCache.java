@@ -0,0 +1,82 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.service.ContentChangedEvent;
+import com.aftermidnight.util.CacheLoads;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Serves the totals for paged list endpoints so the page itself can be fetched as a count-free {@link Slice}.
+ * Totals are counted once per (type, user, status) and kept until a {@link ContentChangedEvent} for that user commits
+ * or the entry expires.
+ */
+@Component
+public class PageTotalsCache {
+
+    private final AsyncCache<TotalKey, Long> totals;
+
+    public PageTotalsCache(@Value("${pagination.totals-cache.ttl-seconds:60}") long ttlSeconds,
+                           @Value("${pagination.totals-cache.max-size:10000}") long maxSize) {
+        this.totals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .buildAsync();
+    }
+
+    /**
+     * Turns a slice into a page. The count query only runs when the slice alone cannot determine the total
+     * and no cached total is available.
+     * @param userId The owner the list is filtered by, or null for the public feed.
+     * @param status The status the list is filtered by, or null for all statuses.
+     */
+    public <T> Page<T> toPage(Slice<T> slice, ContentType type, Long userId, PublicationStatus status, LongSupplier counter) {
+        long seen = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                : slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || slice.isFirst())) {
+            // The last page tells us the exact total for free
+            return new PageImpl<>(slice.getContent(), slice.getPageable(), seen);
+        }
+        long total = CacheLoads.get(totals, new TotalKey(type, userId, status), k -> counter.getAsLong());
+        if (slice.hasNext()) {
+            // Never report fewer elements than the slice has proven to exist
+            total = Math.max(total, seen + 1);
+        }
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        invalidate(event.type(), event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent.Batch batch) {
+        batch.events().forEach(this::onContentChanged);
+    }
+
+    /**
+     * Drops every total that content owned by this user contributes to.
+     */
+    public void invalidate(ContentType type, Long userId) {
+        totals.synchronous().invalidate(new TotalKey(type, null, PublicationStatus.PUBLISHED));
+        totals.synchronous().invalidate(new TotalKey(type, userId, null));
+        for (PublicationStatus status : PublicationStatus.values()) {
+            totals.synchronous().invalidate(new TotalKey(type, userId, status));
+        }
+    }
+
+    private record TotalKey(ContentType type, Long userId, PublicationStatus status) {
+    }
+}
@@ -1,16 +1,26 @@
 package com.aftermidnight.service.impl;
 
+import com.aftermidnight.entity.ContentType;
 import com.aftermidnight.entity.Poem;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.User;
 import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.projection.PoemRow;
+import com.aftermidnight.service.ContentChangedEvent;
 import com.aftermidnight.service.PoemService;
+import com.aftermidnight.util.FeedCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -20,10 +30,21 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed("service.invocations")
 @Transactional(readOnly = true)
 public class PoemServiceImpl implements PoemService {
 
     private final PoemRepository poemRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final UniqueViewerTracker uniqueViewerTracker;
+    private final TrendingRanker trendingRanker;
+    private final PageTotalsCache pageTotalsCache;
+    private final PublishedContentCache publishedContentCache;
+    private final PublicFeedCache publicFeedCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${content.summary-length:280}")
+    private int summaryLength = 280;
 
     @Override
     @Transactional
@@ -32,31 +53,65 @@ public class PoemServiceImpl implements PoemService {
         if (poem.getStatus() == PublicationStatus.PUBLISHED && poem.getPublishedAt() == null) {
             poem.setPublishedAt(LocalDateTime.now());
         }
-        return poemRepository.save(poem);
+        Poem saved = poemRepository.save(poem);
+        eventPublisher.publishEvent(ContentChangedEvent.created(ContentType.POEM, saved.getId(), poem.getUser().getId(), saved.getStatus()));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<Poem> createAll(List<Poem> poems) {
+        log.info("Saving {} new poems", poems.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Poem poem : poems) {
+            if (poem.getStatus() == PublicationStatus.PUBLISHED && poem.getPublishedAt() == null) {
+                poem.setPublishedAt(now);
+            }
+        }
+        List<Poem> saved = poemRepository.saveAll(poems);
+        eventPublisher.publishEvent(new ContentChangedEvent.Batch(saved.stream()
+                .map(poem -> ContentChangedEvent.created(ContentType.POEM, poem.getId(), poem.getUser().getId(), poem.getStatus()))
+                .toList()));
+        return saved;
     }
 
     @Override
-    public Page<Poem> getAllByUser(User user, Pageable pageable) {
+    public Page<PoemRow> getAllByUser(User user, Pageable pageable, boolean summary) {
         log.info("Fetching poems for user: {} with pageable: {}", user.getEmail(), pageable);
-        return poemRepository.findByUserAndDeletedFalse(user, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()));
+        Slice<PoemRow> slice = poemRepository.findRowsByUserId(user.getId(), textLength(summary), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()));
+        return pageTotalsCache.toPage(slice, ContentType.POEM, user.getId(), null, () -> poemRepository.countByUserAndDeletedFalse(user));
     }
 
     @Override
-    public Page<Poem> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable) {
+    public Page<PoemRow> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable, boolean summary) {
         log.info("Fetching poems for user: {} with status: {} and pageable: {}", user.getEmail(), status, pageable);
-        return poemRepository.findByUserAndStatusAndDeletedFalse(user, status, pageable);
+        Slice<PoemRow> slice = poemRepository.findRowsByUserIdAndStatus(user.getId(), status, textLength(summary), pageable);
+        return pageTotalsCache.toPage(slice, ContentType.POEM, user.getId(), status, () -> poemRepository.countByUserAndStatusAndDeletedFalse(user, status));
     }
 
     @Override
-    public Page<Poem> getAllPublished(Pageable pageable) {
+    public Page<PoemRow> getAllPublished(Pageable pageable, boolean summary) {
         log.info("Fetching all published poems with pageable: {}", pageable);
-        return poemRepository.findByStatusAndDeletedFalse(PublicationStatus.PUBLISHED, pageable);
+        return publicFeedCache.getPage(ContentType.POEM, summary, pageable, () -> {
+            Slice<PoemRow> slice = poemRepository.findRowsByStatus(PublicationStatus.PUBLISHED, textLength(summary), pageable);
+            return pageTotalsCache.toPage(slice, ContentType.POEM, null, PublicationStatus.PUBLISHED, () -> poemRepository.countByStatusAndDeletedFalse(PublicationStatus.PUBLISHED));
+        });
+    }
+
+    @Override
+    public List<PoemRow> getPublishedFeed(FeedCursor cursor, int limit, boolean summary) {
+        log.info("Fetching published poem feed after cursor: {} with limit: {}", cursor, limit);
+        if (cursor == null) {
+            return poemRepository.findFeedRows(PublicationStatus.PUBLISHED, textLength(summary), Limit.of(limit));
+        }
+        return poemRepository.findFeedRowsAfter(PublicationStatus.PUBLISHED, cursor.createdAt(), cursor.id(), textLength(summary), Limit.of(limit));
     }
 
     @Override
     public Optional<Poem> getById(Long id) {
         log.info("Fetching poem by id: {}", id);
-        return poemRepository.findByIdAndDeletedFalse(id);
+        return publishedContentCache.getPublished(ContentType.POEM, id, Poem::getStatus, PoemServiceImpl::snapshot,
+                () -> poemRepository.findByIdAndDeletedFalse(id));
     }
 
     @Override
@@ -66,6 +121,7 @@ public class PoemServiceImpl implements PoemService {
         poemRepository.findByIdAndDeletedFalse(id).ifPresent(poem -> {
             poem.setDeleted(true);
             poemRepository.save(poem);
+            eventPublisher.publishEvent(ContentChangedEvent.deleted(ContentType.POEM, id, poem.getUser().getId(), poem.getStatus()));
         });
     }
 
@@ -74,21 +130,49 @@ public class PoemServiceImpl implements PoemService {
     public Poem updateStatus(Long id, PublicationStatus status) {
         log.info("Updating status for poem id: {} to {}", id, status);
         return poemRepository.findByIdAndDeletedFalse(id).map(poem -> {
+            PublicationStatus previousStatus = poem.getStatus();
             poem.setStatus(status);
             if (status == PublicationStatus.PUBLISHED && poem.getPublishedAt() == null) {
                 poem.setPublishedAt(LocalDateTime.now());
             }
-            return poemRepository.save(poem);
+            Poem saved = poemRepository.save(poem);
+            eventPublisher.publishEvent(ContentChangedEvent.statusChanged(ContentType.POEM, id, poem.getUser().getId(), previousStatus, status));
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Poem not found"));
     }
 
     @Override
-    @Transactional
-    public void incrementViewCount(Long id) {
-        log.info("Incrementing view count for poem id: {}", id);
-        poemRepository.findByIdAndDeletedFalse(id).ifPresent(poem -> {
-            poem.setViewCount(poem.getViewCount() + 1);
-            poemRepository.save(poem);
-        });
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void incrementViewCount(Long id, String viewerKey) {
+        log.debug("Buffering view for poem id: {}", id);
+        viewCountBuffer.increment(ContentType.POEM, id);
+        uniqueViewerTracker.record(ContentType.POEM, id, viewerKey);
+        trendingRanker.recordView(ContentType.POEM, id);
+    }
+
+    /**
+     * Length the row queries cut the text to; 0 reads it in full.
+     */
+    private int textLength(boolean summary) {
+        return summary ? summaryLength : 0;
+    }
+
+    /**
+     * Detached copy for the shared cache; the owner is reduced to its id so no lazy proxy escapes the session.
+     */
+    private static Poem snapshot(Poem poem) {
+        return Poem.builder()
+                .id(poem.getId())
+                .title(poem.getTitle())
+                .content(poem.getContent())
+                .createdAt(poem.getCreatedAt())
+                .deleted(poem.isDeleted())
+                .status(poem.getStatus())
+                .publishedAt(poem.getPublishedAt())
+                .viewCount(poem.getViewCount())
+                .likeCount(poem.getLikeCount())
+                .uniqueViewers(poem.getUniqueViewers())
+                .user(User.builder().id(poem.getUser().getId()).build())
+                .build();
     }
 }
@@ -0,0 +1,171 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.service.ContentChangedEvent;
+import com.aftermidnight.util.CacheLoads;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caches the first pages of the anonymous v1 list endpoints at their default paging (10 per page, newest first).
+ * Concurrent misses for a page share one load. Once a page is older than the refresh interval it keeps being served
+ * while a single background reload runs, so a slow or failing database only makes the page staler, up to the max age.
+ * Publishing new content triggers such a reload; unpublishing or deleting drops the cached pages outright.
+ */
+@Component
+@Slf4j
+public class PublicFeedCache {
+
+    static final int DEFAULT_PAGE_SIZE = 10;
+    static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private final AsyncCache<PageKey, CachedPage> pages;
+    private final Map<ContentType, AtomicLong> generations = new EnumMap<>(ContentType.class);
+    private final Set<PageKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final int cachedPages;
+    private final long refreshAfterMs;
+    private final Executor refreshExecutor;
+    private final LongSupplier clock;
+
+    @Autowired
+    public PublicFeedCache(@Value("${public-feed-cache.pages:3}") int cachedPages,
+                           @Value("${public-feed-cache.refresh-after-seconds:10}") long refreshAfterSeconds,
+                           @Value("${public-feed-cache.max-age-seconds:60}") long maxAgeSeconds) {
+        this(cachedPages, refreshAfterSeconds, maxAgeSeconds, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "public-feed-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }), System::currentTimeMillis);
+    }
+
+    PublicFeedCache(int cachedPages, long refreshAfterSeconds, long maxAgeSeconds, Executor refreshExecutor, LongSupplier clock) {
+        this.cachedPages = cachedPages;
+        this.refreshAfterMs = Duration.ofSeconds(refreshAfterSeconds).toMillis();
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.pages = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(maxAgeSeconds))
+                .buildAsync();
+        for (ContentType type : ContentType.values()) {
+            generations.put(type, new AtomicLong());
+        }
+    }
+
+    /**
+     * Serves the page from the cache when the request uses the default paging and falls within the cached pages,
+     * otherwise runs the loader directly.
+     * @param summary Whether the page holds summaries; summary and full pages are cached separately.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> getPage(ContentType type, boolean summary, Pageable pageable, Supplier<Page<T>> loader) {
+        if (!covers(pageable)) {
+            return loader.get();
+        }
+        PageKey key = new PageKey(type, summary, pageable.getPageNumber());
+        CachedPage cached = CacheLoads.get(pages, key, k -> new CachedPage(loader.get(), clock.getAsLong()));
+        if (clock.getAsLong() - cached.loadedAt() >= refreshAfterMs) {
+            refresh(key, loader);
+        }
+        return (Page<T>) cached.page();
+    }
+
+    boolean covers(Pageable pageable) {
+        return pageable.isPaged()
+                && pageable.getPageNumber() < cachedPages
+                && pageable.getPageSize() == DEFAULT_PAGE_SIZE
+                && DEFAULT_SORT.equals(pageable.getSort());
+    }
+
+    private void refresh(PageKey key, Supplier<? extends Page<?>> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        long generation = generations.get(key.type()).get();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    pages.put(key, CompletableFuture.completedFuture(new CachedPage(loader.get(), clock.getAsLong())));
+                    if (generations.get(key.type()).get() != generation) {
+                        // Content was withdrawn while this reload was reading, so its result may still show it
+                        pages.synchronous().invalidate(key);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Refreshing {} page {} failed, serving the cached page", key.type().getTableName(), key.page(), e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(key);
+            log.warn("Could not schedule refresh of {} page {}", key.type().getTableName(), key.page(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        boolean wasPublished = event.previousStatus() == PublicationStatus.PUBLISHED;
+        boolean isPublished = event.status() == PublicationStatus.PUBLISHED;
+        if (wasPublished && (event.change() == ContentChangedEvent.Change.DELETED || !isPublished)) {
+            invalidate(event.type());
+        } else if (isPublished) {
+            expire(event.type());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent.Batch batch) {
+        batch.events().forEach(this::onContentChanged);
+    }
+
+    /**
+     * Drops every cached page of this type; the next request loads from the database.
+     */
+    public void invalidate(ContentType type) {
+        generations.get(type).incrementAndGet();
+        pages.synchronous().asMap().keySet().removeIf(key -> key.type() == type);
+    }
+
+    /**
+     * Marks every cached page of this type as due for refresh while still serving it until the reload completes.
+     */
+    private void expire(ContentType type) {
+        pages.synchronous().asMap().replaceAll((key, cached) ->
+                key.type() == type ? new CachedPage(cached.page(), Long.MIN_VALUE / 2) : cached);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private record PageKey(ContentType type, boolean summary, int page) {
+    }
+
+    private record CachedPage(Page<?> page, long loadedAt) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.service.ContentChangedEvent;
+import com.aftermidnight.util.CacheLoads;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Shared by-id cache for published content.
+ * Only items that were PUBLISHED and not deleted when loaded are stored, so drafts are always read from the database.
+ * The cache holds detached snapshots and hands out a fresh copy on every hit, so callers never share a mutable entity.
+ * Entries are dropped when a {@link ContentChangedEvent} for the item commits; view and like counts may lag by up to the TTL.
+ * Hit, miss and eviction statistics are exported as {@code cache.*} meters tagged {@code cache=content.<type>}.
+ */
+@Component
+public class PublishedContentCache {
+
+    private final Map<ContentType, AsyncCache<Long, Object>> caches = new EnumMap<>(ContentType.class);
+
+    public PublishedContentCache(@Value("${content-cache.ttl-seconds:30}") long ttlSeconds,
+                                 @Value("${content-cache.max-size:10000}") long maxSize,
+                                 MeterRegistry meterRegistry) {
+        for (ContentType type : ContentType.values()) {
+            AsyncCache<Long, Object> cache = Caffeine.newBuilder()
+                    .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                    .maximumSize(maxSize)
+                    .recordStats()
+                    .buildAsync();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "content." + type.getTableName());
+            caches.put(type, cache);
+        }
+    }
+
+    /**
+     * Returns the cached item, or loads it and caches it if it is published.
+     * Concurrent misses for the same id share a single load.
+     * @param statusOf Reads the publication status of a loaded item.
+     * @param snapshot Copies an item into a detached instance that is safe to share.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getPublished(ContentType type, Long id, Function<T, PublicationStatus> statusOf,
+                                        UnaryOperator<T> snapshot, Supplier<Optional<T>> loader) {
+        AtomicReference<Optional<T>> loadedHere = new AtomicReference<>();
+        Object value = CacheLoads.get(caches.get(type), id, k -> {
+            Optional<T> loaded = loader.get();
+            loadedHere.set(loaded);
+            if (loaded.isPresent() && statusOf.apply(loaded.get()) == PublicationStatus.PUBLISHED) {
+                return snapshot.apply(loaded.get());
+            }
+            return null;
+        });
+        if (loadedHere.get() != null) {
+            return loadedHere.get();
+        }
+        if (value != null) {
+            return Optional.of(snapshot.apply((T) value));
+        }
+        // Another caller's load found a draft or nothing and did not cache it
+        return loader.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        evict(event.type(), event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent.Batch batch) {
+        batch.events().forEach(this::onContentChanged);
+    }
+
+    public void evict(ContentType type, Long id) {
+        caches.get(type).synchronous().invalidate(id);
+    }
+}
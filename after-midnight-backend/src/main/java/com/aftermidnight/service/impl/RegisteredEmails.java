@@ -0,0 +1,133 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Bloom filter of every registered email, so logins for unknown emails are turned away without a database query.
+ * <p>
+ * The filter is built on startup, sized for twice the current number of users or the configured count, whichever is
+ * larger. Registrations on this node are added at once; registrations on other nodes are picked up by a periodic
+ * read of recently created users, which overlaps the previous read so late commits and modest clock skew between
+ * nodes are covered. A periodic full rebuild catches anything the incremental reads still missed.
+ * <p>
+ * A miss is only trusted while the filter is in sync: until the first full build succeeds, and whenever the last
+ * successful read is older than the staleness limit, every email counts as possibly registered and logins fall back
+ * to the database.
+ */
+@Component
+@Slf4j
+public class RegisteredEmails {
+
+    // Rows per round trip when reading every email; the MySQL driver honors it with useCursorFetch on
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+    private final long overlapMs;
+    private final long staleAfterMs;
+    private final LongSupplier clock;
+    private volatile BloomFilter filter;
+    private volatile long readSince;
+    private volatile long syncedAt;
+
+    @Autowired
+    public RegisteredEmails(JdbcTemplate jdbcTemplate,
+                            @Value("${registered-emails.expected-count:1000000}") long expectedEmails,
+                            @Value("${registered-emails.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${registered-emails.overlap-ms:300000}") long overlapMs,
+                            @Value("${registered-emails.stale-after-ms:30000}") long staleAfterMs) {
+        this(jdbcTemplate, expectedEmails, falsePositiveRate, overlapMs, staleAfterMs, System::currentTimeMillis);
+    }
+
+    RegisteredEmails(JdbcTemplate jdbcTemplate, long expectedEmails, double falsePositiveRate, long overlapMs,
+                     long staleAfterMs, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        this.overlapMs = overlapMs;
+        this.staleAfterMs = staleAfterMs;
+        this.clock = clock;
+    }
+
+    /**
+     * @return False only if no user had registered with this email as of the last read; true otherwise, whenever the
+     *         filter is not in sync, or by chance for a small fraction of unknown emails.
+     */
+    public boolean mightBeRegistered(String email) {
+        BloomFilter current = filter;
+        return current == null || clock.getAsLong() - syncedAt > staleAfterMs || current.mightContain(key(email));
+    }
+
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(key(email));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${registered-emails.rebuild-interval-ms:3600000}",
+               initialDelayString = "${registered-emails.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long startedAt = clock.getAsLong();
+        try {
+            Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEmails, 2 * (users != null ? users : 0)), falsePositiveRate);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("SELECT email FROM users");
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                rebuilt.add(key(rs.getString(1)));
+            });
+            readSince = startedAt - overlapMs;
+            filter = rebuilt;
+            syncedAt = startedAt;
+            log.info("Built registered email filter for {} users ({} bits, {} hashes)", users, rebuilt.getBitCount(), rebuilt.getHashCount());
+        } catch (DataAccessException e) {
+            log.warn("Could not build registered email filter, logins will query the database", e);
+        }
+    }
+
+    /**
+     * Adds users created since the last read, including those registered through other nodes.
+     */
+    @Scheduled(fixedDelayString = "${registered-emails.refresh-interval-ms:10000}",
+               initialDelayString = "${registered-emails.refresh-interval-ms:10000}")
+    public void refresh() {
+        BloomFilter current = filter;
+        if (current == null) {
+            rebuild();
+            return;
+        }
+        long startedAt = clock.getAsLong();
+        try {
+            jdbcTemplate.query("SELECT email FROM users WHERE created_at >= ?", rs -> {
+                current.add(key(rs.getString(1)));
+            }, new Timestamp(readSince));
+            readSince = startedAt - overlapMs;
+            syncedAt = startedAt;
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh registered email filter", e);
+        }
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
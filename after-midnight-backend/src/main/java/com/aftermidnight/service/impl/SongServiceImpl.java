@@ -1,16 +1,26 @@
 package com.aftermidnight.service.impl;
 
+import com.aftermidnight.entity.ContentType;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.Song;
 import com.aftermidnight.entity.User;
 import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.projection.SongRow;
+import com.aftermidnight.service.ContentChangedEvent;
 import com.aftermidnight.service.SongService;
+import com.aftermidnight.util.FeedCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -20,10 +30,21 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed("service.invocations")
 @Transactional(readOnly = true)
 public class SongServiceImpl implements SongService {
 
     private final SongRepository songRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final UniqueViewerTracker uniqueViewerTracker;
+    private final TrendingRanker trendingRanker;
+    private final PageTotalsCache pageTotalsCache;
+    private final PublishedContentCache publishedContentCache;
+    private final PublicFeedCache publicFeedCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${content.summary-length:280}")
+    private int summaryLength = 280;
 
     @Override
     @Transactional
@@ -32,31 +53,65 @@ public class SongServiceImpl implements SongService {
         if (song.getStatus() == PublicationStatus.PUBLISHED && song.getPublishedAt() == null) {
             song.setPublishedAt(LocalDateTime.now());
         }
-        return songRepository.save(song);
+        Song saved = songRepository.save(song);
+        eventPublisher.publishEvent(ContentChangedEvent.created(ContentType.SONG, saved.getId(), song.getUser().getId(), saved.getStatus()));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<Song> createAll(List<Song> songs) {
+        log.info("Saving {} new songs", songs.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Song song : songs) {
+            if (song.getStatus() == PublicationStatus.PUBLISHED && song.getPublishedAt() == null) {
+                song.setPublishedAt(now);
+            }
+        }
+        List<Song> saved = songRepository.saveAll(songs);
+        eventPublisher.publishEvent(new ContentChangedEvent.Batch(saved.stream()
+                .map(song -> ContentChangedEvent.created(ContentType.SONG, song.getId(), song.getUser().getId(), song.getStatus()))
+                .toList()));
+        return saved;
     }
 
     @Override
-    public Page<Song> getAllByUser(User user, Pageable pageable) {
+    public Page<SongRow> getAllByUser(User user, Pageable pageable, boolean summary) {
         log.info("Fetching songs for user: {} with pageable: {}", user.getEmail(), pageable);
-        return songRepository.findByUserAndDeletedFalse(user, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()));
+        Slice<SongRow> slice = songRepository.findRowsByUserId(user.getId(), textLength(summary), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()));
+        return pageTotalsCache.toPage(slice, ContentType.SONG, user.getId(), null, () -> songRepository.countByUserAndDeletedFalse(user));
     }
 
     @Override
-    public Page<Song> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable) {
+    public Page<SongRow> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable, boolean summary) {
         log.info("Fetching songs for user: {} with status: {} and pageable: {}", user.getEmail(), status, pageable);
-        return songRepository.findByUserAndStatusAndDeletedFalse(user, status, pageable);
+        Slice<SongRow> slice = songRepository.findRowsByUserIdAndStatus(user.getId(), status, textLength(summary), pageable);
+        return pageTotalsCache.toPage(slice, ContentType.SONG, user.getId(), status, () -> songRepository.countByUserAndStatusAndDeletedFalse(user, status));
     }
 
     @Override
-    public Page<Song> getAllPublished(Pageable pageable) {
+    public Page<SongRow> getAllPublished(Pageable pageable, boolean summary) {
         log.info("Fetching all published songs with pageable: {}", pageable);
-        return songRepository.findByStatusAndDeletedFalse(PublicationStatus.PUBLISHED, pageable);
+        return publicFeedCache.getPage(ContentType.SONG, summary, pageable, () -> {
+            Slice<SongRow> slice = songRepository.findRowsByStatus(PublicationStatus.PUBLISHED, textLength(summary), pageable);
+            return pageTotalsCache.toPage(slice, ContentType.SONG, null, PublicationStatus.PUBLISHED, () -> songRepository.countByStatusAndDeletedFalse(PublicationStatus.PUBLISHED));
+        });
+    }
+
+    @Override
+    public List<SongRow> getPublishedFeed(FeedCursor cursor, int limit, boolean summary) {
+        log.info("Fetching published song feed after cursor: {} with limit: {}", cursor, limit);
+        if (cursor == null) {
+            return songRepository.findFeedRows(PublicationStatus.PUBLISHED, textLength(summary), Limit.of(limit));
+        }
+        return songRepository.findFeedRowsAfter(PublicationStatus.PUBLISHED, cursor.createdAt(), cursor.id(), textLength(summary), Limit.of(limit));
     }
 
     @Override
     public Optional<Song> getById(Long id) {
         log.info("Fetching song by id: {}", id);
-        return songRepository.findByIdAndDeletedFalse(id);
+        return publishedContentCache.getPublished(ContentType.SONG, id, Song::getStatus, SongServiceImpl::snapshot,
+                () -> songRepository.findByIdAndDeletedFalse(id));
     }
 
     @Override
@@ -66,6 +121,7 @@ public class SongServiceImpl implements SongService {
         songRepository.findByIdAndDeletedFalse(id).ifPresent(song -> {
             song.setDeleted(true);
             songRepository.save(song);
+            eventPublisher.publishEvent(ContentChangedEvent.deleted(ContentType.SONG, id, song.getUser().getId(), song.getStatus()));
         });
     }
 
@@ -74,21 +130,50 @@ public class SongServiceImpl implements SongService {
     public Song updateStatus(Long id, PublicationStatus status) {
         log.info("Updating status for song id: {} to {}", id, status);
         return songRepository.findByIdAndDeletedFalse(id).map(song -> {
+            PublicationStatus previousStatus = song.getStatus();
             song.setStatus(status);
             if (status == PublicationStatus.PUBLISHED && song.getPublishedAt() == null) {
                 song.setPublishedAt(LocalDateTime.now());
             }
-            return songRepository.save(song);
+            Song saved = songRepository.save(song);
+            eventPublisher.publishEvent(ContentChangedEvent.statusChanged(ContentType.SONG, id, song.getUser().getId(), previousStatus, status));
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Song not found"));
     }
 
     @Override
-    @Transactional
-    public void incrementViewCount(Long id) {
-        log.info("Incrementing view count for song id: {}", id);
-        songRepository.findByIdAndDeletedFalse(id).ifPresent(song -> {
-            song.setViewCount(song.getViewCount() + 1);
-            songRepository.save(song);
-        });
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void incrementViewCount(Long id, String viewerKey) {
+        log.debug("Buffering view for song id: {}", id);
+        viewCountBuffer.increment(ContentType.SONG, id);
+        uniqueViewerTracker.record(ContentType.SONG, id, viewerKey);
+        trendingRanker.recordView(ContentType.SONG, id);
+    }
+
+    /**
+     * Length the row queries cut the text to; 0 reads it in full.
+     */
+    private int textLength(boolean summary) {
+        return summary ? summaryLength : 0;
+    }
+
+    /**
+     * Detached copy for the shared cache; the owner is reduced to its id so no lazy proxy escapes the session.
+     */
+    private static Song snapshot(Song song) {
+        return Song.builder()
+                .id(song.getId())
+                .title(song.getTitle())
+                .lyrics(song.getLyrics())
+                .audioUrl(song.getAudioUrl())
+                .createdAt(song.getCreatedAt())
+                .deleted(song.isDeleted())
+                .status(song.getStatus())
+                .publishedAt(song.getPublishedAt())
+                .viewCount(song.getViewCount())
+                .likeCount(song.getLikeCount())
+                .uniqueViewers(song.getUniqueViewers())
+                .user(User.builder().id(song.getUser().getId()).build())
+                .build();
     }
 }
@@ -1,16 +1,26 @@
 package com.aftermidnight.service.impl;
 
+import com.aftermidnight.entity.ContentType;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.Thought;
 import com.aftermidnight.entity.User;
 import com.aftermidnight.repository.ThoughtRepository;
+import com.aftermidnight.repository.projection.ThoughtRow;
+import com.aftermidnight.service.ContentChangedEvent;
 import com.aftermidnight.service.ThoughtService;
+import com.aftermidnight.util.FeedCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -20,10 +30,21 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed("service.invocations")
 @Transactional(readOnly = true)
 public class ThoughtServiceImpl implements ThoughtService {
 
     private final ThoughtRepository thoughtRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final UniqueViewerTracker uniqueViewerTracker;
+    private final TrendingRanker trendingRanker;
+    private final PageTotalsCache pageTotalsCache;
+    private final PublishedContentCache publishedContentCache;
+    private final PublicFeedCache publicFeedCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${content.summary-length:280}")
+    private int summaryLength = 280;
 
     @Override
     @Transactional
@@ -32,31 +53,65 @@ public class ThoughtServiceImpl implements ThoughtService {
         if (thought.getStatus() == PublicationStatus.PUBLISHED && thought.getPublishedAt() == null) {
             thought.setPublishedAt(LocalDateTime.now());
         }
-        return thoughtRepository.save(thought);
+        Thought saved = thoughtRepository.save(thought);
+        eventPublisher.publishEvent(ContentChangedEvent.created(ContentType.THOUGHT, saved.getId(), thought.getUser().getId(), saved.getStatus()));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<Thought> createAll(List<Thought> thoughts) {
+        log.info("Saving {} new thoughts", thoughts.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Thought thought : thoughts) {
+            if (thought.getStatus() == PublicationStatus.PUBLISHED && thought.getPublishedAt() == null) {
+                thought.setPublishedAt(now);
+            }
+        }
+        List<Thought> saved = thoughtRepository.saveAll(thoughts);
+        eventPublisher.publishEvent(new ContentChangedEvent.Batch(saved.stream()
+                .map(thought -> ContentChangedEvent.created(ContentType.THOUGHT, thought.getId(), thought.getUser().getId(), thought.getStatus()))
+                .toList()));
+        return saved;
     }
 
     @Override
-    public Page<Thought> getAllByUser(User user, Pageable pageable) {
+    public Page<ThoughtRow> getAllByUser(User user, Pageable pageable, boolean summary) {
         log.info("Fetching thoughts for user: {} with pageable: {}", user.getEmail(), pageable);
-        return thoughtRepository.findByUserAndDeletedFalse(user, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()));
+        Slice<ThoughtRow> slice = thoughtRepository.findRowsByUserId(user.getId(), textLength(summary), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()));
+        return pageTotalsCache.toPage(slice, ContentType.THOUGHT, user.getId(), null, () -> thoughtRepository.countByUserAndDeletedFalse(user));
     }
 
     @Override
-    public Page<Thought> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable) {
+    public Page<ThoughtRow> getAllByUserAndStatus(User user, PublicationStatus status, Pageable pageable, boolean summary) {
         log.info("Fetching thoughts for user: {} with status: {} and pageable: {}", user.getEmail(), status, pageable);
-        return thoughtRepository.findByUserAndStatusAndDeletedFalse(user, status, pageable);
+        Slice<ThoughtRow> slice = thoughtRepository.findRowsByUserIdAndStatus(user.getId(), status, textLength(summary), pageable);
+        return pageTotalsCache.toPage(slice, ContentType.THOUGHT, user.getId(), status, () -> thoughtRepository.countByUserAndStatusAndDeletedFalse(user, status));
     }
 
     @Override
-    public Page<Thought> getAllPublished(Pageable pageable) {
+    public Page<ThoughtRow> getAllPublished(Pageable pageable, boolean summary) {
         log.info("Fetching all published thoughts with pageable: {}", pageable);
-        return thoughtRepository.findByStatusAndDeletedFalse(PublicationStatus.PUBLISHED, pageable);
+        return publicFeedCache.getPage(ContentType.THOUGHT, summary, pageable, () -> {
+            Slice<ThoughtRow> slice = thoughtRepository.findRowsByStatus(PublicationStatus.PUBLISHED, textLength(summary), pageable);
+            return pageTotalsCache.toPage(slice, ContentType.THOUGHT, null, PublicationStatus.PUBLISHED, () -> thoughtRepository.countByStatusAndDeletedFalse(PublicationStatus.PUBLISHED));
+        });
+    }
+
+    @Override
+    public List<ThoughtRow> getPublishedFeed(FeedCursor cursor, int limit, boolean summary) {
+        log.info("Fetching published thought feed after cursor: {} with limit: {}", cursor, limit);
+        if (cursor == null) {
+            return thoughtRepository.findFeedRows(PublicationStatus.PUBLISHED, textLength(summary), Limit.of(limit));
+        }
+        return thoughtRepository.findFeedRowsAfter(PublicationStatus.PUBLISHED, cursor.createdAt(), cursor.id(), textLength(summary), Limit.of(limit));
     }
 
     @Override
     public Optional<Thought> getById(Long id) {
         log.info("Fetching thought by id: {}", id);
-        return thoughtRepository.findByIdAndDeletedFalse(id);
+        return publishedContentCache.getPublished(ContentType.THOUGHT, id, Thought::getStatus, ThoughtServiceImpl::snapshot,
+                () -> thoughtRepository.findByIdAndDeletedFalse(id));
     }
 
     @Override
@@ -66,6 +121,7 @@ public class ThoughtServiceImpl implements ThoughtService {
         thoughtRepository.findByIdAndDeletedFalse(id).ifPresent(thought -> {
             thought.setDeleted(true);
             thoughtRepository.save(thought);
+            eventPublisher.publishEvent(ContentChangedEvent.deleted(ContentType.THOUGHT, id, thought.getUser().getId(), thought.getStatus()));
         });
     }
 
@@ -74,21 +130,49 @@ public class ThoughtServiceImpl implements ThoughtService {
     public Thought updateStatus(Long id, PublicationStatus status) {
         log.info("Updating status for thought id: {} to {}", id, status);
         return thoughtRepository.findByIdAndDeletedFalse(id).map(thought -> {
+            PublicationStatus previousStatus = thought.getStatus();
             thought.setStatus(status);
             if (status == PublicationStatus.PUBLISHED && thought.getPublishedAt() == null) {
                 thought.setPublishedAt(LocalDateTime.now());
             }
-            return thoughtRepository.save(thought);
+            Thought saved = thoughtRepository.save(thought);
+            eventPublisher.publishEvent(ContentChangedEvent.statusChanged(ContentType.THOUGHT, id, thought.getUser().getId(), previousStatus, status));
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Thought not found"));
     }
 
     @Override
-    @Transactional
-    public void incrementViewCount(Long id) {
-        log.info("Incrementing view count for thought id: {}", id);
-        thoughtRepository.findByIdAndDeletedFalse(id).ifPresent(thought -> {
-            thought.setViewCount(thought.getViewCount() + 1);
-            thoughtRepository.save(thought);
-        });
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void incrementViewCount(Long id, String viewerKey) {
+        log.debug("Buffering view for thought id: {}", id);
+        viewCountBuffer.increment(ContentType.THOUGHT, id);
+        uniqueViewerTracker.record(ContentType.THOUGHT, id, viewerKey);
+        trendingRanker.recordView(ContentType.THOUGHT, id);
+    }
+
+    /**
+     * Length the row queries cut the text to; 0 reads it in full.
+     */
+    private int textLength(boolean summary) {
+        return summary ? summaryLength : 0;
+    }
+
+    /**
+     * Detached copy for the shared cache; the owner is reduced to its id so no lazy proxy escapes the session.
+     */
+    private static Thought snapshot(Thought thought) {
+        return Thought.builder()
+                .id(thought.getId())
+                .content(thought.getContent())
+                .mood(thought.getMood())
+                .createdAt(thought.getCreatedAt())
+                .deleted(thought.isDeleted())
+                .status(thought.getStatus())
+                .publishedAt(thought.getPublishedAt())
+                .viewCount(thought.getViewCount())
+                .likeCount(thought.getLikeCount())
+                .uniqueViewers(thought.getUniqueViewers())
+                .user(User.builder().id(thought.getUser().getId()).build())
+                .build();
     }
 }
@@ -0,0 +1,119 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.ThoughtService;
+import com.aftermidnight.service.TimelineItem;
+import com.aftermidnight.service.TimelineService;
+import com.aftermidnight.util.FeedCursor;
+import com.aftermidnight.util.TimelineCursor;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiFunction;
+
+/**
+ * K-way merge of the three single-type keyset feeds.
+ * Each feed is read lazily in batches from its own seek position: every stream starts with an equal share of the
+ * page, and a stream is only read again once the merge has consumed everything fetched from it, for no more rows
+ * than the page still needs. A page therefore reads fewer than twice its size in rows, however its items are spread
+ * across the types, where three full pages would read three times its size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("service.invocations")
+public class TimelineServiceImpl implements TimelineService {
+
+    /** Newest first; ties on the timestamp are broken by type, then by id like the single-type feeds. */
+    static final Comparator<TimelineItem> ORDER = Comparator.comparing(TimelineItem::createdAt).reversed()
+            .thenComparing(TimelineItem::type)
+            .thenComparing(Comparator.comparing(TimelineItem::id).reversed());
+
+    private final PoemService poemService;
+    private final SongService songService;
+    private final ThoughtService thoughtService;
+
+    @Override
+    public List<TimelineItem> getTimeline(TimelineCursor cursor, int limit, boolean summary) {
+        List<FeedStream> streams = List.of(
+                new FeedStream(ContentType.POEM, cursor, (position, batch) -> poemService.getPublishedFeed(position, batch, summary).stream()
+                        .map(poem -> new TimelineItem(ContentType.POEM, poem.id(), poem.createdAt(), poem)).toList()),
+                new FeedStream(ContentType.SONG, cursor, (position, batch) -> songService.getPublishedFeed(position, batch, summary).stream()
+                        .map(song -> new TimelineItem(ContentType.SONG, song.id(), song.createdAt(), song)).toList()),
+                new FeedStream(ContentType.THOUGHT, cursor, (position, batch) -> thoughtService.getPublishedFeed(position, batch, summary).stream()
+                        .map(thought -> new TimelineItem(ContentType.THOUGHT, thought.id(), thought.createdAt(), thought)).toList()));
+
+        int share = Math.max(1, (limit + streams.size() - 1) / streams.size());
+        PriorityQueue<FeedStream> heads = new PriorityQueue<>(Comparator.comparing(FeedStream::head, ORDER));
+        for (FeedStream stream : streams) {
+            if (stream.fill(share)) {
+                heads.add(stream);
+            }
+        }
+
+        List<TimelineItem> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            FeedStream best = heads.poll();
+            merged.add(best.next());
+            if (best.fill(limit - merged.size())) {
+                heads.add(best);
+            }
+        }
+        log.info("Merged timeline page of {} items after cursor: {}", merged.size(), cursor);
+        return merged;
+    }
+
+    /**
+     * One single-type feed, buffered from its current seek position.
+     */
+    private static final class FeedStream {
+
+        private final ContentType type;
+        private final BiFunction<FeedCursor, Integer, List<TimelineItem>> fetch;
+        private final Deque<TimelineItem> buffer = new ArrayDeque<>();
+        private FeedCursor position;
+        private boolean exhausted;
+
+        FeedStream(ContentType type, TimelineCursor cursor, BiFunction<FeedCursor, Integer, List<TimelineItem>> fetch) {
+            this.type = type;
+            this.fetch = fetch;
+            this.position = cursor != null ? cursor.positionIn(type) : null;
+        }
+
+        TimelineItem head() {
+            return buffer.peekFirst();
+        }
+
+        TimelineItem next() {
+            return buffer.pollFirst();
+        }
+
+        /**
+         * Reads up to {@code batch} more rows if the buffer ran dry.
+         * @return Whether the stream has a head to merge.
+         */
+        boolean fill(int batch) {
+            if (buffer.isEmpty() && !exhausted && batch > 0) {
+                List<TimelineItem> rows = fetch.apply(position, batch);
+                exhausted = rows.size() < batch;
+                if (!rows.isEmpty()) {
+                    TimelineItem last = rows.get(rows.size() - 1);
+                    position = FeedCursor.of(last.createdAt(), last.id());
+                    buffer.addAll(rows);
+                }
+                log.debug("Read {} {} rows for the timeline", rows.size(), type.getTableName());
+            }
+            return !buffer.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.service.ContentChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Incremental trending ranking across all content types.
+ * <p>
+ * Every view, like and publication adds a weight that halves with each half-life. Scores are kept as
+ * {@code log2} of the weights scaled up to a fixed epoch ("forward decay"), so the order of two items never changes
+ * merely because time passes: an event only moves its own item, and the ranking is a skip list read from the top.
+ * <p>
+ * Only content published within the trending window is ranked, up to a fixed number of items, dropping the lowest
+ * scores first. The ranking is checkpointed periodically and rebuilt from the checkpoint and the content tables on
+ * startup; items missing from the checkpoint are seeded from their stored counts as if engaged with at publication.
+ */
+@Component
+@Slf4j
+public class TrendingRanker {
+
+    private static final long EPOCH_MS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    private static final String PUBLISHED_SINCE =
+            "SELECT id, published_at, view_count, like_count FROM %s WHERE status = 'PUBLISHED' AND deleted = false AND published_at >= ?";
+
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::logScore).reversed()
+            .thenComparing(Ranked::type)
+            .thenComparingLong(Ranked::id);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<ItemKey, Ranked> scores = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final double halfLifeMs;
+    private final long windowMs;
+    private final int maxItems;
+    private final double viewWeight;
+    private final double likeWeight;
+    private final double publishWeight;
+    private final LongSupplier clock;
+
+    @Autowired
+    public TrendingRanker(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${trending.half-life-hours:24}") long halfLifeHours,
+                          @Value("${trending.window-days:7}") long windowDays,
+                          @Value("${trending.max-items:20000}") int maxItems,
+                          @Value("${trending.weights.view:1}") double viewWeight,
+                          @Value("${trending.weights.like:5}") double likeWeight,
+                          @Value("${trending.weights.publish:10}") double publishWeight) {
+        this(jdbcTemplate, transactionTemplate, halfLifeHours, windowDays, maxItems, viewWeight, likeWeight, publishWeight,
+                System::currentTimeMillis);
+    }
+
+    TrendingRanker(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, long halfLifeHours, long windowDays,
+                   int maxItems, double viewWeight, double likeWeight, double publishWeight, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.halfLifeMs = Duration.ofHours(halfLifeHours).toMillis();
+        this.windowMs = Duration.ofDays(windowDays).toMillis();
+        this.maxItems = maxItems;
+        this.viewWeight = viewWeight;
+        this.likeWeight = likeWeight;
+        this.publishWeight = publishWeight;
+        this.clock = clock;
+    }
+
+    /**
+     * The current top items, highest score first, with scores decayed to now.
+     */
+    public List<Entry> top(int limit) {
+        double now = exponent(clock.getAsLong());
+        List<Entry> top = new ArrayList<>(limit);
+        Set<ItemKey> seen = new HashSet<>();
+        for (Ranked ranked : ranking) {
+            if (top.size() >= limit) {
+                break;
+            }
+            // An item being rescored can briefly appear under both its old and its new score
+            if (seen.add(ranked.key())) {
+                top.add(new Entry(ranked.type(), ranked.id(), Math.pow(2, ranked.logScore() - now)));
+            }
+        }
+        return top;
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    public void recordView(ContentType type, Long id) {
+        bump(new ItemKey(type, id), viewWeight);
+    }
+
+    public void recordLike(ContentType type, Long id) {
+        bump(new ItemKey(type, id), likeWeight);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        ItemKey key = new ItemKey(event.type(), event.id());
+        if (event.change() == ContentChangedEvent.Change.DELETED || event.status() != PublicationStatus.PUBLISHED) {
+            remove(key);
+        } else if (event.previousStatus() != PublicationStatus.PUBLISHED) {
+            long now = clock.getAsLong();
+            admit(key, now, log2(publishWeight) + exponent(now));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent.Batch batch) {
+        batch.events().forEach(this::onContentChanged);
+    }
+
+    /**
+     * Adds a weighted event to an item that is already ranked. Engagement with content outside the trending window
+     * is not ranked, which also keeps views of drafts out.
+     */
+    private void bump(ItemKey key, double weight) {
+        double logWeight = log2(weight) + exponent(clock.getAsLong());
+        scores.computeIfPresent(key, (k, current) -> {
+            Ranked next = current.withLogScore(logAdd(current.logScore(), logWeight));
+            if (next.logScore() == current.logScore()) {
+                // Too small to register; re-adding an equal element would be a no-op and the removal would drop it
+                return current;
+            }
+            ranking.add(next);
+            ranking.remove(current);
+            return next;
+        });
+    }
+
+    private void admit(ItemKey key, long publishedAt, double logScore) {
+        scores.compute(key, (k, current) -> {
+            Ranked next = current != null
+                    ? current.withLogScore(logAdd(current.logScore(), logScore))
+                    : new Ranked(k, publishedAt, logScore);
+            if (current != null && next.logScore() == current.logScore()) {
+                return current;
+            }
+            ranking.add(next);
+            if (current != null) {
+                ranking.remove(current);
+            }
+            return next;
+        });
+        while (scores.size() > maxItems) {
+            Ranked lowest = ranking.pollLast();
+            if (lowest == null) {
+                break;
+            }
+            scores.remove(lowest.key(), lowest);
+        }
+    }
+
+    private void remove(ItemKey key) {
+        scores.computeIfPresent(key, (k, current) -> {
+            ranking.remove(current);
+            return null;
+        });
+    }
+
+    /**
+     * Replaces the ranking with one rebuilt from the last checkpoint and the published content in the window.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long now = clock.getAsLong();
+        Timestamp cutoff = new Timestamp(now - windowMs);
+        Map<ItemKey, Double> checkpointed = new HashMap<>();
+        try {
+            jdbcTemplate.query("SELECT content_type, content_id, score, scored_at FROM trending_scores", rs -> {
+                ItemKey key = new ItemKey(ContentType.valueOf(rs.getString(1)), rs.getLong(2));
+                checkpointed.put(key, log2(rs.getDouble(3)) + exponent(rs.getTimestamp(4).getTime()));
+            });
+
+            Map<ItemKey, Ranked> rebuilt = new HashMap<>();
+            for (ContentType type : ContentType.values()) {
+                jdbcTemplate.query(String.format(PUBLISHED_SINCE, type.getTableName()), rs -> {
+                    ItemKey key = new ItemKey(type, rs.getLong(1));
+                    long publishedAt = rs.getTimestamp(2).getTime();
+                    Double logScore = checkpointed.get(key);
+                    if (logScore == null) {
+                        double seed = publishWeight + viewWeight * rs.getLong(3) + likeWeight * rs.getLong(4);
+                        logScore = log2(seed) + exponent(publishedAt);
+                    }
+                    rebuilt.put(key, new Ranked(key, publishedAt, logScore));
+                }, cutoff);
+            }
+
+            scores.clear();
+            ranking.clear();
+            rebuilt.values().forEach(ranked -> admit(ranked.key(), ranked.publishedAt(), ranked.logScore()));
+            log.info("Rebuilt trending ranking with {} items ({} from checkpoint)", scores.size(), checkpointed.size());
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild trending ranking, starting empty", e);
+        }
+    }
+
+    /**
+     * Drops items that left the trending window and writes the ranking to {@code trending_scores}.
+     */
+    @Scheduled(fixedDelayString = "${trending.checkpoint-interval-ms:300000}",
+               initialDelayString = "${trending.checkpoint-interval-ms:300000}")
+    public void checkpoint() {
+        long now = clock.getAsLong();
+        long cutoff = now - windowMs;
+        scores.values().stream()
+                .filter(ranked -> ranked.publishedAt() < cutoff)
+                .forEach(ranked -> remove(ranked.key()));
+
+        double nowExponent = exponent(now);
+        Timestamp scoredAt = new Timestamp(now);
+        List<Ranked> snapshot = new ArrayList<>(scores.values());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM trending_scores");
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO trending_scores (content_type, content_id, published_at, score, scored_at) VALUES (?, ?, ?, ?, ?)",
+                        snapshot, 500, (ps, ranked) -> {
+                            ps.setString(1, ranked.type().name());
+                            ps.setLong(2, ranked.id());
+                            ps.setTimestamp(3, new Timestamp(ranked.publishedAt()));
+                            ps.setDouble(4, Math.pow(2, ranked.logScore() - nowExponent));
+                            ps.setTimestamp(5, scoredAt);
+                        });
+            });
+            log.debug("Checkpointed {} trending scores", snapshot.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to checkpoint {} trending scores", snapshot.size(), e);
+        }
+    }
+
+    private double exponent(long timeMs) {
+        return (timeMs - EPOCH_MS) / halfLifeMs;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    /**
+     * {@code log2(2^a + 2^b)} without leaving log space, so scores never overflow however far from the epoch.
+     */
+    private static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        return max + log2(1 + Math.pow(2, Math.min(a, b) - max));
+    }
+
+    /**
+     * A ranked item with its score decayed to the time it was read.
+     */
+    public record Entry(ContentType type, Long id, double score) {
+    }
+
+    private record ItemKey(ContentType type, long id) {
+    }
+
+    private record Ranked(ItemKey key, long publishedAt, double logScore) {
+
+        ContentType type() {
+            return key.type();
+        }
+
+        long id() {
+            return key.id();
+        }
+
+        Ranked withLogScore(double logScore) {
+            return new Ranked(key, publishedAt, logScore);
+        }
+    }
+}
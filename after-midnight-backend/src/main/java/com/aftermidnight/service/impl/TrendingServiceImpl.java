@@ -0,0 +1,54 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.ThoughtService;
+import com.aftermidnight.service.TrendingItem;
+import com.aftermidnight.service.TrendingService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads the top of the {@link TrendingRanker} and resolves each entry through the services' by-id lookups,
+ * which published content is served from the shared cache for.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("service.invocations")
+public class TrendingServiceImpl implements TrendingService {
+
+    private final TrendingRanker trendingRanker;
+    private final PoemService poemService;
+    private final SongService songService;
+    private final ThoughtService thoughtService;
+
+    @Override
+    public List<TrendingItem> getTrending(int limit) {
+        List<TrendingRanker.Entry> top = trendingRanker.top(limit);
+        List<TrendingItem> items = new ArrayList<>(top.size());
+        for (TrendingRanker.Entry entry : top) {
+            // Skips items withdrawn after they were ranked but before the event reached the ranker
+            resolve(entry).ifPresent(content -> items.add(new TrendingItem(entry.type(), content, entry.score())));
+        }
+        return items;
+    }
+
+    private Optional<Object> resolve(TrendingRanker.Entry entry) {
+        return switch (entry.type()) {
+            case POEM -> poemService.getById(entry.id())
+                    .filter(poem -> poem.getStatus() == PublicationStatus.PUBLISHED).map(Object.class::cast);
+            case SONG -> songService.getById(entry.id())
+                    .filter(song -> song.getStatus() == PublicationStatus.PUBLISHED).map(Object.class::cast);
+            case THOUGHT -> thoughtService.getById(entry.id())
+                    .filter(thought -> thought.getStatus() == PublicationStatus.PUBLISHED).map(Object.class::cast);
+        };
+    }
+}
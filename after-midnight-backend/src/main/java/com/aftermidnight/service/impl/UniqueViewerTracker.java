@@ -0,0 +1,222 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.util.HyperLogLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Approximate distinct-viewer counting.
+ * Each viewed item collects viewer hashes in memory, as a plain list while there are few of them and as a HyperLogLog
+ * sketch (4 KB, about 1.6% standard error) once the list would be as large, so memory follows the views recorded
+ * since the last flush rather than 4 KB per item. A periodic flush merges those into the item's stored sketch in {@code content_viewer_sketches} and writes the
+ * resulting estimate to the {@code unique_viewers} column, so only the sketch, never a viewer identity, is stored.
+ */
+@Component
+@Slf4j
+public class UniqueViewerTracker {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<ContentType, ConcurrentHashMap<Long, PendingViewers>> pending = new EnumMap<>(ContentType.class);
+    private final Map<ContentType, Map<Long, PendingViewers>> retired = new EnumMap<>(ContentType.class);
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter failedFlushes;
+
+    public UniqueViewerTracker(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        for (ContentType type : ContentType.values()) {
+            pending.put(type, new ConcurrentHashMap<>());
+            retired.put(type, Map.of());
+        }
+        Gauge.builder("viewers.unique.buffer.size", this, UniqueViewerTracker::size)
+                .description("Number of content ids with unflushed viewer sketches")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("viewers.unique.flush.failures")
+                .description("Number of sketch merges that failed and were re-queued")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a view by an opaque viewer key, such as a user id or a hash of the client address.
+     */
+    public void record(ContentType type, Long id, String viewerKey) {
+        pending.get(type).computeIfAbsent(id, k -> new PendingViewers()).offer(HyperLogLog.hash(viewerKey));
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<Long, PendingViewers> viewers : pending.values()) {
+            size += viewers.size();
+        }
+        return size;
+    }
+
+    @Scheduled(fixedDelayString = "${unique-viewers.flush-interval-ms:60000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            for (ContentType type : ContentType.values()) {
+                drain(type);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain(ContentType type) {
+        ConcurrentHashMap<Long, PendingViewers> live = pending.get(type);
+        Map<Long, PendingViewers> removed = new HashMap<>();
+        Map<Long, HyperLogLog> deltas = new HashMap<>();
+
+        for (Long id : live.keySet()) {
+            PendingViewers viewers = live.remove(id);
+            if (viewers != null) {
+                removed.put(id, viewers);
+                HyperLogLog sketch = viewers.drain();
+                if (sketch != null) {
+                    deltas.put(id, sketch);
+                }
+            }
+        }
+        // A view can still land on a buffer after it was removed above; those stragglers are
+        // drained from the retired buffers, which are otherwise empty, on the next flush.
+        retired.get(type).forEach((id, viewers) -> {
+            HyperLogLog late = viewers.drain();
+            if (late != null) {
+                deltas.merge(id, late, UniqueViewerTracker::union);
+            }
+        });
+        retired.put(type, removed);
+
+        for (Map.Entry<Long, HyperLogLog> entry : deltas.entrySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(type, entry.getKey(), entry.getValue()));
+            } catch (DataAccessException e) {
+                log.error("Failed to merge viewer sketch for {} id {}, re-queuing", type.getTableName(), entry.getKey(), e);
+                failedFlushes.increment();
+                live.computeIfAbsent(entry.getKey(), k -> new PendingViewers()).merge(entry.getValue());
+            }
+        }
+        if (!deltas.isEmpty()) {
+            log.debug("Merged viewer sketches for {} {}", deltas.size(), type.getTableName());
+        }
+    }
+
+    private void persist(ContentType type, Long id, HyperLogLog delta) {
+        List<byte[]> stored = jdbcTemplate.queryForList(
+                "SELECT sketch FROM content_viewer_sketches WHERE content_type = ? AND content_id = ? FOR UPDATE",
+                byte[].class, type.name(), id);
+        HyperLogLog merged = union(new HyperLogLog(), delta);
+        if (stored.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO content_viewer_sketches (content_type, content_id, sketch) VALUES (?, ?, ?)",
+                    type.name(), id, merged.toBytes());
+        } else {
+            merged.merge(HyperLogLog.fromBytes(stored.get(0)));
+            jdbcTemplate.update("UPDATE content_viewer_sketches SET sketch = ? WHERE content_type = ? AND content_id = ?",
+                    merged.toBytes(), type.name(), id);
+        }
+        jdbcTemplate.update("UPDATE " + type.getTableName() + " SET unique_viewers = ? WHERE id = ?",
+                merged.cardinality(), id);
+    }
+
+    private static HyperLogLog union(HyperLogLog into, HyperLogLog other) {
+        into.merge(other);
+        return into;
+    }
+
+    /**
+     * Viewers of one item since it was last drained. Hashes are kept in a list until it would take as much memory as
+     * a dense sketch, which most items never reach within a flush interval; repeat viewers are not deduplicated
+     * until then, which only makes the switch come sooner.
+     */
+    static final class PendingViewers {
+
+        private static final int INITIAL_CAPACITY = 4;
+        private static final int MAX_SPARSE = (1 << HyperLogLog.DEFAULT_PRECISION) / Long.BYTES;
+
+        private long[] hashes = new long[INITIAL_CAPACITY];
+        private int count;
+        private HyperLogLog dense;
+
+        synchronized void offer(long hash) {
+            if (dense != null) {
+                dense.offer(hash);
+                return;
+            }
+            if (count == hashes.length) {
+                if (count == MAX_SPARSE) {
+                    merge(new HyperLogLog());
+                    dense.offer(hash);
+                    return;
+                }
+                hashes = Arrays.copyOf(hashes, Math.min(2 * count, MAX_SPARSE));
+            }
+            hashes[count++] = hash;
+        }
+
+        /**
+         * Switches to a dense sketch and adds another sketch's viewers to it.
+         */
+        synchronized void merge(HyperLogLog sketch) {
+            if (dense == null) {
+                dense = sparseToSketch();
+                hashes = new long[0];
+                count = 0;
+            }
+            dense.merge(sketch);
+        }
+
+        /**
+         * Takes everything recorded so far and starts over empty.
+         * @return The recorded viewers, or null if there were none.
+         */
+        synchronized HyperLogLog drain() {
+            HyperLogLog sketch = dense != null ? dense : count > 0 ? sparseToSketch() : null;
+            dense = null;
+            if (hashes.length != INITIAL_CAPACITY) {
+                hashes = new long[INITIAL_CAPACITY];
+            }
+            count = 0;
+            return sketch;
+        }
+
+        synchronized boolean isDense() {
+            return dense != null;
+        }
+
+        private HyperLogLog sparseToSketch() {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < count; i++) {
+                sketch.offer(hashes[i]);
+            }
+            return sketch;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Final viewer sketch flush failed", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.UserContentStats;
+import com.aftermidnight.repository.UserContentStatsRepository;
+import com.aftermidnight.service.ContentChangedEvent;
+import com.aftermidnight.service.UserStatsService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@code user_content_stats} in step with the content tables.
+ * Status counts change in the same transaction as the content itself, since {@link ContentChangedEvent}s are
+ * handled synchronously where they are published. View and like totals are added by the count buffers when they
+ * flush, and a deleted item takes its views and likes out of its owner's totals.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("service.invocations")
+@Transactional(readOnly = true)
+public class UserStatsServiceImpl implements UserStatsService {
+
+    private final UserContentStatsRepository userContentStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UserContentStats> getStats(Long userId) {
+        log.info("Fetching content stats for user id: {}", userId);
+        return userContentStatsRepository.findByUserId(userId);
+    }
+
+    @EventListener
+    @Transactional
+    public void onContentChanged(ContentChangedEvent event) {
+        String type = event.type().name();
+        switch (event.change()) {
+            case CREATED -> addCreated(event.userId(), event.type(),
+                    event.status() == PublicationStatus.DRAFT ? 1 : 0,
+                    event.status() == PublicationStatus.PUBLISHED ? 1 : 0);
+            case STATUS_CHANGED -> {
+                if (event.previousStatus() != event.status()) {
+                    String from = countColumn(event.previousStatus());
+                    String to = countColumn(event.status());
+                    jdbcTemplate.update("UPDATE user_content_stats SET " + from + " = " + from + " - 1, " + to + " = " + to + " + 1 "
+                            + "WHERE user_id = ? AND content_type = ?", event.userId(), type);
+                }
+            }
+            case DELETED -> {
+                String column = countColumn(event.status());
+                String table = event.type().getTableName();
+                jdbcTemplate.update("UPDATE user_content_stats SET " + column + " = " + column + " - 1, "
+                                + "view_count = view_count - (SELECT view_count FROM " + table + " WHERE id = ?), "
+                                + "like_count = like_count - (SELECT like_count FROM " + table + " WHERE id = ?) "
+                                + "WHERE user_id = ? AND content_type = ?",
+                        event.id(), event.id(), event.userId(), type);
+            }
+        }
+    }
+
+    /**
+     * Applies the creations of a bulk change as one update per owner and content type rather than one per item.
+     */
+    @EventListener
+    @Transactional
+    public void onContentChanged(ContentChangedEvent.Batch batch) {
+        Map<CountKey, long[]> created = new LinkedHashMap<>();
+        for (ContentChangedEvent event : batch.events()) {
+            if (event.change() != ContentChangedEvent.Change.CREATED) {
+                onContentChanged(event);
+                continue;
+            }
+            long[] counts = created.computeIfAbsent(new CountKey(event.userId(), event.type()), key -> new long[2]);
+            counts[event.status() == PublicationStatus.PUBLISHED ? 1 : 0]++;
+        }
+        created.forEach((key, counts) -> addCreated(key.userId(), key.type(), counts[0], counts[1]));
+    }
+
+    private void addCreated(Long userId, ContentType type, long drafts, long published) {
+        String increment = "UPDATE user_content_stats SET draft_count = draft_count + ?, published_count = published_count + ? "
+                + "WHERE user_id = ? AND content_type = ?";
+        if (jdbcTemplate.update(increment, drafts, published, userId, type.name()) == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO user_content_stats (user_id, content_type, draft_count, published_count, view_count, like_count) "
+                        + "VALUES (?, ?, ?, ?, 0, 0)", userId, type.name(), drafts, published);
+            } catch (DuplicateKeyException e) {
+                // The user's first item of this type was created concurrently
+                jdbcTemplate.update(increment, drafts, published, userId, type.name());
+            }
+        }
+    }
+
+    private static String countColumn(PublicationStatus status) {
+        return status.name().toLowerCase() + "_count";
+    }
+
+    private record CountKey(Long userId, ContentType type) {
+    }
+}
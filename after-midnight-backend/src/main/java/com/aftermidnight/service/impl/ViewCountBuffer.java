@@ -0,0 +1,55 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind buffer for view counts.
+ * Views are counted in memory and flushed periodically as one
+ * {@code view_count = view_count + ?} update per dirty id, so a view never reads or rewrites the row.
+ */
+@Component
+public class ViewCountBuffer extends CountBuffer {
+
+    @Value("${view-counter.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${view-counter.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs = 5000;
+
+    public ViewCountBuffer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        super(jdbcTemplate, transactionTemplate, meterRegistry, "view_count", "views");
+    }
+
+    public void increment(ContentType type, Long id) {
+        add(type, id, 1);
+    }
+
+    /**
+     * Views recorded for an item that have not been written to the database yet.
+     */
+    public long pendingViews(ContentType type, Long id) {
+        return pending(type, id);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${view-counter.flush-interval-ms:5000}")
+    public void flush() {
+        super.flush();
+    }
+
+    @Override
+    protected int batchSize() {
+        return batchSize;
+    }
+
+    @Override
+    protected long shutdownTimeoutMs() {
+        return shutdownTimeoutMs;
+    }
+}
@@ -0,0 +1,56 @@
+package com.aftermidnight.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Loads cache misses outside the cache's internal locks.
+ * <p>
+ * A synchronous Caffeine cache runs its mapping function inside {@code ConcurrentHashMap.compute}, holding the
+ * monitor of the hash bin for the whole load. On Java 21 a virtual thread that blocks on the database while holding
+ * a monitor pins its carrier thread, so caches that load from the database are async caches read through here:
+ * a miss only installs an incomplete future under the lock and runs the load after releasing it, and concurrent
+ * misses for the same key wait on that future, which parks instead of pinning.
+ */
+public final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    /**
+     * Returns the cached value, or loads it on the calling thread and caches it.
+     * A null result is returned but not cached, and a failed load is rethrown to every caller waiting on it.
+     */
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> pending);
+        if (future != pending) {
+            return join(future);
+        }
+        try {
+            V value = loader.apply(key);
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.aftermidnight.util;
+
+import com.aftermidnight.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset (seek) pagination over {@code (created_at, id)}.
+ * The next page starts strictly after the row this cursor points at in {@code created_at DESC, id DESC} order.
+ */
+public record FeedCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static FeedCursor of(LocalDateTime createdAt, Long id) {
+        return new FeedCursor(createdAt, id);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * @return The cursor, or null when no token was supplied (first page).
+     * @throws InvalidCursorException if the token is malformed.
+     */
+    public static FeedCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new FeedCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,63 @@
+package com.aftermidnight.util;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for the mixed-type timeline, ordered by {@code created_at DESC}, then content type in
+ * declaration order, then {@code id DESC}. The next page starts strictly after the item this cursor points at.
+ */
+public record TimelineCursor(LocalDateTime createdAt, ContentType type, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static TimelineCursor of(LocalDateTime createdAt, ContentType type, Long id) {
+        return new TimelineCursor(createdAt, type, id);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * @return The cursor, or null when no token was supplied (first page).
+     * @throws InvalidCursorException if the token is malformed.
+     */
+    public static TimelineCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new TimelineCursor(
+                    LocalDateTime.parse(raw.substring(0, first)),
+                    ContentType.valueOf(raw.substring(first + 1, second)),
+                    Long.parseLong(raw.substring(second + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Where the single-type feed of {@code streamType} resumes for this cursor. At the cursor's timestamp,
+     * types ordered before the cursor's type are already consumed and types ordered after it are not.
+     */
+    public FeedCursor positionIn(ContentType streamType) {
+        if (streamType == type) {
+            return FeedCursor.of(createdAt, id);
+        }
+        return FeedCursor.of(createdAt, streamType.ordinal() < type.ordinal() ? Long.MIN_VALUE : Long.MAX_VALUE);
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + type.name() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
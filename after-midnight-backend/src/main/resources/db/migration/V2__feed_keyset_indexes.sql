@@ -0,0 +1,5 @@
+-- Composite indexes for keyset pagination of the published feeds:
+-- WHERE status = ? AND deleted = FALSE AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_poem_feed ON poems(status, deleted, created_at, id);
+CREATE INDEX idx_song_feed ON songs(status, deleted, created_at, id);
+CREATE INDEX idx_thought_feed ON thoughts(status, deleted, created_at, id);
@@ -0,0 +1,11 @@
+-- One row per (content, user) like. The primary key doubles as the lookup index for loading an item's likers.
+CREATE TABLE content_likes (
+    content_type VARCHAR(16) NOT NULL,
+    content_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at DATETIME NOT NULL,
+    PRIMARY KEY (content_type, content_id, user_id),
+    CONSTRAINT fk_content_like_user FOREIGN KEY (user_id) REFERENCES users(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_content_like_user_id ON content_likes(user_id);
@@ -0,0 +1,12 @@
+-- Approximate unique viewer counts, estimated from HyperLogLog sketches
+ALTER TABLE poems ADD COLUMN unique_viewers BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE songs ADD COLUMN unique_viewers BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE thoughts ADD COLUMN unique_viewers BIGINT NOT NULL DEFAULT 0;
+
+-- One merged sketch per item; the registers are stored raw, one byte each
+CREATE TABLE content_viewer_sketches (
+    content_type VARCHAR(16) NOT NULL,
+    content_id BIGINT NOT NULL,
+    sketch VARBINARY(4096) NOT NULL,
+    PRIMARY KEY (content_type, content_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
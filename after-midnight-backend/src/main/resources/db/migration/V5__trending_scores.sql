@@ -0,0 +1,9 @@
+-- Periodic checkpoint of the in-memory trending ranking, read back on startup
+CREATE TABLE trending_scores (
+    content_type VARCHAR(16) NOT NULL,
+    content_id BIGINT NOT NULL,
+    published_at DATETIME NOT NULL,
+    score DOUBLE NOT NULL,
+    scored_at DATETIME NOT NULL,
+    PRIMARY KEY (content_type, content_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,23 @@
+-- Per-user, per-type counters maintained by the application, so the dashboard needs no COUNT(*) or SUM
+CREATE TABLE user_content_stats (
+    user_id BIGINT NOT NULL,
+    content_type VARCHAR(16) NOT NULL,
+    draft_count BIGINT NOT NULL DEFAULT 0,
+    published_count BIGINT NOT NULL DEFAULT 0,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    like_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, content_type),
+    CONSTRAINT fk_user_content_stats_user FOREIGN KEY (user_id) REFERENCES users(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO user_content_stats (user_id, content_type, draft_count, published_count, view_count, like_count)
+SELECT user_id, 'POEM', SUM(status = 'DRAFT'), SUM(status = 'PUBLISHED'), SUM(view_count), SUM(like_count)
+FROM poems WHERE deleted = FALSE GROUP BY user_id;
+
+INSERT INTO user_content_stats (user_id, content_type, draft_count, published_count, view_count, like_count)
+SELECT user_id, 'SONG', SUM(status = 'DRAFT'), SUM(status = 'PUBLISHED'), SUM(view_count), SUM(like_count)
+FROM songs WHERE deleted = FALSE GROUP BY user_id;
+
+INSERT INTO user_content_stats (user_id, content_type, draft_count, published_count, view_count, like_count)
+SELECT user_id, 'THOUGHT', SUM(status = 'DRAFT'), SUM(status = 'PUBLISHED'), SUM(view_count), SUM(like_count)
+FROM thoughts WHERE deleted = FALSE GROUP BY user_id;
@@ -0,0 +1,12 @@
+-- Pooled id allocation for the JPA entities, replacing AUTO_INCREMENT ids so Hibernate can batch inserts.
+-- Each row is the high-water mark of one generator. It is seeded one allocation block (50) past the current
+-- maximum id, so no block handed out can reach an existing row.
+CREATE TABLE id_generators (
+    generator VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generators (generator, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 50 FROM users;
+INSERT INTO id_generators (generator, next_val) SELECT 'poems', COALESCE(MAX(id), 0) + 50 FROM poems;
+INSERT INTO id_generators (generator, next_val) SELECT 'songs', COALESCE(MAX(id), 0) + 50 FROM songs;
+INSERT INTO id_generators (generator, next_val) SELECT 'thoughts', COALESCE(MAX(id), 0) + 50 FROM thoughts;
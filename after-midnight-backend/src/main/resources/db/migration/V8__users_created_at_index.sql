@@ -0,0 +1,3 @@
+-- Supports the registered-email filter's periodic read of recently created users:
+-- SELECT email FROM users WHERE created_at >= ?
+CREATE INDEX idx_users_created_at ON users(created_at);
@@ -0,0 +1,58 @@
+package com.aftermidnight.config;
+
+import com.aftermidnight.security.CustomUserDetails;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpointExportsHotPathMeters() throws Exception {
+        mockMvc.perform(get("/api/v1/poems"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/poems/1").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isNotFound());
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains("http_server_requests_seconds_count{"), "controller timers");
+        assertTrue(body.contains("service_invocations_seconds_count{"), "service timers");
+        assertTrue(body.contains("spring_data_repository_invocations_seconds_count{"), "repository timers");
+        assertTrue(body.contains("security_filter_seconds_count{") && body.contains("filter=\"jwt\"")
+                && body.contains("filter=\"rate-limit\""), "filter timers");
+        assertTrue(body.contains("hikaricp_connections_active"), "connection pool gauges");
+        assertTrue(body.contains("hibernate_statements_total"), "Hibernate statistics");
+    }
+
+    @Test
+    void onlyHealthAndPrometheusAreExposed() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator").with(user(CustomUserDetails.fromClaims(1L, "user@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.health").exists())
+                .andExpect(jsonPath("$._links.prometheus").exists())
+                .andExpect(jsonPath("$._links.metrics").doesNotExist())
+                .andExpect(jsonPath("$._links.info").doesNotExist());
+    }
+}
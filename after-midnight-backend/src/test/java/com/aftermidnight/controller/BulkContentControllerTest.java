@@ -0,0 +1,157 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.UserContentStatsRepository;
+import com.aftermidnight.repository.UserRepository;
+import com.aftermidnight.security.CustomUserDetails;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkContentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PoemRepository poemRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserContentStatsRepository userContentStatsRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("bulkuser")
+                .email("bulk@example.com")
+                .password("password")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userContentStatsRepository.deleteAll();
+        poemRepository.deleteAll();
+        songRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createPoems_CreatesEveryItemAcrossIdBlocks() throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(Map.of("title", "Poem " + i, "content", "Content " + i, "status", i % 2 == 0 ? "PUBLISHED" : "DRAFT"));
+        }
+
+        String body = mockMvc.perform(post("/api/v2/poems/batch")
+                .with(user(new CustomUserDetails(user)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("items", items))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(120))
+                .andExpect(jsonPath("$.data[0].title").value("Poem 0"))
+                .andExpect(jsonPath("$.data[0].publishedAt").exists())
+                .andExpect(jsonPath("$.data[1].publishedAt").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        Set<Long> ids = new HashSet<>();
+        for (JsonNode poem : objectMapper.readTree(body).get("data")) {
+            ids.add(poem.get("id").asLong());
+        }
+        assertEquals(120, ids.size());
+        assertEquals(120, poemRepository.count());
+        var stats = userContentStatsRepository.findByUserId(user.getId()).stream()
+                .filter(row -> row.getContentType() == ContentType.POEM)
+                .findFirst().orElseThrow();
+        assertEquals(60, stats.getDraftCount());
+        assertEquals(60, stats.getPublishedCount());
+    }
+
+    @Test
+    void createSongs_CreatesEveryItem() throws Exception {
+        List<Map<String, Object>> items = List.of(
+                Map.of("title", "Song 1", "lyrics", "La la", "audioUrl", "https://example.com/1.mp3"),
+                Map.of("title", "Song 2", "lyrics", "Na na", "status", PublicationStatus.PUBLISHED.name()));
+
+        mockMvc.perform(post("/api/v2/songs/batch")
+                .with(user(new CustomUserDetails(user)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("items", items))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].audioUrl").value("https://example.com/1.mp3"))
+                .andExpect(jsonPath("$.data[1].status").value("PUBLISHED"));
+
+        assertEquals(2, songRepository.count());
+    }
+
+    @Test
+    void createPoems_RejectsWholeRequest_WhenAnItemIsInvalid() throws Exception {
+        List<Map<String, Object>> items = List.of(
+                Map.of("title", "Valid", "content", "Content"),
+                Map.of("title", "", "content", "Content"));
+
+        mockMvc.perform(post("/api/v2/poems/batch")
+                .with(user(new CustomUserDetails(user)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("items", items))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.data['items[1].title']").exists());
+
+        assertEquals(0, poemRepository.count());
+    }
+
+    @Test
+    void createPoems_RejectsEmptyRequest() throws Exception {
+        mockMvc.perform(post("/api/v2/poems/batch")
+                .with(user(new CustomUserDetails(user)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createPoems_RequiresAuthentication() throws Exception {
+        mockMvc.perform(post("/api/v2/poems/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"title\":\"T\",\"content\":\"C\"}]}"))
+                .andExpect(status().isForbidden());
+    }
+}
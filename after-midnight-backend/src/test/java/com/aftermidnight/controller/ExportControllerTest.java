@@ -0,0 +1,171 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.ThoughtRepository;
+import com.aftermidnight.repository.UserContentStatsRepository;
+import com.aftermidnight.repository.UserRepository;
+import com.aftermidnight.security.CustomUserDetails;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PoemRepository poemRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private ThoughtRepository thoughtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserContentStatsRepository userContentStatsRepository;
+
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("exportuser")
+                .email("export@example.com")
+                .password("password")
+                .build());
+        other = userRepository.save(User.builder()
+                .username("otheruser")
+                .email("other@example.com")
+                .password("password")
+                .build());
+        for (int i = 0; i < 30; i++) {
+            poemRepository.save(Poem.builder().title("Poem " + i).content("Content " + i)
+                    .status(PublicationStatus.PUBLISHED).user(user).build());
+        }
+        poemRepository.save(Poem.builder().title("Deleted").content("Gone").deleted(true).user(user).build());
+        poemRepository.save(Poem.builder().title("Not mine").content("Other").user(other).build());
+        thoughtRepository.save(Thought.builder().content("Late").mood("calm").user(user).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userContentStatsRepository.deleteAll();
+        poemRepository.deleteAll();
+        songRepository.deleteAll();
+        thoughtRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private List<JsonNode> lines(String body) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    @Test
+    void exportNdjson_StreamsAllOfTheUsersContent() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v2/export").with(user(new CustomUserDetails(user))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, ImportController.NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<JsonNode> lines = lines(body);
+        assertEquals(31, lines.size());
+        assertEquals("Poem 0", lines.get(0).get("title").asText());
+        assertEquals("PUBLISHED", lines.get(0).get("status").asText());
+        assertTrue(lines.stream().noneMatch(line -> line.path("title").asText().equals("Deleted")));
+        assertTrue(lines.stream().noneMatch(line -> line.path("title").asText().equals("Not mine")));
+        assertEquals("THOUGHT", lines.get(30).get("type").asText());
+        assertEquals("calm", lines.get(30).get("mood").asText());
+    }
+
+    @Test
+    void exportNdjson_CompressesWithGzip_WhenAccepted() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v2/export")
+                .with(user(new CustomUserDetails(user)))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(31, lines(new String(in.readAllBytes(), StandardCharsets.UTF_8)).size());
+        }
+    }
+
+    @Test
+    void exportNdjson_CanBeImportedBack() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v2/export").with(user(new CustomUserDetails(user))))
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        mockMvc.perform(post("/api/v2/import")
+                .with(user(new CustomUserDetails(other)))
+                .contentType(ImportController.NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(31))
+                .andExpect(jsonPath("$.data.failed").value(0));
+
+        assertEquals(62, poemRepository.count());
+        assertEquals(2, thoughtRepository.count());
+    }
+
+    @Test
+    void exportNdjson_RequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/v2/export"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,215 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.ThoughtRepository;
+import com.aftermidnight.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PoemRepository poemRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private ThoughtRepository thoughtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("feeduser")
+                .email("feed@example.com")
+                .password("password")
+                .build());
+        // Two poems share a timestamp so paging has to break the tie on id
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 5; i++) {
+            Poem poem = poemRepository.save(Poem.builder()
+                    .title("Poem " + i)
+                    .content("Content " + i)
+                    .status(PublicationStatus.PUBLISHED)
+                    .user(user)
+                    .build());
+            jdbcTemplate.update("UPDATE poems SET created_at = ? WHERE id = ?", base.plusMinutes(Math.min(i, 3)), poem.getId());
+        }
+        poemRepository.save(Poem.builder()
+                .title("Draft")
+                .content("Hidden")
+                .status(PublicationStatus.DRAFT)
+                .user(user)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        poemRepository.deleteAll();
+        songRepository.deleteAll();
+        thoughtRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getPoems_WalksAllPublishedPoemsWithCursor() throws Exception {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/v2/poems").param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode data = objectMapper.readTree(body).get("data");
+            data.get("content").forEach(item -> titles.add(item.get("title").asText()));
+            cursor = data.get("hasNext").asBoolean() ? data.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertEquals(5, titles.size());
+        assertFalse(titles.contains("Draft"));
+        assertEquals(5, titles.stream().distinct().count());
+    }
+
+    @Test
+    void getPoems_WithSummary_CutsContentInTheQuery() throws Exception {
+        jdbcTemplate.update("UPDATE poems SET content = ? WHERE title = 'Poem 4'", "x".repeat(1000));
+
+        mockMvc.perform(get("/api/v2/poems").param("size", "1").param("summary", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].title").value("Poem 4"))
+                .andExpect(jsonPath("$.data.content[0].content").value("x".repeat(280)))
+                .andExpect(jsonPath("$.data.content[0].userId").value(user.getId()));
+        mockMvc.perform(get("/api/v2/poems").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].content").value("x".repeat(1000)));
+    }
+
+    @Test
+    void getPoems_ReturnsBadRequest_WhenCursorMalformed() throws Exception {
+        mockMvc.perform(get("/api/v2/poems").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void getPoems_ReturnsNotModifiedUntilThePageChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/v2/poems").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/v2/poems").param("size", "2").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v2/poems").param("size", "3").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        jdbcTemplate.update("UPDATE poems SET view_count = 7 WHERE title = 'Poem 4'");
+        mockMvc.perform(get("/api/v2/poems").param("size", "2").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].viewCount").value(7));
+    }
+
+    @Test
+    void getPoems_KeepsTheETagWhenOnlyTheNextPageChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/v2/poems").param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Poem 2 is the row read past the page to tell whether another page follows
+        jdbcTemplate.update("UPDATE poems SET view_count = 7 WHERE title = 'Poem 2'");
+        mockMvc.perform(get("/api/v2/poems").param("size", "2").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        jdbcTemplate.update("UPDATE poems SET status = 'DRAFT' WHERE title IN ('Poem 0', 'Poem 1', 'Poem 2')");
+        mockMvc.perform(get("/api/v2/poems").param("size", "2").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+    }
+
+    @Test
+    void getTimeline_MergesAllTypesNewestFirst() throws Exception {
+        // Poems sit at 12:00-12:03; the song ties with the newest poems and the thought is newest of all
+        Song song = songRepository.save(Song.builder()
+                .title("Song")
+                .lyrics("Lyrics")
+                .status(PublicationStatus.PUBLISHED)
+                .user(user)
+                .build());
+        jdbcTemplate.update("UPDATE songs SET created_at = ? WHERE id = ?", LocalDateTime.of(2024, 1, 1, 12, 3), song.getId());
+        Thought thought = thoughtRepository.save(Thought.builder()
+                .content("Thought")
+                .mood("Calm")
+                .status(PublicationStatus.PUBLISHED)
+                .user(user)
+                .build());
+        jdbcTemplate.update("UPDATE thoughts SET created_at = ? WHERE id = ?", LocalDateTime.of(2024, 1, 1, 13, 0), thought.getId());
+
+        List<String> types = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/v2/feed").param("size", "3");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode data = objectMapper.readTree(body).get("data");
+            data.get("content").forEach(item -> types.add(item.get("type").asText()));
+            cursor = data.get("hasNext").asBoolean() ? data.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertEquals(List.of("THOUGHT", "POEM", "POEM", "SONG", "POEM", "POEM", "POEM"), types);
+    }
+
+    @Test
+    void getTimeline_ReturnsBadRequest_WhenCursorMalformed() throws Exception {
+        mockMvc.perform(get("/api/v2/feed").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.ThoughtRepository;
+import com.aftermidnight.repository.UserContentStatsRepository;
+import com.aftermidnight.repository.UserRepository;
+import com.aftermidnight.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PoemRepository poemRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private ThoughtRepository thoughtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserContentStatsRepository userContentStatsRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("importuser")
+                .email("import@example.com")
+                .password("password")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userContentStatsRepository.deleteAll();
+        poemRepository.deleteAll();
+        songRepository.deleteAll();
+        thoughtRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importNdjson_ImportsValidLinesAndReportsTheRest() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 450; i++) {
+            body.append("{\"type\":\"POEM\",\"title\":\"Poem ").append(i).append("\",\"content\":\"Content\",\"status\":\"PUBLISHED\"}\n");
+        }
+        body.append("{\"type\":\"SONG\",\"title\":\"Song\",\"lyrics\":\"La la\"}\n");
+        body.append("{\"type\":\"THOUGHT\",\"content\":\"Late\",\"mood\":\"calm\"}\n");
+        body.append("{\"type\":\"POEM\",\"title\":\"\",\"content\":\"Content\"}\n");
+
+        mockMvc.perform(post("/api/v2/import")
+                .with(user(new CustomUserDetails(user)))
+                .contentType(ImportController.NDJSON)
+                .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Import completed with errors"))
+                .andExpect(jsonPath("$.data.lines").value(453))
+                .andExpect(jsonPath("$.data.imported").value(452))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.errors[0].line").value(453));
+
+        assertEquals(450, poemRepository.count());
+        assertEquals(1, songRepository.count());
+        assertEquals(1, thoughtRepository.count());
+    }
+
+    @Test
+    void importNdjson_RequiresAuthentication() throws Exception {
+        mockMvc.perform(post("/api/v2/import")
+                .contentType(ImportController.NDJSON)
+                .content("{\"type\":\"POEM\",\"title\":\"T\",\"content\":\"C\"}\n"))
+                .andExpect(status().isForbidden());
+    }
+}
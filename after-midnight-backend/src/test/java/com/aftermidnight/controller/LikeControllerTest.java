@@ -0,0 +1,94 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.security.CustomUserDetails;
+import com.aftermidnight.service.LikeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LikeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LikeService likeService;
+
+    private CustomUserDetails customUserDetails;
+
+    @BeforeEach
+    void setUp() {
+        customUserDetails = new CustomUserDetails(User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .password("password")
+                .build());
+    }
+
+    @Test
+    void like_ReturnsLikeCount() throws Exception {
+        when(likeService.like(ContentType.SONG, 5L, 1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(post("/api/v2/songs/5/like")
+                .with(user(customUserDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.contentId").value(5))
+                .andExpect(jsonPath("$.data.liked").value(true))
+                .andExpect(jsonPath("$.data.likeCount").value(3));
+    }
+
+    @Test
+    void unlike_ReturnsLikeCount() throws Exception {
+        when(likeService.unlike(ContentType.POEM, 5L, 1L)).thenReturn(Optional.of(0L));
+
+        mockMvc.perform(delete("/api/v2/poems/5/like")
+                .with(user(customUserDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.liked").value(false))
+                .andExpect(jsonPath("$.data.likeCount").value(0));
+    }
+
+    @Test
+    void like_ReturnsNotFound_WhenContentMissing() throws Exception {
+        when(likeService.like(any(), any(), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/v2/thoughts/99/like")
+                .with(user(customUserDetails)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("RESOURCE_NOT_FOUND"));
+    }
+
+    @Test
+    void like_ReturnsNotFound_ForUnknownContentType() throws Exception {
+        mockMvc.perform(post("/api/v2/videos/1/like")
+                .with(user(customUserDetails)))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(likeService);
+    }
+
+    @Test
+    void like_RequiresAuthentication() throws Exception {
+        mockMvc.perform(post("/api/v2/poems/1/like"))
+                .andExpect(status().isForbidden());
+    }
+}
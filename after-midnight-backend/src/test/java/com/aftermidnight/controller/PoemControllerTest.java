@@ -3,6 +3,7 @@ package com.aftermidnight.controller;
 import com.aftermidnight.entity.Poem;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.projection.PoemRow;
 import com.aftermidnight.security.CustomUserDetails;
 import com.aftermidnight.service.PoemService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,10 +24,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +52,7 @@ class PoemControllerTest {
     private User otherUser;
     private CustomUserDetails customUserDetails;
     private Poem testPoem;
+    private PoemRow testPoemRow;
 
     @BeforeEach
     void setUp() {
@@ -69,6 +75,7 @@ class PoemControllerTest {
                 .user(testUser)
                 .status(PublicationStatus.PUBLISHED)
                 .build();
+        testPoemRow = new PoemRow(1L, "Test Poem", "Test Content", null, PublicationStatus.PUBLISHED, null, 0, 0, 0, 1L);
     }
 
     @Test
@@ -107,8 +114,8 @@ class PoemControllerTest {
 
     @Test
     void getAllByUser_ReturnsPoemPage() throws Exception {
-        Page<Poem> poemPage = new PageImpl<>(List.of(testPoem));
-        when(poemService.getAllByUser(any(User.class), any(Pageable.class))).thenReturn(poemPage);
+        Page<PoemRow> poemPage = new PageImpl<>(List.of(testPoemRow));
+        when(poemService.getAllByUser(any(User.class), any(Pageable.class), eq(false))).thenReturn(poemPage);
 
         mockMvc.perform(get("/api/v1/poems")
                 .with(user(customUserDetails)))
@@ -120,8 +127,8 @@ class PoemControllerTest {
 
     @Test
     void getAllByUserAndStatus_ReturnsPoemPage() throws Exception {
-        Page<Poem> poemPage = new PageImpl<>(List.of(testPoem));
-        when(poemService.getAllByUserAndStatus(any(User.class), eq(PublicationStatus.PUBLISHED), any(Pageable.class))).thenReturn(poemPage);
+        Page<PoemRow> poemPage = new PageImpl<>(List.of(testPoemRow));
+        when(poemService.getAllByUserAndStatus(any(User.class), eq(PublicationStatus.PUBLISHED), any(Pageable.class), eq(false))).thenReturn(poemPage);
 
         mockMvc.perform(get("/api/v1/poems")
                 .param("status", "PUBLISHED")
@@ -130,6 +137,22 @@ class PoemControllerTest {
                 .andExpect(jsonPath("$.data.content[0].status").value("PUBLISHED"));
     }
 
+    @Test
+    void getAllByUser_VariesByAuthorization() throws Exception {
+        Page<PoemRow> poemPage = new PageImpl<>(List.of(testPoemRow));
+        when(poemService.getAllPublished(any(Pageable.class), eq(false))).thenReturn(poemPage);
+
+        String etag = mockMvc.perform(get("/api/v1/poems"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andExpect(header().stringValues("Vary", hasItem("Authorization")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/poems").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("Vary", hasItem("Authorization")));
+    }
+
     @Test
     void getById_ReturnsPoem_WhenFoundAndPublished() throws Exception {
         when(poemService.getById(1L)).thenReturn(Optional.of(testPoem));
@@ -150,6 +173,38 @@ class PoemControllerTest {
                 .andExpect(jsonPath("$.data.id").value(1));
     }
 
+    @Test
+    void getById_ReturnsNotModified_WhenETagMatches() throws Exception {
+        when(poemService.getById(1L)).thenReturn(Optional.of(testPoem));
+
+        String etag = mockMvc.perform(get("/api/v1/poems/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/v1/poems/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        testPoem.setViewCount(5);
+        mockMvc.perform(get("/api/v1/poems/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.viewCount").value(5));
+    }
+
+    @Test
+    void getById_MarksDraftsPrivate() throws Exception {
+        testPoem.setStatus(PublicationStatus.DRAFT);
+        when(poemService.getById(1L)).thenReturn(Optional.of(testPoem));
+
+        mockMvc.perform(get("/api/v1/poems/1")
+                .with(user(customUserDetails)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
     @Test
     void getById_ReturnsForbidden_WhenDraftAndNotOwner() throws Exception {
         testPoem.setStatus(PublicationStatus.DRAFT);
@@ -192,7 +247,7 @@ class PoemControllerTest {
     @Test
     void incrementViewCount_ReturnsOk() throws Exception {
         when(poemService.getById(1L)).thenReturn(Optional.of(testPoem));
-        doNothing().when(poemService).incrementViewCount(1L);
+        doNothing().when(poemService).incrementViewCount(eq(1L), anyString());
 
         mockMvc.perform(post("/api/v1/poems/1/view")
                 .with(user(customUserDetails)))
@@ -200,12 +255,24 @@ class PoemControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("View count incremented"));
 
-        verify(poemService, times(1)).incrementViewCount(1L);
+        verify(poemService, times(1)).incrementViewCount(1L, "user:" + customUserDetails.getUser().getId());
+    }
+
+    @Test
+    void getAllPublished_WithSummary_RequestsSummaries() throws Exception {
+        when(poemService.getAllPublished(any(Pageable.class), eq(true))).thenReturn(new PageImpl<>(List.of(testPoemRow)));
+
+        mockMvc.perform(get("/api/v1/poems")
+                .param("summary", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1));
+
+        verify(poemService, never()).getAllPublished(any(Pageable.class), eq(false));
     }
 
     @Test
     void endpoints_AreSecured() throws Exception {
-        when(poemService.getAllPublished(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(poemService.getAllPublished(any(Pageable.class), eq(false))).thenReturn(new PageImpl<>(List.of()));
         
         // GET is now public for poems
         mockMvc.perform(get("/api/v1/poems"))
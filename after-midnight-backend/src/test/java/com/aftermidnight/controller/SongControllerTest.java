@@ -3,6 +3,7 @@ package com.aftermidnight.controller;
 import com.aftermidnight.entity.Song;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.projection.SongRow;
 import com.aftermidnight.security.CustomUserDetails;
 import com.aftermidnight.service.SongService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,11 +22,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -46,6 +50,7 @@ class SongControllerTest {
     private User otherUser;
     private CustomUserDetails customUserDetails;
     private Song testSong;
+    private SongRow testSongRow;
 
     @BeforeEach
     void setUp() {
@@ -68,6 +73,7 @@ class SongControllerTest {
                 .user(testUser)
                 .status(PublicationStatus.PUBLISHED)
                 .build();
+        testSongRow = new SongRow(1L, "Test Song", "Test Lyrics", null, null, PublicationStatus.PUBLISHED, null, 0, 0, 0, 1L);
     }
 
     @Test
@@ -106,8 +112,8 @@ class SongControllerTest {
 
     @Test
     void getAllByUser_ReturnsSongPage() throws Exception {
-        Page<Song> songPage = new PageImpl<>(List.of(testSong));
-        when(songService.getAllByUser(any(User.class), any(Pageable.class))).thenReturn(songPage);
+        Page<SongRow> songPage = new PageImpl<>(List.of(testSongRow));
+        when(songService.getAllByUser(any(User.class), any(Pageable.class), eq(false))).thenReturn(songPage);
 
         mockMvc.perform(get("/api/v1/songs")
                 .with(user(customUserDetails)))
@@ -119,8 +125,8 @@ class SongControllerTest {
 
     @Test
     void getAllByUserAndStatus_ReturnsSongPage() throws Exception {
-        Page<Song> songPage = new PageImpl<>(List.of(testSong));
-        when(songService.getAllByUserAndStatus(any(User.class), eq(PublicationStatus.PUBLISHED), any(Pageable.class))).thenReturn(songPage);
+        Page<SongRow> songPage = new PageImpl<>(List.of(testSongRow));
+        when(songService.getAllByUserAndStatus(any(User.class), eq(PublicationStatus.PUBLISHED), any(Pageable.class), eq(false))).thenReturn(songPage);
 
         mockMvc.perform(get("/api/v1/songs")
                 .param("status", "PUBLISHED")
@@ -151,6 +157,38 @@ class SongControllerTest {
                 .andExpect(jsonPath("$.data.title").value("Test Song"));
     }
 
+    @Test
+    void getById_ReturnsNotModified_WhenETagMatches() throws Exception {
+        when(songService.getById(1L)).thenReturn(Optional.of(testSong));
+
+        String etag = mockMvc.perform(get("/api/v1/songs/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/v1/songs/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        testSong.setViewCount(5);
+        mockMvc.perform(get("/api/v1/songs/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.viewCount").value(5));
+    }
+
+    @Test
+    void getById_MarksDraftsPrivate() throws Exception {
+        testSong.setStatus(PublicationStatus.DRAFT);
+        when(songService.getById(1L)).thenReturn(Optional.of(testSong));
+
+        mockMvc.perform(get("/api/v1/songs/1")
+                .with(user(customUserDetails)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
     @Test
     void getById_ReturnsForbidden_WhenDraftAndNotOwner() throws Exception {
         testSong.setStatus(PublicationStatus.DRAFT);
@@ -193,7 +231,7 @@ class SongControllerTest {
     @Test
     void incrementViewCount_ReturnsOk() throws Exception {
         when(songService.getById(1L)).thenReturn(Optional.of(testSong));
-        doNothing().when(songService).incrementViewCount(1L);
+        doNothing().when(songService).incrementViewCount(eq(1L), anyString());
 
         mockMvc.perform(post("/api/v1/songs/1/view")
                 .with(user(customUserDetails)))
@@ -201,12 +239,24 @@ class SongControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("View count incremented"));
 
-        verify(songService, times(1)).incrementViewCount(1L);
+        verify(songService, times(1)).incrementViewCount(1L, "user:" + customUserDetails.getUser().getId());
+    }
+
+    @Test
+    void getAllPublished_WithSummary_RequestsSummaries() throws Exception {
+        when(songService.getAllPublished(any(Pageable.class), eq(true))).thenReturn(new PageImpl<>(List.of(testSongRow)));
+
+        mockMvc.perform(get("/api/v1/songs")
+                .param("summary", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1));
+
+        verify(songService, never()).getAllPublished(any(Pageable.class), eq(false));
     }
 
     @Test
     void endpoints_AreSecured() throws Exception {
-        when(songService.getAllPublished(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(songService.getAllPublished(any(Pageable.class), eq(false))).thenReturn(new PageImpl<>(List.of()));
         
         // GET is now public
         mockMvc.perform(get("/api/v1/songs"))
@@ -3,6 +3,7 @@ package com.aftermidnight.controller;
 import com.aftermidnight.entity.Thought;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.projection.ThoughtRow;
 import com.aftermidnight.security.CustomUserDetails;
 import com.aftermidnight.service.ThoughtService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,11 +22,14 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -46,6 +50,7 @@ class ThoughtControllerTest {
     private User otherUser;
     private CustomUserDetails customUserDetails;
     private Thought testThought;
+    private ThoughtRow testThoughtRow;
 
     @BeforeEach
     void setUp() {
@@ -68,6 +73,7 @@ class ThoughtControllerTest {
                 .user(testUser)
                 .status(PublicationStatus.PUBLISHED)
                 .build();
+        testThoughtRow = new ThoughtRow(1L, "Test Content", null, PublicationStatus.PUBLISHED, null, 0, 0, 0, 1L);
     }
 
     @Test
@@ -105,8 +111,8 @@ class ThoughtControllerTest {
 
     @Test
     void getAllByUser_ReturnsThoughtPage() throws Exception {
-        Page<Thought> thoughtPage = new PageImpl<>(List.of(testThought));
-        when(thoughtService.getAllByUser(any(User.class), any(Pageable.class))).thenReturn(thoughtPage);
+        Page<ThoughtRow> thoughtPage = new PageImpl<>(List.of(testThoughtRow));
+        when(thoughtService.getAllByUser(any(User.class), any(Pageable.class), eq(false))).thenReturn(thoughtPage);
 
         mockMvc.perform(get("/api/v1/thoughts")
                 .with(user(customUserDetails)))
@@ -118,8 +124,8 @@ class ThoughtControllerTest {
 
     @Test
     void getAllByUserAndStatus_ReturnsThoughtPage() throws Exception {
-        Page<Thought> thoughtPage = new PageImpl<>(List.of(testThought));
-        when(thoughtService.getAllByUserAndStatus(any(User.class), eq(PublicationStatus.PUBLISHED), any(Pageable.class))).thenReturn(thoughtPage);
+        Page<ThoughtRow> thoughtPage = new PageImpl<>(List.of(testThoughtRow));
+        when(thoughtService.getAllByUserAndStatus(any(User.class), eq(PublicationStatus.PUBLISHED), any(Pageable.class), eq(false))).thenReturn(thoughtPage);
 
         mockMvc.perform(get("/api/v1/thoughts")
                 .param("status", "PUBLISHED")
@@ -148,6 +154,38 @@ class ThoughtControllerTest {
                 .andExpect(jsonPath("$.data.id").value(1));
     }
 
+    @Test
+    void getById_ReturnsNotModified_WhenETagMatches() throws Exception {
+        when(thoughtService.getById(1L)).thenReturn(Optional.of(testThought));
+
+        String etag = mockMvc.perform(get("/api/v1/thoughts/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/v1/thoughts/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        testThought.setViewCount(5);
+        mockMvc.perform(get("/api/v1/thoughts/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.viewCount").value(5));
+    }
+
+    @Test
+    void getById_MarksDraftsPrivate() throws Exception {
+        testThought.setStatus(PublicationStatus.DRAFT);
+        when(thoughtService.getById(1L)).thenReturn(Optional.of(testThought));
+
+        mockMvc.perform(get("/api/v1/thoughts/1")
+                .with(user(customUserDetails)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
     @Test
     void getById_ReturnsForbidden_WhenDraftAndNotOwner() throws Exception {
         testThought.setStatus(PublicationStatus.DRAFT);
@@ -190,7 +228,7 @@ class ThoughtControllerTest {
     @Test
     void incrementViewCount_ReturnsOk() throws Exception {
         when(thoughtService.getById(1L)).thenReturn(Optional.of(testThought));
-        doNothing().when(thoughtService).incrementViewCount(1L);
+        doNothing().when(thoughtService).incrementViewCount(eq(1L), anyString());
 
         mockMvc.perform(post("/api/v1/thoughts/1/view")
                 .with(user(customUserDetails)))
@@ -198,12 +236,24 @@ class ThoughtControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("View count incremented"));
 
-        verify(thoughtService, times(1)).incrementViewCount(1L);
+        verify(thoughtService, times(1)).incrementViewCount(1L, "user:" + customUserDetails.getUser().getId());
+    }
+
+    @Test
+    void getAllPublished_WithSummary_RequestsSummaries() throws Exception {
+        when(thoughtService.getAllPublished(any(Pageable.class), eq(true))).thenReturn(new PageImpl<>(List.of(testThoughtRow)));
+
+        mockMvc.perform(get("/api/v1/thoughts")
+                .param("summary", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1));
+
+        verify(thoughtService, never()).getAllPublished(any(Pageable.class), eq(false));
     }
 
     @Test
     void endpoints_AreSecured() throws Exception {
-        when(thoughtService.getAllPublished(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(thoughtService.getAllPublished(any(Pageable.class), eq(false))).thenReturn(new PageImpl<>(List.of()));
         
         // GET is now public
         mockMvc.perform(get("/api/v1/thoughts"))
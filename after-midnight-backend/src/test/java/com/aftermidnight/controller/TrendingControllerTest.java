@@ -0,0 +1,61 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.service.TrendingItem;
+import com.aftermidnight.service.TrendingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TrendingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TrendingService trendingService;
+
+    @Test
+    void getTrending_IsPublicAndMixesTypes() throws Exception {
+        User user = User.builder().id(1L).build();
+        Poem poem = Poem.builder().id(3L).title("Hot").content("Poem").status(PublicationStatus.PUBLISHED).user(user).build();
+        Thought thought = Thought.builder().id(4L).content("Warm").status(PublicationStatus.PUBLISHED).user(user).build();
+        when(trendingService.getTrending(10)).thenReturn(List.of(
+                new TrendingItem(ContentType.POEM, poem, 12.5),
+                new TrendingItem(ContentType.THOUGHT, thought, 2.0)));
+
+        mockMvc.perform(get("/api/v2/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].type").value("POEM"))
+                .andExpect(jsonPath("$.data[0].score").value(12.5))
+                .andExpect(jsonPath("$.data[0].content.title").value("Hot"))
+                .andExpect(jsonPath("$.data[1].type").value("THOUGHT"))
+                .andExpect(jsonPath("$.data[1].content.content").value("Warm"));
+    }
+
+    @Test
+    void getTrending_ClampsSize() throws Exception {
+        when(trendingService.getTrending(anyInt())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v2/trending").param("size", "1000"))
+                .andExpect(status().isOk());
+
+        verify(trendingService).getTrending(TrendingController.MAX_SIZE);
+    }
+}
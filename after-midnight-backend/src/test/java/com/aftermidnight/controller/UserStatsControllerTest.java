@@ -0,0 +1,63 @@
+package com.aftermidnight.controller;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.entity.UserContentStats;
+import com.aftermidnight.security.CustomUserDetails;
+import com.aftermidnight.service.UserStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    @Test
+    void getStats_SumsTypesForCurrentUser() throws Exception {
+        CustomUserDetails customUserDetails = new CustomUserDetails(User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .password("password")
+                .build());
+        when(userStatsService.getStats(1L)).thenReturn(List.of(
+                UserContentStats.builder().userId(1L).contentType(ContentType.POEM)
+                        .draftCount(2).publishedCount(3).viewCount(40).likeCount(4).build(),
+                UserContentStats.builder().userId(1L).contentType(ContentType.THOUGHT)
+                        .draftCount(0).publishedCount(1).viewCount(2).likeCount(1).build()));
+
+        mockMvc.perform(get("/api/v2/users/me/stats")
+                .with(user(customUserDetails)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.poems.drafts").value(2))
+                .andExpect(jsonPath("$.data.poems.total").value(5))
+                .andExpect(jsonPath("$.data.songs.total").value(0))
+                .andExpect(jsonPath("$.data.thoughts.published").value(1))
+                .andExpect(jsonPath("$.data.totalViews").value(42))
+                .andExpect(jsonPath("$.data.totalLikes").value(5));
+    }
+
+    @Test
+    void getStats_RequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/v2/users/me/stats"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -9,4 +9,14 @@ public class ExceptionTestController {
     public void throwException() {
         throw new RuntimeException("Test exception message");
     }
-}
\ No newline at end of file
+
+    @GetMapping("/api/test-throttled")
+    public void throwThrottled() {
+        throw new LoginThrottledException("Test throttled message", 8);
+    }
+
+    @GetMapping("/api/test-busy")
+    public void throwBusy() {
+        throw new ServiceBusyException("Test busy message", 2);
+    }
+}
@@ -55,4 +55,12 @@ class CustomUserDetailsTest {
     void getUserReturnsWrappedUser() {
         assertEquals(user, customUserDetails.getUser());
     }
+
+    @Test
+    void fromClaimsBuildsPrincipalWithIdAndEmail() {
+        CustomUserDetails details = CustomUserDetails.fromClaims(7L, "claims@example.com");
+
+        assertEquals(7L, details.getUser().getId());
+        assertEquals("claims@example.com", details.getUsername());
+    }
 }
@@ -1,5 +1,11 @@
 package com.aftermidnight.security;
 
+import com.aftermidnight.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,14 +15,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.io.IOException;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,8 +45,8 @@ class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @Mock
-    private UserDetails userDetails;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -49,15 +57,37 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    void doFilterInternalWithValidTokenSetsAuthentication() throws ServletException, IOException {
+    void doFilterInternalWithValidTokenSetsAuthenticationFromClaims() throws ServletException, IOException {
         String jwt = "valid-token";
-        String userEmail = "test@example.com";
+        Claims claims = Jwts.claims().subject("test@example.com").add("uid", 1L).build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtUtil.parseClaims(jwt)).thenReturn(claims);
+        when(jwtUtil.extractUserId(claims)).thenReturn(1L);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        assertEquals(1L, principal.getUser().getId());
+        assertEquals("test@example.com", principal.getUsername());
+        verify(filterChain).doFilter(request, response);
+        verify(jwtUtil, times(1)).parseClaims(jwt);
+        verifyNoInteractions(userDetailsService);
+        assertEquals(1, meterRegistry.get("security.filter").tag("filter", "jwt").timer().count());
+    }
+
+    @Test
+    void doFilterInternalWithLegacyTokenFallsBackToUserLookup() throws ServletException, IOException {
+        String jwt = "legacy-token";
+        Claims claims = Jwts.claims().subject("test@example.com").build();
+        User user = User.builder().id(1L).email("test@example.com").build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtUtil.extractUsername(jwt)).thenReturn(userEmail);
-        when(userDetailsService.loadUserByUsername(userEmail)).thenReturn(userDetails);
-        when(userDetails.getUsername()).thenReturn(userEmail);
-        when(jwtUtil.validateToken(jwt, userEmail)).thenReturn(true);
+        when(jwtUtil.parseClaims(jwt)).thenReturn(claims);
+        when(jwtUtil.extractUserId(claims)).thenReturn(null);
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(new CustomUserDetails(user));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -65,6 +95,22 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void doFilterInternalWithLegacyTokenForUnknownUserDoesNotSetAuthentication() throws ServletException, IOException {
+        String jwt = "legacy-token";
+        Claims claims = Jwts.claims().subject("testuser").build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtUtil.parseClaims(jwt)).thenReturn(claims);
+        when(jwtUtil.extractUserId(claims)).thenReturn(null);
+        when(userDetailsService.loadUserByUsername(anyString())).thenThrow(new UsernameNotFoundException("not found"));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
     @Test
     void doFilterInternalWithoutAuthHeaderDoesNotSetAuthentication() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn(null);
@@ -74,6 +120,7 @@ class JwtAuthenticationFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
         verifyNoInteractions(jwtUtil, userDetailsService);
+        assertEquals(0, meterRegistry.get("security.filter").tag("filter", "jwt").timer().count());
     }
 
     @Test
@@ -90,17 +137,14 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternalWithInvalidTokenDoesNotSetAuthentication() throws ServletException, IOException {
         String jwt = "invalid-token";
-        String userEmail = "test@example.com";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtUtil.extractUsername(jwt)).thenReturn(userEmail);
-        when(userDetailsService.loadUserByUsername(userEmail)).thenReturn(userDetails);
-        when(userDetails.getUsername()).thenReturn(userEmail);
-        when(jwtUtil.validateToken(jwt, userEmail)).thenReturn(false);
+        when(jwtUtil.parseClaims(jwt)).thenThrow(new MalformedJwtException("bad token"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
     }
 }
@@ -1,5 +1,8 @@
 package com.aftermidnight.security;
 
+import com.aftermidnight.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,13 +14,17 @@ import static org.junit.jupiter.api.Assertions.*;
 @SpringBootTest
 class JwtUtilTest {
 
+    private static final String OLD_SECRET = "oldSecretKeyWithAtLeast256BitsForHS256AlgorithmRotation";
+    private static final String NEW_SECRET = "newSecretKeyWithAtLeast256BitsForHS256AlgorithmRotation";
+
+    private static final User USER = User.builder().id(42L).username("testuser").email("test@example.com").build();
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Test
     void generateTokenProducesValidToken() {
-        String username = "testuser";
-        String token = jwtUtil.generateToken(username);
+        String token = jwtUtil.generateToken(USER);
 
         assertNotNull(token);
         assertFalse(token.isEmpty());
@@ -25,8 +32,8 @@ class JwtUtilTest {
 
     @Test
     void extractUsernameReturnsCorrectUsername() {
-        String username = "testuser";
-        String token = jwtUtil.generateToken(username);
+        String username = "test@example.com";
+        String token = jwtUtil.generateToken(USER);
 
         String extractedUsername = jwtUtil.extractUsername(token);
         assertEquals(username, extractedUsername);
@@ -34,34 +41,75 @@ class JwtUtilTest {
 
     @Test
     void validateTokenReturnsTrueForValidToken() {
-        String username = "testuser";
-        String token = jwtUtil.generateToken(username);
+        String username = "test@example.com";
+        String token = jwtUtil.generateToken(USER);
 
         assertTrue(jwtUtil.validateToken(token, username));
     }
 
     @Test
     void validateTokenReturnsFalseForDifferentUsername() {
-        String username = "testuser";
-        String token = jwtUtil.generateToken(username);
+        String token = jwtUtil.generateToken(USER);
 
-        assertFalse(jwtUtil.validateToken(token, "otheruser"));
+        assertFalse(jwtUtil.validateToken(token, "other@example.com"));
     }
 
     @Test
     void isTokenExpiredReturnsFalseForNewToken() {
-        String username = "testuser";
-        String token = jwtUtil.generateToken(username);
+        String token = jwtUtil.generateToken(USER);
 
         assertFalse(jwtUtil.isTokenExpired(token));
     }
 
     @Test
     void extractExpirationReturnsFutureDate() {
-        String username = "testuser";
-        String token = jwtUtil.generateToken(username);
+        String token = jwtUtil.generateToken(USER);
 
         Date expiration = jwtUtil.extractExpiration(token);
         assertTrue(expiration.after(new Date()));
     }
+
+    @Test
+    void generateTokenForUserCarriesEmailAndUserId() {
+        String token = jwtUtil.generateToken(USER);
+
+        Claims claims = jwtUtil.parseClaims(token);
+
+        assertEquals("test@example.com", claims.getSubject());
+        assertEquals(42L, jwtUtil.extractUserId(claims));
+    }
+
+    @Test
+    void parseClaimsRejectsTamperedToken() {
+        String token = jwtUtil.generateToken(USER);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseClaims(tampered));
+    }
+
+    @Test
+    void parseClaimsReturnsCachedClaimsForRepeatedToken() {
+        String token = jwtUtil.generateToken(USER);
+
+        assertSame(jwtUtil.parseClaims(token), jwtUtil.parseClaims(token));
+    }
+
+    @Test
+    void tokensSignedWithRetiredKeyStillVerifyAfterRotation() {
+        JwtUtil beforeRotation = new JwtUtil(new JwtKeyRing(OLD_SECRET, "k1", ""), 3600000, 100);
+        JwtUtil afterRotation = new JwtUtil(new JwtKeyRing(NEW_SECRET, "k2", "k1:" + OLD_SECRET), 3600000, 100);
+        String oldToken = beforeRotation.generateToken(USER);
+
+        assertEquals("test@example.com", afterRotation.extractUsername(oldToken));
+        assertEquals("test@example.com", afterRotation.extractUsername(afterRotation.generateToken(USER)));
+    }
+
+    @Test
+    void tokensSignedWithUnknownKeyAreRejected() {
+        JwtUtil other = new JwtUtil(new JwtKeyRing(OLD_SECRET, "k1", ""), 3600000, 100);
+        JwtUtil current = new JwtUtil(new JwtKeyRing(NEW_SECRET, "k2", ""), 3600000, 100);
+        String token = other.generateToken(USER);
+
+        assertThrows(JwtException.class, () -> current.parseClaims(token));
+    }
 }
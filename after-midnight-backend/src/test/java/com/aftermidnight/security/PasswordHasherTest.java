@@ -0,0 +1,125 @@
+package com.aftermidnight.security;
+
+import com.aftermidnight.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    private ThreadPoolExecutor workers;
+    private ExecutorService callers;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        // One worker and room for one queued hash
+        workers = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        callers = Executors.newCachedThreadPool();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnTheWorkerPool() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), workers, 5000, meterRegistry);
+
+        String hash = hasher.encode("secret");
+
+        assertTrue(hasher.matches("secret", hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertEquals(3, meterRegistry.get("password.hashing.wait").timer().count());
+    }
+
+    @Test
+    void needsUpgrade_DetectsLowerCost() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), workers, 5000, meterRegistry);
+
+        assertTrue(hasher.needsUpgrade(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(hasher.needsUpgrade(new BCryptPasswordEncoder(5).encode("secret")));
+    }
+
+    @Test
+    void encode_ShedsRequestsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(anyString())).thenAnswer(invocation -> {
+            release.await();
+            return "hash";
+        });
+        PasswordHasher hasher = new PasswordHasher(encoder, workers, 5000, meterRegistry);
+
+        Future<String> running = callers.submit(() -> hasher.encode("first"));
+        Future<String> queued = callers.submit(() -> hasher.encode("second"));
+        waitUntil(() -> workers.getActiveCount() == 1 && workers.getQueue().size() == 1);
+        assertEquals(1.0, meterRegistry.get("password.hashing.queue").gauge().value());
+        assertEquals(1.0, meterRegistry.get("password.hashing.active").gauge().value());
+
+        ServiceBusyException rejected = assertThrows(ServiceBusyException.class, () -> hasher.encode("third"));
+
+        assertEquals(PasswordHasher.RETRY_AFTER_SECONDS, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejections").tag("reason", "queue-full").counter().count());
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_ShedsRequestsThatTimeOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return true;
+        });
+        PasswordHasher hasher = new PasswordHasher(encoder, workers, 50, meterRegistry);
+
+        assertThrows(ServiceBusyException.class, () -> hasher.matches("secret", "hash"));
+
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejections").tag("reason", "timeout").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void matches_PropagatesEncoderFailures() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(anyString(), anyString())).thenThrow(new IllegalArgumentException("Malformed hash"));
+        PasswordHasher hasher = new PasswordHasher(encoder, workers, 5000, meterRegistry);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> hasher.matches("secret", "hash"));
+
+        assertEquals("Malformed hash", thrown.getMessage());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.aftermidnight.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void tryConsume_AllowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 60000, NOW);
+
+        assertEquals(2, bucket.tryConsume(NOW));
+        assertEquals(1, bucket.tryConsume(NOW));
+        assertEquals(0, bucket.tryConsume(NOW));
+        assertEquals(-20000, bucket.tryConsume(NOW));
+    }
+
+    @Test
+    void tryConsume_KeepsPartialRefillProgress() {
+        TokenBucket bucket = new TokenBucket(2, 60000, NOW);
+        bucket.tryConsume(NOW);
+        bucket.tryConsume(NOW);
+
+        assertEquals(-10000, bucket.tryConsume(NOW + 20000));
+        assertEquals(0, bucket.tryConsume(NOW + 30000));
+        assertTrue(bucket.tryConsume(NOW + 45000) < 0);
+        assertEquals(0, bucket.tryConsume(NOW + 60000));
+    }
+
+    @Test
+    void tryConsume_NeverExceedsCapacityAfterLongIdle() {
+        TokenBucket bucket = new TokenBucket(5, 60000, NOW);
+        bucket.tryConsume(NOW);
+
+        assertEquals(4, bucket.tryConsume(NOW + 3_600_000));
+    }
+
+    @Test
+    void tryConsume_GrantsExactlyCapacityUnderContention() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, 60000, NOW);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 5000; i++) {
+            executor.submit(() -> {
+                if (bucket.tryConsume(NOW) >= 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, granted.get());
+    }
+
+    @Test
+    void constructor_RejectsInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 60000, NOW));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(TokenBucket.MAX_TOKENS + 1, 60000, NOW));
+    }
+
+    @Test
+    void msUntilFull_ScalesWithMissingTokens() {
+        TokenBucket bucket = new TokenBucket(4, 60000, NOW);
+
+        assertEquals(0, bucket.msUntilFull(4));
+        assertEquals(30000, bucket.msUntilFull(2));
+    }
+}
@@ -4,15 +4,18 @@ import com.aftermidnight.dto.AuthResponse;
 import com.aftermidnight.dto.LoginRequest;
 import com.aftermidnight.dto.RegisterRequest;
 import com.aftermidnight.entity.User;
+import com.aftermidnight.exception.LoginThrottledException;
+import com.aftermidnight.exception.ServiceBusyException;
 import com.aftermidnight.repository.UserRepository;
 import com.aftermidnight.security.JwtUtil;
+import com.aftermidnight.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 
@@ -27,11 +30,17 @@ class AuthServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private RegisteredEmails registeredEmails;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -63,9 +72,9 @@ class AuthServiceImplTest {
     @Test
     void registerSuccessfully() {
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(anyString())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
-        when(jwtUtil.generateToken(anyString())).thenReturn("test-token");
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("test-token");
 
         AuthResponse response = authService.register(registerRequest);
 
@@ -73,6 +82,27 @@ class AuthServiceImplTest {
         assertEquals("User registered successfully", response.getMessage());
         assertEquals("test-token", response.getToken());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(registeredEmails).add("test@example.com");
+    }
+
+    @Test
+    void registerReportsExistingEmailWhenConcurrentRegistrationWins() {
+        when(userRepository.existsByEmail(anyString())).thenReturn(false, true);
+        when(passwordHasher.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate email"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.register(registerRequest));
+
+        assertEquals("Email already exists", exception.getMessage());
+    }
+
+    @Test
+    void registerPropagatesBusyHashing() {
+        when(userRepository.existsByEmail(anyString())).thenReturn(false);
+        when(passwordHasher.encode(anyString())).thenThrow(new ServiceBusyException("busy", 1));
+
+        assertThrows(ServiceBusyException.class, () -> authService.register(registerRequest));
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -89,19 +119,75 @@ class AuthServiceImplTest {
 
     @Test
     void loginSuccessfully() {
+        when(registeredEmails.mightBeRegistered("test@example.com")).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtUtil.generateToken(anyString())).thenReturn("test-token");
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(true);
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("test-token");
 
         AuthResponse response = authService.login(loginRequest);
 
         assertNotNull(response);
         assertEquals("User logged in successfully", response.getMessage());
         assertEquals("test-token", response.getToken());
+        verify(passwordHasher, never()).encode(anyString());
+        verify(loginThrottle).checkAllowed("test@example.com");
+        verify(loginThrottle).recordSuccess("test@example.com");
+    }
+
+    @Test
+    void loginRejectsThrottledEmailBeforeLookup() {
+        doThrow(new LoginThrottledException("throttled", 4)).when(loginThrottle).checkAllowed("test@example.com");
+
+        assertThrows(LoginThrottledException.class, () -> authService.login(loginRequest));
+
+        verifyNoInteractions(userRepository, passwordHasher);
+    }
+
+    @Test
+    void loginRejectsUnknownEmailWithoutQuery() {
+        when(registeredEmails.mightBeRegistered("test@example.com")).thenReturn(false);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.login(loginRequest));
+
+        assertEquals("Invalid email or password", exception.getMessage());
+        verifyNoInteractions(userRepository, passwordHasher);
+        verify(loginThrottle, never()).recordFailure(anyString());
+    }
+
+    @Test
+    void loginUpgradesOutdatedHash() {
+        when(registeredEmails.mightBeRegistered("test@example.com")).thenReturn(true);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordHasher.needsUpgrade("encodedPassword")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenReturn("strongerPassword");
+        when(userRepository.replacePasswordHash(1L, "encodedPassword", "strongerPassword")).thenReturn(1);
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("test-token");
+
+        AuthResponse response = authService.login(loginRequest);
+
+        assertEquals("test-token", response.getToken());
+        verify(userRepository).replacePasswordHash(1L, "encodedPassword", "strongerPassword");
+    }
+
+    @Test
+    void loginSucceedsWhenHashUpgradeIsShed() {
+        when(registeredEmails.mightBeRegistered("test@example.com")).thenReturn(true);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordHasher.needsUpgrade(anyString())).thenReturn(true);
+        when(passwordHasher.encode(anyString())).thenThrow(new ServiceBusyException("busy", 1));
+        when(jwtUtil.generateToken(any(User.class))).thenReturn("test-token");
+
+        AuthResponse response = authService.login(loginRequest);
+
+        assertEquals("test-token", response.getToken());
+        verify(userRepository, never()).replacePasswordHash(any(), any(), any());
     }
 
     @Test
     void loginThrowsExceptionWhenUserNotFound() {
+        when(registeredEmails.mightBeRegistered("test@example.com")).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -109,17 +195,22 @@ class AuthServiceImplTest {
         });
 
         assertEquals("Invalid email or password", exception.getMessage());
+        verify(loginThrottle).recordFailure("test@example.com");
     }
 
     @Test
     void loginThrowsExceptionWhenPasswordDoesNotMatch() {
+        when(registeredEmails.mightBeRegistered("test@example.com")).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(false);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             authService.login(loginRequest);
         });
 
         assertEquals("Invalid email or password", exception.getMessage());
+        verify(passwordHasher, never()).needsUpgrade(anyString());
+        verify(loginThrottle).recordFailure("test@example.com");
+        verify(loginThrottle, never()).recordSuccess(anyString());
     }
 }
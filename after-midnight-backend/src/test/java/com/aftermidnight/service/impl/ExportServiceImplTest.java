@@ -0,0 +1,114 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.ThoughtRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock
+    private PoemRepository poemRepository;
+
+    @Mock
+    private SongRepository songRepository;
+
+    @Mock
+    private ThoughtRepository thoughtRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ExportServiceImpl exportService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportServiceImpl(poemRepository, songRepository, thoughtRepository, entityManager, objectMapper);
+        user = User.builder().id(1L).username("testuser").email("test@example.com").build();
+    }
+
+    @Test
+    void exportNdjson_WritesOneLinePerItemAndDetachesIt() throws IOException {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 23, 30);
+        Poem poem = Poem.builder().id(3L).title("Night").content("Line one\nLine two").status(PublicationStatus.PUBLISHED)
+                .createdAt(createdAt).publishedAt(createdAt).viewCount(7).likeCount(2).user(user).build();
+        Song song = Song.builder().id(4L).title("Tune").lyrics("La la").audioUrl("https://example.com/1.mp3")
+                .status(PublicationStatus.DRAFT).createdAt(createdAt).user(user).build();
+        Thought thought = Thought.builder().id(5L).content("Late").mood("calm").status(PublicationStatus.DRAFT)
+                .createdAt(createdAt).user(user).build();
+        AtomicBoolean poemsClosed = new AtomicBoolean();
+        when(poemRepository.streamByUserId(1L)).thenReturn(Stream.of(poem).onClose(() -> poemsClosed.set(true)));
+        when(songRepository.streamByUserId(1L)).thenReturn(Stream.of(song));
+        when(thoughtRepository.streamByUserId(1L)).thenReturn(Stream.of(thought));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.exportNdjson(user, out);
+
+        assertEquals(3, written);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("POEM", first.get("type").asText());
+        assertEquals(3, first.get("id").asLong());
+        assertEquals("Line one\nLine two", first.get("content").asText());
+        assertEquals("PUBLISHED", first.get("status").asText());
+        assertEquals("2024-05-01T23:30:00", first.get("createdAt").asText());
+        assertEquals(7, first.get("viewCount").asLong());
+
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals("SONG", second.get("type").asText());
+        assertEquals("https://example.com/1.mp3", second.get("audioUrl").asText());
+        assertTrue(second.get("publishedAt").isNull());
+
+        JsonNode third = objectMapper.readTree(lines[2]);
+        assertEquals("THOUGHT", third.get("type").asText());
+        assertEquals("calm", third.get("mood").asText());
+
+        assertTrue(poemsClosed.get());
+        verify(entityManager).detach(poem);
+        verify(entityManager).detach(song);
+        verify(entityManager).detach(thought);
+    }
+
+    @Test
+    void exportNdjson_WritesNothing_WhenUserHasNoContent() throws IOException {
+        when(poemRepository.streamByUserId(1L)).thenReturn(Stream.empty());
+        when(songRepository.streamByUserId(1L)).thenReturn(Stream.empty());
+        when(thoughtRepository.streamByUserId(1L)).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportNdjson(user, out));
+        assertEquals(0, out.size());
+    }
+}
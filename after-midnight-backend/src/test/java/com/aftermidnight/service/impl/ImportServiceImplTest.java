@@ -0,0 +1,165 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.service.ImportReport;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.ThoughtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceImplTest {
+
+    @Mock
+    private PoemService poemService;
+
+    @Mock
+    private SongService songService;
+
+    @Mock
+    private ThoughtService thoughtService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ImportServiceImpl importService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        importService = service(2, 10);
+        user = User.builder().id(1L).username("testuser").email("test@example.com").build();
+    }
+
+    private ImportServiceImpl service(int batchSize, int maxReportedErrors) {
+        return new ImportServiceImpl(poemService, songService, thoughtService, new TransactionTemplate(transactionManager),
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), batchSize, maxReportedErrors);
+    }
+
+    private ImportReport run(String... lines) throws IOException {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return importService.importNdjson(user, new ByteArrayInputStream(body));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importNdjson_CreatesEachTypeInBatches() throws IOException {
+        ImportReport report = run(
+                "{\"type\":\"POEM\",\"title\":\"P1\",\"content\":\"C1\",\"status\":\"PUBLISHED\"}",
+                "{\"type\":\"song\",\"title\":\"S1\",\"lyrics\":\"L1\",\"audioUrl\":\"https://example.com/1.mp3\"}",
+                "",
+                "{\"type\":\"THOUGHT\",\"content\":\"T1\",\"mood\":\"calm\"}");
+
+        assertEquals(4, report.lines());
+        assertEquals(3, report.imported());
+        assertEquals(0, report.failed());
+        assertTrue(report.errors().isEmpty());
+
+        ArgumentCaptor<List<Poem>> poems = ArgumentCaptor.forClass(List.class);
+        verify(poemService).createAll(poems.capture());
+        assertEquals("P1", poems.getValue().get(0).getTitle());
+        assertEquals(PublicationStatus.PUBLISHED, poems.getValue().get(0).getStatus());
+        assertSame(user, poems.getValue().get(0).getUser());
+
+        ArgumentCaptor<List<Song>> songs = ArgumentCaptor.forClass(List.class);
+        verify(songService).createAll(songs.capture());
+        assertEquals(PublicationStatus.DRAFT, songs.getValue().get(0).getStatus());
+
+        ArgumentCaptor<List<Thought>> thoughts = ArgumentCaptor.forClass(List.class);
+        verify(thoughtService).createAll(thoughts.capture());
+        assertEquals("calm", thoughts.getValue().get(0).getMood());
+
+        // One transaction for the full batch of two and one for the remainder
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void importNdjson_ReportsInvalidLinesAndImportsTheRest() throws IOException {
+        ImportReport report = run(
+                "not json",
+                "[1, 2]",
+                "{\"type\":\"VIDEO\",\"title\":\"V\"}",
+                "{\"type\":\"POEM\",\"title\":\"\",\"content\":\"C\"}",
+                "{\"type\":\"THOUGHT\",\"content\":\"T\"}",
+                "{\"type\":\"POEM\",\"title\":\"Fine\",\"content\":\"C\"}");
+
+        assertEquals(6, report.lines());
+        assertEquals(1, report.imported());
+        assertEquals(5, report.failed());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), report.errors().stream().map(ImportReport.LineError::line).toList());
+        assertEquals("Malformed JSON", report.errors().get(0).message());
+        assertTrue(report.errors().get(3).message().startsWith("title: "));
+        assertEquals("mood: Mood is required", report.errors().get(4).message());
+        verify(poemService).createAll(anyList());
+        verifyNoInteractions(thoughtService);
+    }
+
+    @Test
+    void importNdjson_FailsOnlyTheBatchThatCouldNotBeSaved() throws IOException {
+        when(poemService.createAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("boom"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ImportReport report = run(
+                "{\"type\":\"POEM\",\"title\":\"P1\",\"content\":\"C\"}",
+                "{\"type\":\"POEM\",\"title\":\"P2\",\"content\":\"C\"}",
+                "{\"type\":\"POEM\",\"title\":\"P3\",\"content\":\"C\"}");
+
+        assertEquals(1, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(List.of(1L, 2L), report.errors().stream().map(ImportReport.LineError::line).toList());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void importNdjson_ReportsUnexpectedBatchFailuresAfterEarlierBatchesCommitted() throws IOException {
+        when(poemService.createAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new NullPointerException("mapping"));
+
+        ImportReport report = run(
+                "{\"type\":\"POEM\",\"title\":\"P1\",\"content\":\"C\"}",
+                "{\"type\":\"POEM\",\"title\":\"P2\",\"content\":\"C\"}",
+                "{\"type\":\"POEM\",\"title\":\"P3\",\"content\":\"C\"}");
+
+        assertEquals(2, report.imported());
+        assertEquals(1, report.failed());
+        assertEquals(List.of(3L), report.errors().stream().map(ImportReport.LineError::line).toList());
+        verify(transactionManager).commit(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void importNdjson_CapsReportedErrors() throws IOException {
+        importService = service(2, 2);
+
+        ImportReport report = run("x", "y", "z");
+
+        assertEquals(3, report.failed());
+        assertEquals(2, report.errors().size());
+        verifyNoInteractions(transactionManager);
+    }
+}
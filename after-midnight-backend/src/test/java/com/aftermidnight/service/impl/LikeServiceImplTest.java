@@ -0,0 +1,151 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.UserRepository;
+import com.aftermidnight.service.LikeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LikeServiceImplTest {
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private LikeCountBuffer likeCountBuffer;
+
+    @Autowired
+    private PoemRepository poemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User alice;
+    private User bob;
+    private Poem poem;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.save(User.builder().username("alice").email("alice@example.com").password("password").build());
+        bob = userRepository.save(User.builder().username("bob").email("bob@example.com").password("password").build());
+        poem = poemRepository.save(Poem.builder()
+                .title("Liked")
+                .content("Content")
+                .status(PublicationStatus.PUBLISHED)
+                .user(alice)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM content_likes");
+        poemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private long storedLikes() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM content_likes WHERE content_id = ?", Long.class, poem.getId());
+    }
+
+    @Test
+    void like_IsIdempotentPerUser() {
+        assertEquals(Optional.of(1L), likeService.like(ContentType.POEM, poem.getId(), bob.getId()));
+        assertEquals(Optional.of(1L), likeService.like(ContentType.POEM, poem.getId(), bob.getId()));
+        assertEquals(Optional.of(2L), likeService.like(ContentType.POEM, poem.getId(), alice.getId()));
+
+        assertEquals(2, storedLikes());
+        assertEquals(2, likeCountBuffer.pending(ContentType.POEM, poem.getId()));
+    }
+
+    @Test
+    void unlike_RemovesOnlyExistingLikes() {
+        likeService.like(ContentType.POEM, poem.getId(), bob.getId());
+
+        assertEquals(Optional.of(0L), likeService.unlike(ContentType.POEM, poem.getId(), bob.getId()));
+        assertEquals(Optional.of(0L), likeService.unlike(ContentType.POEM, poem.getId(), bob.getId()));
+        assertEquals(Optional.of(0L), likeService.unlike(ContentType.POEM, poem.getId(), alice.getId()));
+
+        assertEquals(0, storedLikes());
+        assertEquals(0, likeCountBuffer.pending(ContentType.POEM, poem.getId()));
+    }
+
+    @Test
+    void flush_WritesNetLikeCount() {
+        likeService.like(ContentType.POEM, poem.getId(), bob.getId());
+        likeService.like(ContentType.POEM, poem.getId(), alice.getId());
+        likeService.unlike(ContentType.POEM, poem.getId(), bob.getId());
+
+        likeCountBuffer.flush();
+
+        assertEquals(1, poemRepository.findById(poem.getId()).orElseThrow().getLikeCount());
+    }
+
+    @Test
+    void like_ReturnsEmptyForDraftsAndMissingContent() {
+        Poem draft = poemRepository.save(Poem.builder()
+                .title("Draft")
+                .content("Hidden")
+                .status(PublicationStatus.DRAFT)
+                .user(alice)
+                .build());
+
+        assertTrue(likeService.like(ContentType.POEM, draft.getId(), bob.getId()).isEmpty());
+        assertTrue(likeService.like(ContentType.SONG, poem.getId(), bob.getId()).isEmpty());
+        assertEquals(0, storedLikes());
+    }
+
+    @Test
+    void like_RecoversWhenRowAlreadyStored() {
+        likeService.like(ContentType.POEM, poem.getId(), bob.getId());
+        likeCountBuffer.flush();
+        jdbcTemplate.update("INSERT INTO content_likes (content_type, content_id, user_id, created_at) VALUES ('POEM', ?, ?, CURRENT_TIMESTAMP)",
+                poem.getId(), alice.getId());
+
+        // Alice's like was stored behind the index's back; liking again must not double count
+        assertEquals(Optional.of(2L), likeService.like(ContentType.POEM, poem.getId(), alice.getId()));
+        assertEquals(0, likeCountBuffer.pending(ContentType.POEM, poem.getId()));
+    }
+
+    @Test
+    void unlike_RemovesLikeStoredThroughAnotherNode() {
+        likeService.like(ContentType.POEM, poem.getId(), bob.getId());
+        likeCountBuffer.flush();
+        jdbcTemplate.update("INSERT INTO content_likes (content_type, content_id, user_id, created_at) VALUES ('POEM', ?, ?, CURRENT_TIMESTAMP)",
+                poem.getId(), alice.getId());
+
+        // Alice's like is missing from the loaded bitmap, but the row must still go
+        likeService.unlike(ContentType.POEM, poem.getId(), alice.getId());
+
+        assertEquals(1, storedLikes());
+        assertEquals(-1, likeCountBuffer.pending(ContentType.POEM, poem.getId()));
+    }
+
+    @Test
+    void like_StoresLikeRemovedThroughAnotherNode() {
+        likeService.like(ContentType.POEM, poem.getId(), bob.getId());
+        likeCountBuffer.flush();
+        jdbcTemplate.update("DELETE FROM content_likes WHERE content_id = ? AND user_id = ?", poem.getId(), bob.getId());
+
+        // Bob is still in the loaded bitmap, but his like was removed elsewhere
+        assertEquals(Optional.of(1L), likeService.like(ContentType.POEM, poem.getId(), bob.getId()));
+
+        assertEquals(1, storedLikes());
+        assertEquals(1, likeCountBuffer.pending(ContentType.POEM, poem.getId()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Three free attempts, then 1s doubling up to 8s; forgotten 60s after the lockout ends
+        throttle = new LoginThrottle(3, 1000, 8000, 60_000, 1000, meterRegistry, clock::get);
+    }
+
+    @Test
+    void delayAfter_DoublesAfterFreeAttemptsUpToTheCap() {
+        assertEquals(0, throttle.delayAfter(1));
+        assertEquals(0, throttle.delayAfter(3));
+        assertEquals(1000, throttle.delayAfter(4));
+        assertEquals(2000, throttle.delayAfter(5));
+        assertEquals(4000, throttle.delayAfter(6));
+        assertEquals(8000, throttle.delayAfter(7));
+        assertEquals(8000, throttle.delayAfter(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void checkAllowed_AllowsFreeAttempts() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed(EMAIL);
+            throttle.recordFailure(EMAIL);
+        }
+
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL));
+    }
+
+    @Test
+    void checkAllowed_RejectsDuringLockoutWithRetryAfter() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure(EMAIL);
+        }
+
+        LoginThrottledException thrown = assertThrows(LoginThrottledException.class, () -> throttle.checkAllowed(EMAIL));
+
+        assertEquals(2, thrown.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").counter().count());
+        clock.addAndGet(1500);
+        assertEquals(1, assertThrows(LoginThrottledException.class, () -> throttle.checkAllowed(EMAIL)).getRetryAfterSeconds());
+        clock.addAndGet(500);
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL));
+    }
+
+    @Test
+    void checkAllowed_MatchesEmailsIgnoringCase() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("User@Example.com");
+        }
+
+        assertThrows(LoginThrottledException.class, () -> throttle.checkAllowed(" user@example.com"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("other@example.com"));
+    }
+
+    @Test
+    void recordSuccess_ClearsFailures() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure(EMAIL);
+        }
+
+        throttle.recordSuccess(EMAIL);
+        throttle.recordFailure(EMAIL);
+
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL));
+    }
+
+    @Test
+    void failuresAreForgottenAfterQuietPeriod() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure(EMAIL);
+        }
+        clock.addAndGet(1000 + 60_000);
+
+        throttle.recordFailure(EMAIL);
+
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL));
+    }
+}
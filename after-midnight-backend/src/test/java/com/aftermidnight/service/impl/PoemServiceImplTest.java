@@ -1,21 +1,30 @@
 package com.aftermidnight.service.impl;
 
 import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.ContentType;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.User;
 import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.projection.PoemRow;
+import com.aftermidnight.service.ContentChangedEvent;
+import com.aftermidnight.util.FeedCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
-import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,16 +37,39 @@ class PoemServiceImplTest {
     @Mock
     private PoemRepository poemRepository;
 
+    @Mock
+    private ViewCountBuffer viewCountBuffer;
+
+    @Mock
+    private UniqueViewerTracker uniqueViewerTracker;
+
+    @Mock
+    private TrendingRanker trendingRanker;
+
+    @Spy
+    private PageTotalsCache pageTotalsCache = new PageTotalsCache(60, 100);
+
+    @Spy
+    private PublishedContentCache publishedContentCache = new PublishedContentCache(30, 100, new SimpleMeterRegistry());
+
+    @Spy
+    private PublicFeedCache publicFeedCache = new PublicFeedCache(3, 10, 60, Runnable::run, System::currentTimeMillis);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PoemServiceImpl poemService;
 
     private User user;
     private Poem poem;
+    private PoemRow row;
 
     @BeforeEach
     void setUp() {
         user = User.builder().id(1L).username("testuser").build();
         poem = Poem.builder().id(1L).title("Test Poem").content("Content").user(user).build();
+        row = new PoemRow(1L, "Test Poem", "Content", null, PublicationStatus.PUBLISHED, null, 0, 0, 0, 1L);
     }
 
     @Test
@@ -48,6 +80,7 @@ class PoemServiceImplTest {
         assertEquals("Test Poem", savedPoem.getTitle());
         assertEquals(PublicationStatus.DRAFT, savedPoem.getStatus());
         verify(poemRepository, times(1)).save(poem);
+        verify(eventPublisher).publishEvent(ContentChangedEvent.created(ContentType.POEM, 1L, 1L, PublicationStatus.DRAFT));
     }
 
     @Test
@@ -60,28 +93,125 @@ class PoemServiceImplTest {
     }
 
     @Test
-    void getAllByUser() {
+    void createAll_SavesInOneCallAndPublishesOneBatchEvent() {
+        Poem draft = poem;
+        Poem published = Poem.builder().id(2L).user(user).status(PublicationStatus.PUBLISHED).build();
+        when(poemRepository.saveAll(List.of(draft, published))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Poem> saved = poemService.createAll(List.of(draft, published));
+
+        assertEquals(2, saved.size());
+        assertNull(draft.getPublishedAt());
+        assertNotNull(published.getPublishedAt());
+        verify(poemRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ContentChangedEvent.Batch(List.of(
+                ContentChangedEvent.created(ContentType.POEM, 1L, 1L, PublicationStatus.DRAFT),
+                ContentChangedEvent.created(ContentType.POEM, 2L, 1L, PublicationStatus.PUBLISHED))));
+    }
+
+    @Test
+    void getAllByUser_LastPage_SkipsCountQuery() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Poem> page = new PageImpl<>(Arrays.asList(poem));
-        when(poemRepository.findByUserAndDeletedFalse(user, pageable)).thenReturn(page);
-        
-        Page<Poem> poems = poemService.getAllByUser(user, pageable);
-        
+        when(poemRepository.findRowsByUserId(user.getId(), 0, pageable)).thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        Page<PoemRow> poems = poemService.getAllByUser(user, pageable, false);
+
         assertFalse(poems.isEmpty());
         assertEquals(1, poems.getTotalElements());
-        verify(poemRepository, times(1)).findByUserAndDeletedFalse(user, pageable);
+        verify(poemRepository, times(1)).findRowsByUserId(user.getId(), 0, pageable);
+        verify(poemRepository, never()).countByUserAndDeletedFalse(any());
     }
 
     @Test
-    void getAllByUserAndStatus() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Poem> page = new PageImpl<>(Arrays.asList(poem));
-        when(poemRepository.findByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED, pageable)).thenReturn(page);
+    void getAllByUserAndStatus_CachesTotalAcrossPages() {
+        Pageable firstPage = PageRequest.of(0, 1);
+        Pageable secondPage = PageRequest.of(1, 1);
+        when(poemRepository.findRowsByUserIdAndStatus(user.getId(), PublicationStatus.PUBLISHED, 0, firstPage)).thenReturn(new SliceImpl<>(List.of(row), firstPage, true));
+        when(poemRepository.findRowsByUserIdAndStatus(user.getId(), PublicationStatus.PUBLISHED, 0, secondPage)).thenReturn(new SliceImpl<>(List.of(row), secondPage, true));
+        when(poemRepository.countByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED)).thenReturn(3L);
 
-        Page<Poem> poems = poemService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, pageable);
+        Page<PoemRow> first = poemService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, firstPage, false);
+        Page<PoemRow> second = poemService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, secondPage, false);
 
-        assertFalse(poems.isEmpty());
-        verify(poemRepository, times(1)).findByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED, pageable);
+        assertEquals(3, first.getTotalElements());
+        assertEquals(3, second.getTotalElements());
+        assertFalse(second.isLast());
+        verify(poemRepository, times(1)).countByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED);
+    }
+
+    @Test
+    void getAllByUserAndStatus_RecountsAfterContentChanged() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(poemRepository.findRowsByUserIdAndStatus(user.getId(), PublicationStatus.PUBLISHED, 0, pageable)).thenReturn(new SliceImpl<>(List.of(row), pageable, true));
+        when(poemRepository.countByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED)).thenReturn(3L, 4L);
+
+        poemService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, pageable, false);
+        pageTotalsCache.onContentChanged(ContentChangedEvent.created(ContentType.POEM, 2L, user.getId(), PublicationStatus.PUBLISHED));
+        Page<PoemRow> poems = poemService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, pageable, false);
+
+        assertEquals(4, poems.getTotalElements());
+    }
+
+    @Test
+    void getAllPublished_DefaultFirstPage_IsServedFromCache() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(poemRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        poemService.getAllPublished(pageable, false);
+        Page<PoemRow> page = poemService.getAllPublished(pageable, false);
+
+        assertEquals(1, page.getTotalElements());
+        verify(poemRepository, times(1)).findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable);
+    }
+
+    @Test
+    void getAllPublished_CustomPaging_BypassesCache() {
+        Pageable pageable = PageRequest.of(0, 25, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(poemRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        poemService.getAllPublished(pageable, false);
+        poemService.getAllPublished(pageable, false);
+
+        verify(poemRepository, times(2)).findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable);
+    }
+
+    @Test
+    void getAllPublished_Summary_CutsTextInQueryAndIsCachedSeparately() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(poemRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+        when(poemRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 280, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        poemService.getAllPublished(pageable, false);
+        poemService.getAllPublished(pageable, true);
+        poemService.getAllPublished(pageable, true);
+
+        verify(poemRepository, times(1)).findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable);
+        verify(poemRepository, times(1)).findRowsByStatus(PublicationStatus.PUBLISHED, 280, pageable);
+    }
+
+    @Test
+    void getPublishedFeed_WithoutCursor_ReadsFirstPage() {
+        when(poemRepository.findFeedRows(PublicationStatus.PUBLISHED, 0, Limit.of(11))).thenReturn(List.of(row));
+
+        List<PoemRow> feed = poemService.getPublishedFeed(null, 11, false);
+
+        assertEquals(1, feed.size());
+        verify(poemRepository, never()).findFeedRowsAfter(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void getPublishedFeed_WithCursor_SeeksPastCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(poemRepository.findFeedRowsAfter(PublicationStatus.PUBLISHED, createdAt, 5L, 0, Limit.of(11))).thenReturn(List.of(row));
+
+        List<PoemRow> feed = poemService.getPublishedFeed(FeedCursor.of(createdAt, 5L), 11, false);
+
+        assertEquals(1, feed.size());
+        verify(poemRepository, never()).findFeedRows(any(), anyInt(), any());
     }
 
     @Test
@@ -92,6 +222,30 @@ class PoemServiceImplTest {
         assertEquals(1L, foundPoem.get().getId());
     }
 
+    @Test
+    void getById_Published_IsServedFromCache() {
+        poem.setStatus(PublicationStatus.PUBLISHED);
+        when(poemRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(poem));
+
+        Poem first = poemService.getById(1L).orElseThrow();
+        Poem second = poemService.getById(1L).orElseThrow();
+
+        assertEquals(1L, second.getId());
+        assertEquals(1L, second.getUser().getId());
+        assertNotSame(first, second);
+        verify(poemRepository, times(1)).findByIdAndDeletedFalse(1L);
+    }
+
+    @Test
+    void getById_Draft_IsNeverCached() {
+        when(poemRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(poem));
+
+        poemService.getById(1L);
+        poemService.getById(1L);
+
+        verify(poemRepository, times(2)).findByIdAndDeletedFalse(1L);
+    }
+
     @Test
     void delete() {
         when(poemRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(poem));
@@ -117,14 +271,12 @@ class PoemServiceImplTest {
     }
 
     @Test
-    void incrementViewCount() {
-        when(poemRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(poem));
-        when(poemRepository.save(any(Poem.class))).thenReturn(poem);
-
-        poemService.incrementViewCount(1L);
+    void incrementViewCount_BuffersViewWithoutTouchingRepository() {
+        poemService.incrementViewCount(1L, "user:1");
 
-        assertEquals(1, poem.getViewCount());
-        verify(poemRepository, times(1)).findByIdAndDeletedFalse(1L);
-        verify(poemRepository, times(1)).save(poem);
+        verify(viewCountBuffer, times(1)).increment(ContentType.POEM, 1L);
+        verify(uniqueViewerTracker, times(1)).record(ContentType.POEM, 1L, "user:1");
+        verify(trendingRanker, times(1)).recordView(ContentType.POEM, 1L);
+        verifyNoInteractions(poemRepository);
     }
 }
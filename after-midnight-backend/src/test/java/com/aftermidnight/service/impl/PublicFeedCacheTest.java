@@ -0,0 +1,177 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.service.ContentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicFeedCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final List<Runnable> scheduledRefreshes = new ArrayList<>();
+    private PublicFeedCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PublicFeedCache(3, 10, 60, scheduledRefreshes::add, now::get);
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<Page<String>> loader(String item) {
+        return () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of(item), FIRST_PAGE, 1);
+        };
+    }
+
+    private void runRefreshes() {
+        List<Runnable> pending = new ArrayList<>(scheduledRefreshes);
+        scheduledRefreshes.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    @Test
+    void getPage_CachesDefaultPaging() {
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("a"));
+        Page<String> page = cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("b"));
+
+        assertEquals(List.of("a"), page.getContent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getPage_BypassesCacheBeyondCachedPagesOrForOtherSorts() {
+        Pageable deepPage = PageRequest.of(3, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable otherSort = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "createdAt"));
+
+        cache.getPage(ContentType.POEM, false, deepPage, loader("a"));
+        cache.getPage(ContentType.POEM, false, deepPage, loader("a"));
+        cache.getPage(ContentType.POEM, false, otherSort, loader("a"));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void getPage_ServesStalePageWhileRefreshing() {
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("a"));
+        now.addAndGet(11_000);
+
+        Page<String> stale = cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("b"));
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("b"));
+
+        assertEquals(List.of("a"), stale.getContent());
+        assertEquals(1, scheduledRefreshes.size());
+
+        runRefreshes();
+        assertEquals(List.of("b"), cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("c")).getContent());
+    }
+
+    @Test
+    void getPage_KeepsStalePageWhenRefreshFails() {
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("a"));
+        now.addAndGet(11_000);
+
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, () -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        runRefreshes();
+
+        assertEquals(List.of("a"), cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("b")).getContent());
+    }
+
+    @Test
+    void onContentChanged_PublishRefreshesInBackground() {
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("a"));
+
+        cache.onContentChanged(ContentChangedEvent.statusChanged(ContentType.POEM, 1L, 1L, PublicationStatus.DRAFT, PublicationStatus.PUBLISHED));
+        Page<String> stale = cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("b"));
+        runRefreshes();
+
+        assertEquals(List.of("a"), stale.getContent());
+        assertEquals(List.of("b"), cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("c")).getContent());
+    }
+
+    @Test
+    void onContentChanged_DeleteDropsCachedPages() {
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("a"));
+        cache.getPage(ContentType.SONG, false, FIRST_PAGE, loader("s"));
+
+        cache.onContentChanged(ContentChangedEvent.deleted(ContentType.POEM, 1L, 1L, PublicationStatus.PUBLISHED));
+
+        assertEquals(List.of("b"), cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("b")).getContent());
+        assertEquals(List.of("s"), cache.getPage(ContentType.SONG, false, FIRST_PAGE, loader("t")).getContent());
+    }
+
+    @Test
+    void onContentChanged_IgnoresDraftChanges() {
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("a"));
+
+        cache.onContentChanged(ContentChangedEvent.created(ContentType.POEM, 2L, 1L, PublicationStatus.DRAFT));
+        cache.onContentChanged(ContentChangedEvent.deleted(ContentType.POEM, 2L, 1L, PublicationStatus.DRAFT));
+
+        assertEquals(List.of("a"), cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("b")).getContent());
+        assertTrue(scheduledRefreshes.isEmpty());
+    }
+
+    @Test
+    void refresh_DiscardsResultReadBeforeAnUnpublish() {
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("a"));
+        now.addAndGet(11_000);
+        cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("withdrawn"));
+
+        cache.onContentChanged(ContentChangedEvent.statusChanged(ContentType.POEM, 1L, 1L, PublicationStatus.PUBLISHED, PublicationStatus.DRAFT));
+        runRefreshes();
+
+        assertEquals(List.of("fresh"), cache.getPage(ContentType.POEM, false, FIRST_PAGE, loader("fresh")).getContent());
+    }
+
+    @Test
+    void getPage_CoalescesConcurrentMisses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Page<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.getPage(ContentType.POEM, false, FIRST_PAGE, () -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return loader("a").get();
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Page<String>> result : results) {
+                assertEquals(List.of("a"), result.get(5, TimeUnit.SECONDS).getContent());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,113 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.service.ContentChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishedContentCacheTest {
+
+    private static final UnaryOperator<Poem> COPY = poem -> Poem.builder().id(poem.getId()).status(poem.getStatus()).build();
+
+    private SimpleMeterRegistry meterRegistry;
+    private PublishedContentCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PublishedContentCache(30, 100, meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    private Optional<Poem> load(PublicationStatus status) {
+        loads.incrementAndGet();
+        return Optional.of(Poem.builder().id(1L).status(status).build());
+    }
+
+    private Optional<Poem> get(PublicationStatus status) {
+        return cache.getPublished(ContentType.POEM, 1L, Poem::getStatus, COPY, () -> load(status));
+    }
+
+    @Test
+    void getPublished_CachesPublishedItems() {
+        get(PublicationStatus.PUBLISHED);
+        get(PublicationStatus.PUBLISHED);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "content.poems").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void getPublished_DoesNotCacheMissingItems() {
+        assertTrue(cache.getPublished(ContentType.POEM, 2L, Poem::getStatus, COPY, Optional::empty).isEmpty());
+
+        Optional<Poem> created = cache.getPublished(ContentType.POEM, 2L, Poem::getStatus, COPY, () -> load(PublicationStatus.PUBLISHED));
+
+        assertTrue(created.isPresent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onContentChanged_EvictsTheItem() {
+        get(PublicationStatus.PUBLISHED);
+
+        cache.onContentChanged(ContentChangedEvent.statusChanged(ContentType.POEM, 1L, 9L, PublicationStatus.PUBLISHED, PublicationStatus.DRAFT));
+        Poem reloaded = get(PublicationStatus.DRAFT).orElseThrow();
+
+        assertEquals(PublicationStatus.DRAFT, reloaded.getStatus());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onContentChanged_OnlyEvictsMatchingType() {
+        get(PublicationStatus.PUBLISHED);
+
+        cache.onContentChanged(ContentChangedEvent.deleted(ContentType.SONG, 1L, 9L, PublicationStatus.PUBLISHED));
+        get(PublicationStatus.PUBLISHED);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getPublished_CoalescesConcurrentMisses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] results = new Future<?>[4];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = executor.submit(() -> cache.getPublished(ContentType.POEM, 1L, Poem::getStatus, COPY, () -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return load(PublicationStatus.PUBLISHED);
+                }));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> result : results) {
+                assertTrue(((Optional<?>) result.get(5, TimeUnit.SECONDS)).isPresent());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,98 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RegisteredEmailsTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+
+    private RegisteredEmails registeredEmails;
+
+    @BeforeEach
+    void setUp() {
+        registeredEmails = new RegisteredEmails(jdbcTemplate, 1000, 0.01, 60_000, 30_000, now::get);
+        save("first@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void mightBeRegistered_IsTrueForEveryEmailBeforeTheFirstBuild() {
+        assertTrue(registeredEmails.mightBeRegistered("nobody@example.com"));
+    }
+
+    @Test
+    void rebuild_LoadsRegisteredEmails() {
+        registeredEmails.rebuild();
+
+        assertTrue(registeredEmails.mightBeRegistered("first@example.com"));
+        assertTrue(registeredEmails.mightBeRegistered(" First@Example.com "));
+        assertFalse(registeredEmails.mightBeRegistered("nobody@example.com"));
+    }
+
+    @Test
+    void add_MakesNewRegistrationVisibleAtOnce() {
+        registeredEmails.rebuild();
+
+        registeredEmails.add("second@example.com");
+
+        assertTrue(registeredEmails.mightBeRegistered("second@example.com"));
+    }
+
+    @Test
+    void refresh_PicksUpUsersRegisteredElsewhere() {
+        registeredEmails.rebuild();
+        save("elsewhere@example.com");
+        assertFalse(registeredEmails.mightBeRegistered("elsewhere@example.com"));
+
+        registeredEmails.refresh();
+
+        assertTrue(registeredEmails.mightBeRegistered("elsewhere@example.com"));
+        assertTrue(registeredEmails.mightBeRegistered("first@example.com"));
+    }
+
+    @Test
+    void refresh_BuildsTheFilterWhenStartupBuildFailed() {
+        registeredEmails.refresh();
+
+        assertFalse(registeredEmails.mightBeRegistered("nobody@example.com"));
+        assertTrue(registeredEmails.mightBeRegistered("first@example.com"));
+    }
+
+    @Test
+    void mightBeRegistered_IsTrueForEveryEmailOnceReadsAreOverdue() {
+        registeredEmails.rebuild();
+        now.addAndGet(30_001);
+
+        assertTrue(registeredEmails.mightBeRegistered("nobody@example.com"));
+
+        registeredEmails.refresh();
+
+        assertFalse(registeredEmails.mightBeRegistered("nobody@example.com"));
+    }
+
+    private void save(String email) {
+        userRepository.save(User.builder().username(email.substring(0, email.indexOf('@'))).email(email).password("password").build());
+    }
+}
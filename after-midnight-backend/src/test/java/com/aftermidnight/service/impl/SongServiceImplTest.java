@@ -1,21 +1,30 @@
 package com.aftermidnight.service.impl;
 
+import com.aftermidnight.entity.ContentType;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.Song;
 import com.aftermidnight.entity.User;
 import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.projection.SongRow;
+import com.aftermidnight.service.ContentChangedEvent;
+import com.aftermidnight.util.FeedCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
-import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,16 +37,39 @@ class SongServiceImplTest {
     @Mock
     private SongRepository songRepository;
 
+    @Mock
+    private ViewCountBuffer viewCountBuffer;
+
+    @Mock
+    private UniqueViewerTracker uniqueViewerTracker;
+
+    @Mock
+    private TrendingRanker trendingRanker;
+
+    @Spy
+    private PageTotalsCache pageTotalsCache = new PageTotalsCache(60, 100);
+
+    @Spy
+    private PublishedContentCache publishedContentCache = new PublishedContentCache(30, 100, new SimpleMeterRegistry());
+
+    @Spy
+    private PublicFeedCache publicFeedCache = new PublicFeedCache(3, 10, 60, Runnable::run, System::currentTimeMillis);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SongServiceImpl songService;
 
     private User user;
     private Song song;
+    private SongRow row;
 
     @BeforeEach
     void setUp() {
         user = User.builder().id(1L).username("testuser").build();
         song = Song.builder().id(1L).title("Test Song").lyrics("Lyrics").audioUrl("url").user(user).build();
+        row = new SongRow(1L, "Test Song", "Lyrics", "url", null, PublicationStatus.PUBLISHED, null, 0, 0, 0, 1L);
     }
 
     @Test
@@ -48,6 +80,7 @@ class SongServiceImplTest {
         assertEquals("Test Song", savedSong.getTitle());
         assertEquals(PublicationStatus.DRAFT, savedSong.getStatus());
         verify(songRepository, times(1)).save(song);
+        verify(eventPublisher).publishEvent(ContentChangedEvent.created(ContentType.SONG, 1L, 1L, PublicationStatus.DRAFT));
     }
 
     @Test
@@ -60,28 +93,125 @@ class SongServiceImplTest {
     }
 
     @Test
-    void getAllByUser() {
+    void createAll_SavesInOneCallAndPublishesOneBatchEvent() {
+        Song draft = song;
+        Song published = Song.builder().id(2L).user(user).status(PublicationStatus.PUBLISHED).build();
+        when(songRepository.saveAll(List.of(draft, published))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Song> saved = songService.createAll(List.of(draft, published));
+
+        assertEquals(2, saved.size());
+        assertNull(draft.getPublishedAt());
+        assertNotNull(published.getPublishedAt());
+        verify(songRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ContentChangedEvent.Batch(List.of(
+                ContentChangedEvent.created(ContentType.SONG, 1L, 1L, PublicationStatus.DRAFT),
+                ContentChangedEvent.created(ContentType.SONG, 2L, 1L, PublicationStatus.PUBLISHED))));
+    }
+
+    @Test
+    void getAllByUser_LastPage_SkipsCountQuery() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Song> page = new PageImpl<>(Arrays.asList(song));
-        when(songRepository.findByUserAndDeletedFalse(user, pageable)).thenReturn(page);
-        
-        Page<Song> songs = songService.getAllByUser(user, pageable);
-        
+        when(songRepository.findRowsByUserId(user.getId(), 0, pageable)).thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        Page<SongRow> songs = songService.getAllByUser(user, pageable, false);
+
         assertFalse(songs.isEmpty());
         assertEquals(1, songs.getTotalElements());
-        verify(songRepository, times(1)).findByUserAndDeletedFalse(user, pageable);
+        verify(songRepository, times(1)).findRowsByUserId(user.getId(), 0, pageable);
+        verify(songRepository, never()).countByUserAndDeletedFalse(any());
     }
 
     @Test
-    void getAllByUserAndStatus() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Song> page = new PageImpl<>(Arrays.asList(song));
-        when(songRepository.findByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED, pageable)).thenReturn(page);
+    void getAllByUserAndStatus_CachesTotalAcrossPages() {
+        Pageable firstPage = PageRequest.of(0, 1);
+        Pageable secondPage = PageRequest.of(1, 1);
+        when(songRepository.findRowsByUserIdAndStatus(user.getId(), PublicationStatus.PUBLISHED, 0, firstPage)).thenReturn(new SliceImpl<>(List.of(row), firstPage, true));
+        when(songRepository.findRowsByUserIdAndStatus(user.getId(), PublicationStatus.PUBLISHED, 0, secondPage)).thenReturn(new SliceImpl<>(List.of(row), secondPage, true));
+        when(songRepository.countByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED)).thenReturn(3L);
 
-        Page<Song> songs = songService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, pageable);
+        Page<SongRow> first = songService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, firstPage, false);
+        Page<SongRow> second = songService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, secondPage, false);
 
-        assertFalse(songs.isEmpty());
-        verify(songRepository, times(1)).findByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED, pageable);
+        assertEquals(3, first.getTotalElements());
+        assertEquals(3, second.getTotalElements());
+        assertFalse(second.isLast());
+        verify(songRepository, times(1)).countByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED);
+    }
+
+    @Test
+    void getAllByUserAndStatus_RecountsAfterContentChanged() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(songRepository.findRowsByUserIdAndStatus(user.getId(), PublicationStatus.PUBLISHED, 0, pageable)).thenReturn(new SliceImpl<>(List.of(row), pageable, true));
+        when(songRepository.countByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED)).thenReturn(3L, 4L);
+
+        songService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, pageable, false);
+        pageTotalsCache.onContentChanged(ContentChangedEvent.created(ContentType.SONG, 2L, user.getId(), PublicationStatus.PUBLISHED));
+        Page<SongRow> songs = songService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, pageable, false);
+
+        assertEquals(4, songs.getTotalElements());
+    }
+
+    @Test
+    void getAllPublished_DefaultFirstPage_IsServedFromCache() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(songRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        songService.getAllPublished(pageable, false);
+        Page<SongRow> page = songService.getAllPublished(pageable, false);
+
+        assertEquals(1, page.getTotalElements());
+        verify(songRepository, times(1)).findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable);
+    }
+
+    @Test
+    void getAllPublished_CustomPaging_BypassesCache() {
+        Pageable pageable = PageRequest.of(0, 25, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(songRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        songService.getAllPublished(pageable, false);
+        songService.getAllPublished(pageable, false);
+
+        verify(songRepository, times(2)).findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable);
+    }
+
+    @Test
+    void getAllPublished_Summary_CutsTextInQueryAndIsCachedSeparately() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(songRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+        when(songRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 280, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        songService.getAllPublished(pageable, false);
+        songService.getAllPublished(pageable, true);
+        songService.getAllPublished(pageable, true);
+
+        verify(songRepository, times(1)).findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable);
+        verify(songRepository, times(1)).findRowsByStatus(PublicationStatus.PUBLISHED, 280, pageable);
+    }
+
+    @Test
+    void getPublishedFeed_WithoutCursor_ReadsFirstPage() {
+        when(songRepository.findFeedRows(PublicationStatus.PUBLISHED, 0, Limit.of(11))).thenReturn(List.of(row));
+
+        List<SongRow> feed = songService.getPublishedFeed(null, 11, false);
+
+        assertEquals(1, feed.size());
+        verify(songRepository, never()).findFeedRowsAfter(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void getPublishedFeed_WithCursor_SeeksPastCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(songRepository.findFeedRowsAfter(PublicationStatus.PUBLISHED, createdAt, 5L, 0, Limit.of(11))).thenReturn(List.of(row));
+
+        List<SongRow> feed = songService.getPublishedFeed(FeedCursor.of(createdAt, 5L), 11, false);
+
+        assertEquals(1, feed.size());
+        verify(songRepository, never()).findFeedRows(any(), anyInt(), any());
     }
 
     @Test
@@ -92,6 +222,30 @@ class SongServiceImplTest {
         assertEquals(1L, foundSong.get().getId());
     }
 
+    @Test
+    void getById_Published_IsServedFromCache() {
+        song.setStatus(PublicationStatus.PUBLISHED);
+        when(songRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(song));
+
+        Song first = songService.getById(1L).orElseThrow();
+        Song second = songService.getById(1L).orElseThrow();
+
+        assertEquals(1L, second.getId());
+        assertEquals(1L, second.getUser().getId());
+        assertNotSame(first, second);
+        verify(songRepository, times(1)).findByIdAndDeletedFalse(1L);
+    }
+
+    @Test
+    void getById_Draft_IsNeverCached() {
+        when(songRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(song));
+
+        songService.getById(1L);
+        songService.getById(1L);
+
+        verify(songRepository, times(2)).findByIdAndDeletedFalse(1L);
+    }
+
     @Test
     void delete() {
         when(songRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(song));
@@ -117,14 +271,12 @@ class SongServiceImplTest {
     }
 
     @Test
-    void incrementViewCount() {
-        when(songRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(song));
-        when(songRepository.save(any(Song.class))).thenReturn(song);
-
-        songService.incrementViewCount(1L);
+    void incrementViewCount_BuffersViewWithoutTouchingRepository() {
+        songService.incrementViewCount(1L, "user:1");
 
-        assertEquals(1, song.getViewCount());
-        verify(songRepository, times(1)).findByIdAndDeletedFalse(1L);
-        verify(songRepository, times(1)).save(song);
+        verify(viewCountBuffer, times(1)).increment(ContentType.SONG, 1L);
+        verify(uniqueViewerTracker, times(1)).record(ContentType.SONG, 1L, "user:1");
+        verify(trendingRanker, times(1)).recordView(ContentType.SONG, 1L);
+        verifyNoInteractions(songRepository);
     }
 }
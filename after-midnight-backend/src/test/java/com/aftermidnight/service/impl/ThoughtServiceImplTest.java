@@ -1,21 +1,30 @@
 package com.aftermidnight.service.impl;
 
+import com.aftermidnight.entity.ContentType;
 import com.aftermidnight.entity.PublicationStatus;
 import com.aftermidnight.entity.Thought;
 import com.aftermidnight.entity.User;
 import com.aftermidnight.repository.ThoughtRepository;
+import com.aftermidnight.repository.projection.ThoughtRow;
+import com.aftermidnight.service.ContentChangedEvent;
+import com.aftermidnight.util.FeedCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
-import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,16 +37,39 @@ class ThoughtServiceImplTest {
     @Mock
     private ThoughtRepository thoughtRepository;
 
+    @Mock
+    private ViewCountBuffer viewCountBuffer;
+
+    @Mock
+    private UniqueViewerTracker uniqueViewerTracker;
+
+    @Mock
+    private TrendingRanker trendingRanker;
+
+    @Spy
+    private PageTotalsCache pageTotalsCache = new PageTotalsCache(60, 100);
+
+    @Spy
+    private PublishedContentCache publishedContentCache = new PublishedContentCache(30, 100, new SimpleMeterRegistry());
+
+    @Spy
+    private PublicFeedCache publicFeedCache = new PublicFeedCache(3, 10, 60, Runnable::run, System::currentTimeMillis);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ThoughtServiceImpl thoughtService;
 
     private User user;
     private Thought thought;
+    private ThoughtRow row;
 
     @BeforeEach
     void setUp() {
         user = User.builder().id(1L).username("testuser").build();
         thought = Thought.builder().id(1L).content("Test Thought").mood("Happy").user(user).build();
+        row = new ThoughtRow(1L, "Content", null, PublicationStatus.PUBLISHED, null, 0, 0, 0, 1L);
     }
 
     @Test
@@ -48,6 +80,7 @@ class ThoughtServiceImplTest {
         assertEquals("Test Thought", savedThought.getContent());
         assertEquals(PublicationStatus.DRAFT, savedThought.getStatus());
         verify(thoughtRepository, times(1)).save(thought);
+        verify(eventPublisher).publishEvent(ContentChangedEvent.created(ContentType.THOUGHT, 1L, 1L, PublicationStatus.DRAFT));
     }
 
     @Test
@@ -60,28 +93,125 @@ class ThoughtServiceImplTest {
     }
 
     @Test
-    void getAllByUser() {
+    void createAll_SavesInOneCallAndPublishesOneBatchEvent() {
+        Thought draft = thought;
+        Thought published = Thought.builder().id(2L).user(user).status(PublicationStatus.PUBLISHED).build();
+        when(thoughtRepository.saveAll(List.of(draft, published))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Thought> saved = thoughtService.createAll(List.of(draft, published));
+
+        assertEquals(2, saved.size());
+        assertNull(draft.getPublishedAt());
+        assertNotNull(published.getPublishedAt());
+        verify(thoughtRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ContentChangedEvent.Batch(List.of(
+                ContentChangedEvent.created(ContentType.THOUGHT, 1L, 1L, PublicationStatus.DRAFT),
+                ContentChangedEvent.created(ContentType.THOUGHT, 2L, 1L, PublicationStatus.PUBLISHED))));
+    }
+
+    @Test
+    void getAllByUser_LastPage_SkipsCountQuery() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Thought> page = new PageImpl<>(Arrays.asList(thought));
-        when(thoughtRepository.findByUserAndDeletedFalse(user, pageable)).thenReturn(page);
-        
-        Page<Thought> thoughts = thoughtService.getAllByUser(user, pageable);
-        
+        when(thoughtRepository.findRowsByUserId(user.getId(), 0, pageable)).thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        Page<ThoughtRow> thoughts = thoughtService.getAllByUser(user, pageable, false);
+
         assertFalse(thoughts.isEmpty());
         assertEquals(1, thoughts.getTotalElements());
-        verify(thoughtRepository, times(1)).findByUserAndDeletedFalse(user, pageable);
+        verify(thoughtRepository, times(1)).findRowsByUserId(user.getId(), 0, pageable);
+        verify(thoughtRepository, never()).countByUserAndDeletedFalse(any());
     }
 
     @Test
-    void getAllByUserAndStatus() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Thought> page = new PageImpl<>(Arrays.asList(thought));
-        when(thoughtRepository.findByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED, pageable)).thenReturn(page);
+    void getAllByUserAndStatus_CachesTotalAcrossPages() {
+        Pageable firstPage = PageRequest.of(0, 1);
+        Pageable secondPage = PageRequest.of(1, 1);
+        when(thoughtRepository.findRowsByUserIdAndStatus(user.getId(), PublicationStatus.PUBLISHED, 0, firstPage)).thenReturn(new SliceImpl<>(List.of(row), firstPage, true));
+        when(thoughtRepository.findRowsByUserIdAndStatus(user.getId(), PublicationStatus.PUBLISHED, 0, secondPage)).thenReturn(new SliceImpl<>(List.of(row), secondPage, true));
+        when(thoughtRepository.countByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED)).thenReturn(3L);
 
-        Page<Thought> thoughts = thoughtService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, pageable);
+        Page<ThoughtRow> first = thoughtService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, firstPage, false);
+        Page<ThoughtRow> second = thoughtService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, secondPage, false);
 
-        assertFalse(thoughts.isEmpty());
-        verify(thoughtRepository, times(1)).findByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED, pageable);
+        assertEquals(3, first.getTotalElements());
+        assertEquals(3, second.getTotalElements());
+        assertFalse(second.isLast());
+        verify(thoughtRepository, times(1)).countByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED);
+    }
+
+    @Test
+    void getAllByUserAndStatus_RecountsAfterContentChanged() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(thoughtRepository.findRowsByUserIdAndStatus(user.getId(), PublicationStatus.PUBLISHED, 0, pageable)).thenReturn(new SliceImpl<>(List.of(row), pageable, true));
+        when(thoughtRepository.countByUserAndStatusAndDeletedFalse(user, PublicationStatus.PUBLISHED)).thenReturn(3L, 4L);
+
+        thoughtService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, pageable, false);
+        pageTotalsCache.onContentChanged(ContentChangedEvent.created(ContentType.THOUGHT, 2L, user.getId(), PublicationStatus.PUBLISHED));
+        Page<ThoughtRow> thoughts = thoughtService.getAllByUserAndStatus(user, PublicationStatus.PUBLISHED, pageable, false);
+
+        assertEquals(4, thoughts.getTotalElements());
+    }
+
+    @Test
+    void getAllPublished_DefaultFirstPage_IsServedFromCache() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(thoughtRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        thoughtService.getAllPublished(pageable, false);
+        Page<ThoughtRow> page = thoughtService.getAllPublished(pageable, false);
+
+        assertEquals(1, page.getTotalElements());
+        verify(thoughtRepository, times(1)).findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable);
+    }
+
+    @Test
+    void getAllPublished_CustomPaging_BypassesCache() {
+        Pageable pageable = PageRequest.of(0, 25, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(thoughtRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        thoughtService.getAllPublished(pageable, false);
+        thoughtService.getAllPublished(pageable, false);
+
+        verify(thoughtRepository, times(2)).findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable);
+    }
+
+    @Test
+    void getAllPublished_Summary_CutsTextInQueryAndIsCachedSeparately() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        when(thoughtRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+        when(thoughtRepository.findRowsByStatus(PublicationStatus.PUBLISHED, 280, pageable))
+                .thenReturn(new SliceImpl<>(List.of(row), pageable, false));
+
+        thoughtService.getAllPublished(pageable, false);
+        thoughtService.getAllPublished(pageable, true);
+        thoughtService.getAllPublished(pageable, true);
+
+        verify(thoughtRepository, times(1)).findRowsByStatus(PublicationStatus.PUBLISHED, 0, pageable);
+        verify(thoughtRepository, times(1)).findRowsByStatus(PublicationStatus.PUBLISHED, 280, pageable);
+    }
+
+    @Test
+    void getPublishedFeed_WithoutCursor_ReadsFirstPage() {
+        when(thoughtRepository.findFeedRows(PublicationStatus.PUBLISHED, 0, Limit.of(11))).thenReturn(List.of(row));
+
+        List<ThoughtRow> feed = thoughtService.getPublishedFeed(null, 11, false);
+
+        assertEquals(1, feed.size());
+        verify(thoughtRepository, never()).findFeedRowsAfter(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void getPublishedFeed_WithCursor_SeeksPastCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(thoughtRepository.findFeedRowsAfter(PublicationStatus.PUBLISHED, createdAt, 5L, 0, Limit.of(11))).thenReturn(List.of(row));
+
+        List<ThoughtRow> feed = thoughtService.getPublishedFeed(FeedCursor.of(createdAt, 5L), 11, false);
+
+        assertEquals(1, feed.size());
+        verify(thoughtRepository, never()).findFeedRows(any(), anyInt(), any());
     }
 
     @Test
@@ -92,6 +222,30 @@ class ThoughtServiceImplTest {
         assertEquals(1L, foundThought.get().getId());
     }
 
+    @Test
+    void getById_Published_IsServedFromCache() {
+        thought.setStatus(PublicationStatus.PUBLISHED);
+        when(thoughtRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(thought));
+
+        Thought first = thoughtService.getById(1L).orElseThrow();
+        Thought second = thoughtService.getById(1L).orElseThrow();
+
+        assertEquals(1L, second.getId());
+        assertEquals(1L, second.getUser().getId());
+        assertNotSame(first, second);
+        verify(thoughtRepository, times(1)).findByIdAndDeletedFalse(1L);
+    }
+
+    @Test
+    void getById_Draft_IsNeverCached() {
+        when(thoughtRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(thought));
+
+        thoughtService.getById(1L);
+        thoughtService.getById(1L);
+
+        verify(thoughtRepository, times(2)).findByIdAndDeletedFalse(1L);
+    }
+
     @Test
     void delete() {
         when(thoughtRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(thought));
@@ -117,14 +271,12 @@ class ThoughtServiceImplTest {
     }
 
     @Test
-    void incrementViewCount() {
-        when(thoughtRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(thought));
-        when(thoughtRepository.save(any(Thought.class))).thenReturn(thought);
-
-        thoughtService.incrementViewCount(1L);
+    void incrementViewCount_BuffersViewWithoutTouchingRepository() {
+        thoughtService.incrementViewCount(1L, "user:1");
 
-        assertEquals(1, thought.getViewCount());
-        verify(thoughtRepository, times(1)).findByIdAndDeletedFalse(1L);
-        verify(thoughtRepository, times(1)).save(thought);
+        verify(viewCountBuffer, times(1)).increment(ContentType.THOUGHT, 1L);
+        verify(uniqueViewerTracker, times(1)).record(ContentType.THOUGHT, 1L, "user:1");
+        verify(trendingRanker, times(1)).recordView(ContentType.THOUGHT, 1L);
+        verifyNoInteractions(thoughtRepository);
     }
 }
@@ -0,0 +1,97 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.repository.projection.PoemRow;
+import com.aftermidnight.repository.projection.SongRow;
+import com.aftermidnight.repository.projection.ThoughtRow;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.ThoughtService;
+import com.aftermidnight.service.TimelineItem;
+import com.aftermidnight.util.FeedCursor;
+import com.aftermidnight.util.TimelineCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineServiceImplTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private PoemService poemService;
+
+    @Mock
+    private SongService songService;
+
+    @Mock
+    private ThoughtService thoughtService;
+
+    @InjectMocks
+    private TimelineServiceImpl timelineService;
+
+    private static PoemRow poem(long id, int minute) {
+        return new PoemRow(id, "Poem", "Content", BASE.plusMinutes(minute), PublicationStatus.PUBLISHED, null, 0, 0, 0, 1L);
+    }
+
+    private static SongRow song(long id, int minute) {
+        return new SongRow(id, "Song", "Lyrics", null, BASE.plusMinutes(minute), PublicationStatus.PUBLISHED, null, 0, 0, 0, 1L);
+    }
+
+    private static ThoughtRow thought(long id, int minute) {
+        return new ThoughtRow(id, "Content", BASE.plusMinutes(minute), PublicationStatus.PUBLISHED, null, 0, 0, 0, 1L);
+    }
+
+    private static List<String> keys(List<TimelineItem> items) {
+        return items.stream().map(item -> item.type().name().charAt(0) + String.valueOf(item.id())).toList();
+    }
+
+    @Test
+    void getTimeline_MergesStreamsNewestFirst() {
+        when(poemService.getPublishedFeed(null, 2, false)).thenReturn(List.of(poem(1, 5), poem(2, 1)));
+        when(songService.getPublishedFeed(null, 2, false)).thenReturn(List.of(song(3, 5)));
+        when(thoughtService.getPublishedFeed(null, 2, false)).thenReturn(List.of(thought(4, 3)));
+
+        List<TimelineItem> items = timelineService.getTimeline(null, 4, false);
+
+        // The poem and the song tie at 12:05, poems come first
+        assertEquals(List.of("P1", "S3", "T4", "P2"), keys(items));
+    }
+
+    @Test
+    void getTimeline_ReadsMoreOnlyFromTheStreamThatRunsDry() {
+        when(poemService.getPublishedFeed(null, 2, false)).thenReturn(List.of(poem(10, 9), poem(9, 8)));
+        when(poemService.getPublishedFeed(FeedCursor.of(BASE.plusMinutes(8), 9L), 2, false)).thenReturn(List.of(poem(8, 7), poem(7, 6)));
+        when(songService.getPublishedFeed(null, 2, false)).thenReturn(List.of());
+        when(thoughtService.getPublishedFeed(null, 2, false)).thenReturn(List.of(thought(1, 0)));
+
+        List<TimelineItem> items = timelineService.getTimeline(null, 4, false);
+
+        assertEquals(List.of("P10", "P9", "P8", "P7"), keys(items));
+        verify(songService, times(1)).getPublishedFeed(any(), anyInt(), eq(false));
+        verify(thoughtService, times(1)).getPublishedFeed(any(), anyInt(), eq(false));
+    }
+
+    @Test
+    void getTimeline_ResumesEveryStreamFromTheCursor() {
+        LocalDateTime at = BASE.plusMinutes(5);
+        when(poemService.getPublishedFeed(FeedCursor.of(at, Long.MIN_VALUE), 1, false)).thenReturn(List.of());
+        when(songService.getPublishedFeed(FeedCursor.of(at, 3L), 1, false)).thenReturn(List.of());
+        when(thoughtService.getPublishedFeed(FeedCursor.of(at, Long.MAX_VALUE), 1, false)).thenReturn(List.of());
+
+        assertTrue(timelineService.getTimeline(TimelineCursor.of(at, ContentType.SONG, 3L), 2, false).isEmpty());
+    }
+}
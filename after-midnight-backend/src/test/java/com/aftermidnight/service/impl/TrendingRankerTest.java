@@ -0,0 +1,161 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.UserRepository;
+import com.aftermidnight.service.ContentChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TrendingRankerTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PoemRepository poemRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+    private TrendingRanker ranker;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ranker = newRanker(100);
+        user = userRepository.save(User.builder().username("trend").email("trend@example.com").password("password").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM trending_scores");
+        poemRepository.deleteAll();
+        songRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private TrendingRanker newRanker(int maxItems) {
+        return new TrendingRanker(jdbcTemplate, transactionTemplate, 24, 7, maxItems, 1, 5, 10, clock::get);
+    }
+
+    private void publish(TrendingRanker target, ContentType type, long id) {
+        target.onContentChanged(ContentChangedEvent.created(type, id, 1L, PublicationStatus.PUBLISHED));
+    }
+
+    private List<Long> topIds(TrendingRanker target, int limit) {
+        return target.top(limit).stream().map(TrendingRanker.Entry::id).toList();
+    }
+
+    @Test
+    void top_OrdersByEngagementAcrossTypes() {
+        publish(ranker, ContentType.POEM, 1L);
+        publish(ranker, ContentType.SONG, 2L);
+        publish(ranker, ContentType.THOUGHT, 3L);
+
+        ranker.recordLike(ContentType.SONG, 2L);
+        ranker.recordView(ContentType.THOUGHT, 3L);
+
+        List<TrendingRanker.Entry> top = ranker.top(3);
+        assertEquals(List.of(2L, 3L, 1L), top.stream().map(TrendingRanker.Entry::id).toList());
+        assertEquals(ContentType.SONG, top.get(0).type());
+        assertEquals(15, top.get(0).score(), 1e-9);
+    }
+
+    @Test
+    void scores_DecayWithHalfLife() {
+        publish(ranker, ContentType.POEM, 1L);
+        clock.addAndGet(24 * HOUR);
+        publish(ranker, ContentType.POEM, 2L);
+
+        List<TrendingRanker.Entry> top = ranker.top(2);
+        assertEquals(List.of(2L, 1L), top.stream().map(TrendingRanker.Entry::id).toList());
+        assertEquals(10, top.get(0).score(), 1e-9);
+        assertEquals(5, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void ignoresEngagementWithUnrankedContent() {
+        ranker.recordView(ContentType.POEM, 7L);
+        ranker.recordLike(ContentType.POEM, 7L);
+
+        assertTrue(ranker.top(10).isEmpty());
+    }
+
+    @Test
+    void withdrawnContent_LeavesRanking() {
+        publish(ranker, ContentType.POEM, 1L);
+        publish(ranker, ContentType.POEM, 2L);
+
+        ranker.onContentChanged(ContentChangedEvent.statusChanged(ContentType.POEM, 1L, 1L, PublicationStatus.PUBLISHED, PublicationStatus.DRAFT));
+        ranker.onContentChanged(ContentChangedEvent.deleted(ContentType.POEM, 2L, 1L, PublicationStatus.PUBLISHED));
+
+        assertTrue(ranker.top(10).isEmpty());
+        assertEquals(0, ranker.size());
+    }
+
+    @Test
+    void capacity_EvictsLowestScores() {
+        TrendingRanker small = newRanker(2);
+        publish(small, ContentType.POEM, 1L);
+        small.recordView(ContentType.POEM, 1L);
+        publish(small, ContentType.POEM, 2L);
+        small.recordLike(ContentType.POEM, 2L);
+        publish(small, ContentType.POEM, 3L);
+
+        assertEquals(2, small.size());
+        assertEquals(List.of(2L, 1L), topIds(small, 10));
+    }
+
+    @Test
+    void rebuild_RestoresCheckpointAndSeedsNewContent() {
+        Poem checkpointed = poemRepository.save(Poem.builder().title("Ranked").content("c").user(user)
+                .status(PublicationStatus.PUBLISHED).publishedAt(LocalDateTime.now()).build());
+        Song seeded = songRepository.save(Song.builder().title("New").lyrics("l").user(user)
+                .status(PublicationStatus.PUBLISHED).publishedAt(LocalDateTime.now()).viewCount(40).build());
+        // Published before the trending window, so not ranked despite its views
+        poemRepository.save(Poem.builder().title("Expired").content("c").user(user)
+                .status(PublicationStatus.PUBLISHED).publishedAt(LocalDateTime.now().minusDays(30)).viewCount(1000).build());
+
+        publish(ranker, ContentType.POEM, checkpointed.getId());
+        for (int i = 0; i < 100; i++) {
+            ranker.recordView(ContentType.POEM, checkpointed.getId());
+        }
+        ranker.checkpoint();
+
+        TrendingRanker restarted = newRanker(100);
+        restarted.rebuild();
+
+        List<TrendingRanker.Entry> top = restarted.top(10);
+        assertEquals(List.of(checkpointed.getId(), seeded.getId()), top.stream().map(TrendingRanker.Entry::id).toList());
+        assertEquals(110, top.get(0).score(), 1e-6);
+        assertEquals(ContentType.SONG, top.get(1).type());
+    }
+}
@@ -0,0 +1,68 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.Thought;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.ThoughtService;
+import com.aftermidnight.service.TrendingItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceImplTest {
+
+    @Mock
+    private TrendingRanker trendingRanker;
+
+    @Mock
+    private PoemService poemService;
+
+    @Mock
+    private SongService songService;
+
+    @Mock
+    private ThoughtService thoughtService;
+
+    @InjectMocks
+    private TrendingServiceImpl trendingService;
+
+    @Test
+    void getTrending_ResolvesRankedItemsInOrder() {
+        Song song = Song.builder().id(2L).status(PublicationStatus.PUBLISHED).build();
+        Poem poem = Poem.builder().id(1L).status(PublicationStatus.PUBLISHED).build();
+        when(trendingRanker.top(2)).thenReturn(List.of(
+                new TrendingRanker.Entry(ContentType.SONG, 2L, 8.0),
+                new TrendingRanker.Entry(ContentType.POEM, 1L, 3.0)));
+        when(songService.getById(2L)).thenReturn(Optional.of(song));
+        when(poemService.getById(1L)).thenReturn(Optional.of(poem));
+
+        List<TrendingItem> items = trendingService.getTrending(2);
+
+        assertEquals(List.of(new TrendingItem(ContentType.SONG, song, 8.0), new TrendingItem(ContentType.POEM, poem, 3.0)), items);
+        verifyNoInteractions(thoughtService);
+    }
+
+    @Test
+    void getTrending_SkipsWithdrawnItems() {
+        when(trendingRanker.top(2)).thenReturn(List.of(
+                new TrendingRanker.Entry(ContentType.THOUGHT, 4L, 8.0),
+                new TrendingRanker.Entry(ContentType.POEM, 5L, 3.0)));
+        when(thoughtService.getById(4L)).thenReturn(Optional.of(Thought.builder().id(4L).status(PublicationStatus.DRAFT).build()));
+        when(poemService.getById(5L)).thenReturn(Optional.empty());
+
+        assertTrue(trendingService.getTrending(2).isEmpty());
+    }
+}
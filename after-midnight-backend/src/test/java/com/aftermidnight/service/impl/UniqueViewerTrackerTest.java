@@ -0,0 +1,113 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.UserRepository;
+import com.aftermidnight.util.HyperLogLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UniqueViewerTrackerTest {
+
+    @Autowired
+    private UniqueViewerTracker uniqueViewerTracker;
+
+    @Autowired
+    private PoemRepository poemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Poem poem;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder().username("viewer").email("viewer@example.com").password("password").build());
+        poem = poemRepository.save(Poem.builder()
+                .title("Viewed")
+                .content("Content")
+                .status(PublicationStatus.PUBLISHED)
+                .user(user)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM content_viewer_sketches");
+        poemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private long storedUniqueViewers() {
+        return poemRepository.findById(poem.getId()).orElseThrow().getUniqueViewers();
+    }
+
+    @Test
+    void flush_PersistsDistinctViewerEstimate() {
+        for (int i = 0; i < 50; i++) {
+            uniqueViewerTracker.record(ContentType.POEM, poem.getId(), "user:" + (i % 5));
+        }
+
+        uniqueViewerTracker.flush();
+
+        assertEquals(5, storedUniqueViewers());
+        assertEquals(0, uniqueViewerTracker.size());
+    }
+
+    @Test
+    void flush_MergesWithStoredSketch() {
+        uniqueViewerTracker.record(ContentType.POEM, poem.getId(), "user:1");
+        uniqueViewerTracker.record(ContentType.POEM, poem.getId(), "user:2");
+        uniqueViewerTracker.flush();
+
+        uniqueViewerTracker.record(ContentType.POEM, poem.getId(), "user:2");
+        uniqueViewerTracker.record(ContentType.POEM, poem.getId(), "user:3");
+        uniqueViewerTracker.flush();
+
+        assertEquals(3, storedUniqueViewers());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM content_viewer_sketches WHERE content_id = ?", Long.class, poem.getId()));
+    }
+
+    @Test
+    void pendingViewers_StaySparseUntilAsLargeAsDenseSketch() {
+        UniqueViewerTracker.PendingViewers viewers = new UniqueViewerTracker.PendingViewers();
+        for (int i = 0; i < 512; i++) {
+            viewers.offer(HyperLogLog.hash("user:" + i));
+        }
+        assertFalse(viewers.isDense());
+
+        viewers.offer(HyperLogLog.hash("user:512"));
+        viewers.offer(HyperLogLog.hash("user:0"));
+
+        assertTrue(viewers.isDense());
+        assertEquals(513, viewers.drain().cardinality(), 513 * 0.08);
+    }
+
+    @Test
+    void pendingViewers_StartOverEmptyAfterDrain() {
+        UniqueViewerTracker.PendingViewers viewers = new UniqueViewerTracker.PendingViewers();
+        viewers.offer(HyperLogLog.hash("user:1"));
+        viewers.offer(HyperLogLog.hash("user:1"));
+
+        assertEquals(1, viewers.drain().cardinality());
+        assertNull(viewers.drain());
+
+        viewers.offer(HyperLogLog.hash("user:2"));
+        assertEquals(1, viewers.drain().cardinality());
+        assertFalse(viewers.isDense());
+    }
+}
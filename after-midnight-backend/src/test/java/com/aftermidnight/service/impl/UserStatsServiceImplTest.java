@@ -0,0 +1,139 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.Song;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.entity.UserContentStats;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.SongRepository;
+import com.aftermidnight.repository.UserRepository;
+import com.aftermidnight.service.PoemService;
+import com.aftermidnight.service.SongService;
+import com.aftermidnight.service.UserStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserStatsServiceImplTest {
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private PoemService poemService;
+
+    @Autowired
+    private SongService songService;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private PoemRepository poemRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().username("stats").email("stats@example.com").password("password").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_content_stats");
+        poemRepository.deleteAll();
+        songRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Poem createPoem(PublicationStatus status) {
+        return poemService.create(Poem.builder().title("Poem").content("Content").status(status).user(user).build());
+    }
+
+    private UserContentStats statsOf(ContentType type) {
+        return userStatsService.getStats(user.getId()).stream()
+                .filter(stats -> stats.getContentType() == type)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void create_CountsByTypeAndStatus() {
+        createPoem(PublicationStatus.DRAFT);
+        createPoem(PublicationStatus.PUBLISHED);
+        createPoem(PublicationStatus.PUBLISHED);
+        songService.create(Song.builder().title("Song").lyrics("Lyrics").user(user).build());
+
+        List<UserContentStats> stats = userStatsService.getStats(user.getId());
+
+        assertEquals(2, stats.size());
+        assertEquals(1, statsOf(ContentType.POEM).getDraftCount());
+        assertEquals(2, statsOf(ContentType.POEM).getPublishedCount());
+        assertEquals(1, statsOf(ContentType.SONG).getDraftCount());
+    }
+
+    @Test
+    void createAll_AddsEachStatusOnce() {
+        createPoem(PublicationStatus.DRAFT);
+
+        poemService.createAll(List.of(
+                Poem.builder().title("One").content("Content").status(PublicationStatus.DRAFT).user(user).build(),
+                Poem.builder().title("Two").content("Content").status(PublicationStatus.PUBLISHED).user(user).build(),
+                Poem.builder().title("Three").content("Content").status(PublicationStatus.PUBLISHED).user(user).build()));
+        songService.createAll(List.of(Song.builder().title("Song").lyrics("Lyrics").user(user).build()));
+
+        assertEquals(2, statsOf(ContentType.POEM).getDraftCount());
+        assertEquals(2, statsOf(ContentType.POEM).getPublishedCount());
+        assertEquals(1, statsOf(ContentType.SONG).getDraftCount());
+    }
+
+    @Test
+    void updateStatus_MovesCountBetweenStatuses() {
+        Poem poem = createPoem(PublicationStatus.DRAFT);
+
+        poemService.updateStatus(poem.getId(), PublicationStatus.PUBLISHED);
+        poemService.updateStatus(poem.getId(), PublicationStatus.PUBLISHED);
+
+        assertEquals(0, statsOf(ContentType.POEM).getDraftCount());
+        assertEquals(1, statsOf(ContentType.POEM).getPublishedCount());
+    }
+
+    @Test
+    void viewFlush_AddsToOwnerTotals_UntilItemIsDeleted() {
+        Poem kept = createPoem(PublicationStatus.PUBLISHED);
+        Poem removed = createPoem(PublicationStatus.PUBLISHED);
+        for (int i = 0; i < 3; i++) {
+            viewCountBuffer.increment(ContentType.POEM, kept.getId());
+            viewCountBuffer.increment(ContentType.POEM, removed.getId());
+        }
+        viewCountBuffer.flush();
+        assertEquals(6, statsOf(ContentType.POEM).getViewCount());
+
+        poemService.delete(removed.getId());
+        viewCountBuffer.increment(ContentType.POEM, removed.getId());
+        viewCountBuffer.flush();
+
+        UserContentStats stats = statsOf(ContentType.POEM);
+        assertEquals(3, stats.getViewCount());
+        assertEquals(1, stats.getPublishedCount());
+    }
+}
@@ -0,0 +1,155 @@
+package com.aftermidnight.service.impl;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.entity.Poem;
+import com.aftermidnight.entity.PublicationStatus;
+import com.aftermidnight.entity.User;
+import com.aftermidnight.repository.PoemRepository;
+import com.aftermidnight.repository.UserRepository;
+import com.aftermidnight.service.PoemService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class ViewCountBufferTest {
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private PoemRepository poemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PoemService poemService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Poem poem;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .username("viewer")
+                .email("viewer@example.com")
+                .password("password")
+                .build());
+        poem = poemRepository.save(Poem.builder()
+                .title("Counted")
+                .content("Content")
+                .status(PublicationStatus.PUBLISHED)
+                .user(user)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        poemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void flush_WritesAggregatedDeltaToViewCount() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> viewCountBuffer.increment(ContentType.POEM, poem.getId()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        viewCountBuffer.flush();
+        viewCountBuffer.flush();
+
+        assertEquals(1000, poemRepository.findById(poem.getId()).orElseThrow().getViewCount());
+        assertEquals(0, viewCountBuffer.pendingViews(ContentType.POEM, poem.getId()));
+    }
+
+    @Test
+    void flush_SurvivesEntityUpdateOfALoadedCopy() {
+        ExecutorService flusher = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                poemRepository.findById(poem.getId()).orElseThrow();
+                for (int i = 0; i < 3; i++) {
+                    viewCountBuffer.increment(ContentType.POEM, poem.getId());
+                }
+                // Committed by another transaction while this one holds a copy with the old count
+                assertDoesNotThrow(() -> flusher.submit(() -> viewCountBuffer.flush()).get(10, TimeUnit.SECONDS));
+
+                poemService.updateStatus(poem.getId(), PublicationStatus.DRAFT);
+            });
+        } finally {
+            flusher.shutdown();
+        }
+
+        Poem updated = poemRepository.findById(poem.getId()).orElseThrow();
+        assertEquals(PublicationStatus.DRAFT, updated.getStatus());
+        assertEquals(3, updated.getViewCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_RequeuesViewsWhenDatabaseFails() {
+        JdbcTemplate failingJdbcTemplate = mock(JdbcTemplate.class);
+        when(failingJdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        ViewCountBuffer buffer = new ViewCountBuffer(failingJdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry());
+
+        buffer.increment(ContentType.SONG, 7L);
+        buffer.increment(ContentType.SONG, 7L);
+        buffer.flush();
+
+        assertEquals(2, buffer.pendingViews(ContentType.SONG, 7L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shutdown_WritesViewsThatLandOnRetiredAdders() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry());
+        LongAdder adder = buffer.counter(ContentType.SONG, 7L);
+        adder.increment();
+        AtomicLong written = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE songs"), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    for (long[] row : (Collection<long[]>) invocation.getArgument(1)) {
+                        written.addAndGet(row[0]);
+                    }
+                    if (written.get() == 1) {
+                        // A view that fetched the adder before the first flush swapped it out
+                        adder.increment();
+                    }
+                    return new int[0][];
+                });
+
+        buffer.shutdown();
+
+        assertEquals(2, written.get());
+    }
+}
@@ -0,0 +1,57 @@
+package com.aftermidnight.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_IsFalseForEmptyFilter() {
+        assertFalse(new BloomFilter(1000, 0.01).mightContain("user@example.com"));
+    }
+
+    @Test
+    void mightContain_NeverMissesAddedValues() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"), "user" + i);
+        }
+    }
+
+    @Test
+    void mightContain_StaysNearConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("stranger" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void constructor_SizesForExpectedElements() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        // About 9.6 bits and 7 hashes per element at 1%
+        assertEquals(9_585_088, filter.getBitCount());
+        assertEquals(7, filter.getHashCount());
+    }
+
+    @Test
+    void constructor_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 1));
+    }
+}
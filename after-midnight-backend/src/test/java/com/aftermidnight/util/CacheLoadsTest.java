@@ -0,0 +1,132 @@
+package com.aftermidnight.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheLoadsTest {
+
+    private AsyncCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().buildAsync();
+    }
+
+    @Test
+    void get_LoadsOnceAndServesCachedValue() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("A", CacheLoads.get(cache, "a", key -> {
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        }));
+        assertEquals("A", CacheLoads.get(cache, "a", key -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_RunsLoaderOutsideTheCacheLock() {
+        // Inside a compute the key would not be mapped yet, and touching the same bin again would fail
+        String value = CacheLoads.get(cache, "a", key -> {
+            assertTrue(cache.asMap().containsKey(key));
+            return "A";
+        });
+
+        assertEquals("A", value);
+    }
+
+    @Test
+    void get_DoesNotCacheNull() {
+        assertNull(CacheLoads.get(cache, "a", key -> null));
+
+        assertEquals("A", CacheLoads.get(cache, "a", key -> "A"));
+    }
+
+    @Test
+    void get_RethrowsFailureAndDoesNotCacheIt() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> CacheLoads.get(cache, "a", key -> {
+            throw failure;
+        })));
+
+        assertEquals("A", CacheLoads.get(cache, "a", key -> "A"));
+    }
+
+    @Test
+    void get_ConcurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> CacheLoads.get(cache, "a", key -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "A";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("A", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WaitersReceiveTheLoadersFailure() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> loader = executor.submit(() -> CacheLoads.get(cache, "a", key -> {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalArgumentException("not found");
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> waiter = executor.submit(() -> CacheLoads.get(cache, "a", key -> "unused"));
+            Thread.sleep(100);
+            release.countDown();
+
+            ExecutionException loaderFailure = assertThrows(ExecutionException.class, () -> loader.get(5, TimeUnit.SECONDS));
+            ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, loaderFailure.getCause());
+            assertSame(loaderFailure.getCause(), waiterFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
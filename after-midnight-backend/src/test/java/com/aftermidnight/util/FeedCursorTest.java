@@ -0,0 +1,32 @@
+package com.aftermidnight.util;
+
+import com.aftermidnight.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedCursorTest {
+
+    @Test
+    void encodeAndDecode_RoundTrips() {
+        FeedCursor cursor = FeedCursor.of(LocalDateTime.of(2024, 1, 16, 10, 0, 5), 42L);
+
+        FeedCursor decoded = FeedCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void decode_ReturnsNull_WhenTokenMissing() {
+        assertNull(FeedCursor.decode(null));
+        assertNull(FeedCursor.decode(""));
+    }
+
+    @Test
+    void decode_Throws_WhenTokenMalformed() {
+        assertThrows(InvalidCursorException.class, () -> FeedCursor.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class, () -> FeedCursor.decode("%%%"));
+    }
+}
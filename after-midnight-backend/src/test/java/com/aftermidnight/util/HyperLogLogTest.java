@@ -0,0 +1,72 @@
+package com.aftermidnight.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void cardinality_IsZeroForEmptySketch() {
+        assertEquals(0, new HyperLogLog().cardinality());
+    }
+
+    @Test
+    void cardinality_IgnoresRepeatedElements() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) {
+            sketch.offer(HyperLogLog.hash("user:" + (i % 10)));
+        }
+
+        assertEquals(10, sketch.cardinality());
+    }
+
+    @Test
+    void cardinality_StaysWithinErrorBound() {
+        for (int n : new int[]{100, 5_000, 100_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < n; i++) {
+                sketch.offer(HyperLogLog.hash("anon:" + i));
+            }
+            // Five standard errors at precision 12
+            assertEquals(n, sketch.cardinality(), n * 0.08, "estimate for " + n);
+        }
+    }
+
+    @Test
+    void merge_EstimatesUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            first.offer(HyperLogLog.hash((long) i));
+            second.offer(HyperLogLog.hash((long) i + 10_000));
+        }
+
+        first.merge(second);
+        first.merge(second);
+
+        assertEquals(30_000, first.cardinality(), 30_000 * 0.08);
+    }
+
+    @Test
+    void toBytes_RoundTrips() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 500; i++) {
+            sketch.offer(HyperLogLog.hash((long) i));
+        }
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertEquals(4096, bytes.length);
+        assertEquals(sketch.cardinality(), restored.cardinality());
+        assertArrayEquals(bytes, restored.toBytes());
+    }
+
+    @Test
+    void rejectsInvalidPrecisionAndMismatchedMerges() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[100]));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(10)));
+    }
+}
@@ -0,0 +1,42 @@
+package com.aftermidnight.util;
+
+import com.aftermidnight.entity.ContentType;
+import com.aftermidnight.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimelineCursorTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 1, 16, 10, 0, 5);
+
+    @Test
+    void encodeAndDecode_RoundTrips() {
+        TimelineCursor cursor = TimelineCursor.of(AT, ContentType.SONG, 42L);
+
+        assertEquals(cursor, TimelineCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_ReturnsNull_WhenTokenMissing() {
+        assertNull(TimelineCursor.decode(null));
+        assertNull(TimelineCursor.decode(""));
+    }
+
+    @Test
+    void decode_Throws_WhenTokenMalformed() {
+        assertThrows(InvalidCursorException.class, () -> TimelineCursor.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class, () -> TimelineCursor.decode(FeedCursor.of(AT, 1L).encode()));
+    }
+
+    @Test
+    void positionIn_ResumesEachStreamAtTheTie() {
+        TimelineCursor cursor = TimelineCursor.of(AT, ContentType.SONG, 42L);
+
+        assertEquals(FeedCursor.of(AT, Long.MIN_VALUE), cursor.positionIn(ContentType.POEM));
+        assertEquals(FeedCursor.of(AT, 42L), cursor.positionIn(ContentType.SONG));
+        assertEquals(FeedCursor.of(AT, Long.MAX_VALUE), cursor.positionIn(ContentType.THOUGHT));
+    }
+}
@@ -2,9 +2,7 @@
 
 import React, { useEffect, useState } from 'react';
 import { useAuthStore } from '@/store/authStore';
-import { PoemService } from '@/services/poem.service';
-import { SongService } from '@/services/song.service';
-import { ThoughtService } from '@/services/thought.service';
+import { StatsService } from '@/services/stats.service';
 import { Card } from '@/components/ui/Card';
 import { Button } from '@/components/ui/Button';
 import { Feather, Music, Cloud, Plus } from 'lucide-react';
@@ -19,15 +17,11 @@ export default function DashboardPage() {
     useEffect(() => {
         const fetchStats = async () => {
             try {
-                const [poems, thoughts, songs] = await Promise.all([
-                    PoemService.getAll(0, 1),
-                    ThoughtService.getAll(0, 1),
-                    SongService.getAll(0, 1)
-                ]);
+                const userStats = await StatsService.getMine();
                 setStats({
-                    poems: poems.totalElements,
-                    thoughts: thoughts.totalElements,
-                    songs: songs.totalElements
+                    poems: userStats.poems.total,
+                    thoughts: userStats.thoughts.total,
+                    songs: userStats.songs.total
                 });
             } catch (error) {
                 toast.error("Failed to load dashboard stats");
@@ -3,6 +3,9 @@ import { toast } from 'sonner';
 
 const API_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/api/v1';
 
+// v2 endpoints live next to v1 on the same host
+export const API_V2_URL = API_URL.replace(/\/v1\/?$/, '/v2');
+
 export const api = axios.create({
   baseURL: API_URL,
   headers: {
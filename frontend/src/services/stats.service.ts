@@ -0,0 +1,10 @@
+import { api, API_V2_URL } from '@/lib/api';
+import { ApiResponse } from '@/types/common';
+import { UserStats } from '@/types/content';
+
+export const StatsService = {
+    async getMine(): Promise<UserStats> {
+        const response = await api.get<any, ApiResponse<UserStats>>('/users/me/stats', { baseURL: API_V2_URL });
+        return response.data;
+    }
+};
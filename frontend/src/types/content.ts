@@ -43,3 +43,19 @@ export interface CreateSongRequest {
     audioUrl?: string;
     status?: PublicationStatus;
 }
+
+export interface ContentStats {
+    drafts: number;
+    published: number;
+    total: number;
+    views: number;
+    likes: number;
+}
+
+export interface UserStats {
+    poems: ContentStats;
+    songs: ContentStats;
+    thoughts: ContentStats;
+    totalViews: number;
+    totalLikes: number;
+}